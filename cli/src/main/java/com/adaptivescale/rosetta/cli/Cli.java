@@ -1,14 +1,28 @@
 package com.adaptivescale.rosetta.cli;
 
 import com.adaptivescale.rosetta.cli.helpers.DriverHelper;
+import com.adaptivescale.rosetta.cli.helpers.MetadataCache;
+import com.adaptivescale.rosetta.cli.helpers.ModelSidecar;
 import com.adaptivescale.rosetta.cli.model.Config;
+import com.adaptivescale.rosetta.cli.model.Plan;
+import com.adaptivescale.rosetta.cli.model.PlanChange;
+import com.adaptivescale.rosetta.cli.model.SnapshotHashes;
+import com.adaptivescale.rosetta.cli.outputs.ChangeMarkersOutput;
 import com.adaptivescale.rosetta.cli.outputs.DbtSqlModelOutput;
 import com.adaptivescale.rosetta.cli.outputs.DbtYamlModelOutput;
+import com.adaptivescale.rosetta.cli.outputs.LeadingWhitespaceTrimmingWriter;
+import com.adaptivescale.rosetta.cli.outputs.PlanOutput;
+import com.adaptivescale.rosetta.cli.outputs.SnapshotHashesOutput;
 import com.adaptivescale.rosetta.cli.outputs.StringOutput;
 import com.adaptivescale.rosetta.cli.outputs.YamlModelOutput;
+import com.adaptivescale.rosetta.common.models.Column;
 import com.adaptivescale.rosetta.common.models.Database;
 import com.adaptivescale.rosetta.common.DriverManagerDriverProvider;
+import com.adaptivescale.rosetta.common.JDBCConnectionPool;
+import com.adaptivescale.rosetta.common.helpers.Digests;
 import com.adaptivescale.rosetta.common.models.DriverInfo;
+import com.adaptivescale.rosetta.common.models.ForeignKey;
+import com.adaptivescale.rosetta.common.models.Index;
 import com.adaptivescale.rosetta.common.models.Table;
 import com.adaptivescale.rosetta.common.models.dbt.DbtModel;
 import com.adaptivescale.rosetta.common.models.enums.OperationLevelEnum;
@@ -16,23 +30,31 @@ import com.adaptivescale.rosetta.common.models.input.Connection;
 import com.adaptivescale.rosetta.common.types.DriverClassName;
 import com.adaptivescale.rosetta.ddl.DDL;
 import com.adaptivescale.rosetta.ddl.executor.DDLExecutor;
+import com.adaptivescale.rosetta.ddl.executor.ChangeScheduler;
 import com.adaptivescale.rosetta.ddl.DDLFactory;
+import com.adaptivescale.rosetta.ddl.change.ChangeDDL;
 import com.adaptivescale.rosetta.ddl.change.ChangeFinder;
+import com.adaptivescale.rosetta.ddl.change.ChangeGraph;
 import com.adaptivescale.rosetta.ddl.change.ChangeHandler;
 import com.adaptivescale.rosetta.ddl.change.model.Change;
+import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
 import com.adaptivescale.rosetta.ddl.utils.TemplateEngine;
 import com.adaptivescale.rosetta.test.assertion.*;
 import com.adaptivescale.rosetta.test.assertion.AssertionSqlGenerator;
 import com.adaptivescale.rosetta.test.assertion.generator.AssertionSqlGeneratorFactory;
 import com.adaptivescale.rosetta.test.assertion.DefaultSqlExecution;
+import com.adaptivescale.rosetta.diff.DefaultTester;
 import com.adaptivescale.rosetta.diff.DiffFactory;
-import com.adaptivescale.rosetta.diff.Diff;
+import com.adaptivescale.rosetta.diff.JsonDiffWriter;
+import com.adaptivescale.rosetta.diff.ModelHasher;
+import com.adaptivescale.rosetta.diff.model.HashNode;
 import com.adaptivescale.rosetta.translator.Translator;
 import com.adaptivescale.rosetta.translator.TranslatorFactory;
 import com.adataptivescale.rosetta.source.core.SourceGeneratorFactory;
 
 import com.adataptivescale.rosetta.source.core.interfaces.Generator;
 import com.adataptivescale.rosetta.source.dbt.DbtModelGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import lombok.extern.slf4j.Slf4j;
@@ -47,8 +69,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -68,6 +92,8 @@ class Cli implements Callable<Void> {
     public static final String DEFAULT_MODEL_YAML = "model.yaml";
     public static final String DEFAULT_OUTPUT_DIRECTORY = "data";
     public static final String DEFAULT_DRIVERS_YAML = "drivers.yaml";
+    public static final String CHANGE_MARKERS_YAML = "markers.yaml";
+    public static final String METADATA_CACHE_DIRECTORY = ".rosetta/cache";
 
     @CommandLine.Spec
     CommandLine.Model.CommandSpec spec;
@@ -85,19 +111,53 @@ class Cli implements Callable<Void> {
 
     @CommandLine.Command(name = "extract", description = "Extract schema chosen from connection config.", mixinStandardHelpOptions = true)
     private void extract(@CommandLine.Option(names = {"-s", "--source"}, required = true) String sourceName,
-                         @CommandLine.Option(names = {"-t", "--convert-to"}) String targetName
+                         @CommandLine.Option(names = {"-t", "--convert-to"}) String targetName,
+                         @CommandLine.Option(names = {"--incremental"}, description = "Only read tables changed since " +
+                                 "the last extraction and take the others from the previous model") boolean incremental
     ) throws Exception {
         requireConfig(config);
         Connection source = getSourceConnection(sourceName);
+        Generator<Database, Connection> generator = SourceGeneratorFactory.sourceGenerator(source);
 
         Path sourceWorkspace = Paths.get("./", sourceName);
-        FileUtils.deleteDirectory(sourceWorkspace.toFile());
-        Files.createDirectory(sourceWorkspace);
+        Path previousModel = sourceWorkspace.resolve(DEFAULT_MODEL_YAML);
+        Path changeMarkersPath = sourceWorkspace.resolve("extract");
+
+        Map<String, Map<String, String>> changeMarkers = null;
+        Database previous = null;
+        Map<String, Set<String>> unchangedTables = Collections.emptyMap();
+        if (incremental) {
+            // taken before extraction, tables changed in between are read again next time
+            changeMarkers = generator.changeMarkers(source);
+            if (changeMarkers == null) {
+                log.warn("Change markers not supported for database type: {} falling back to full extraction.",
+                        source.getDbType());
+            } else if (Files.isRegularFile(previousModel) && Files.isRegularFile(changeMarkersPath.resolve(CHANGE_MARKERS_YAML))) {
+                previous = ModelSidecar.read(previousModel);
+                Map<String, Map<String, String>> previousChangeMarkers = new ObjectMapper(new YAMLFactory())
+                        .readValue(changeMarkersPath.resolve(CHANGE_MARKERS_YAML).toFile(),
+                                new TypeReference<Map<String, Map<String, String>>>() {});
+                unchangedTables = unchangedTables(previousChangeMarkers, changeMarkers);
+            }
+        }
 
-        Database result = SourceGeneratorFactory.sourceGenerator(source).generate(source);
+        if (!incremental) {
+            FileUtils.deleteDirectory(sourceWorkspace.toFile());
+        }
+        Files.createDirectories(sourceWorkspace);
+
+        Database result = previous == null ? generator.generate(source) : generator.generate(source, previous, unchangedTables);
         YamlModelOutput yamlInputModel = new YamlModelOutput(DEFAULT_MODEL_YAML, sourceWorkspace);
         yamlInputModel.write(result);
         log.info("Successfully written input database yaml ({}).", yamlInputModel.getFilePath());
+        metadataCache().put(source, null, result);
+
+        if (changeMarkers != null) {
+            Files.createDirectories(changeMarkersPath);
+            new ChangeMarkersOutput(CHANGE_MARKERS_YAML, changeMarkersPath).write(changeMarkers);
+            log.info("Reused {} unchanged tables from the previous model.",
+                    previous == null ? 0 : unchangedTables.values().stream().mapToInt(Set::size).sum());
+        }
 
         if (Optional.ofNullable(targetName).isEmpty()) {
             return;
@@ -114,6 +174,21 @@ class Cli implements Callable<Void> {
         log.info("Successfully written output database yaml ({}/model.yml).", targetWorkspace);
     }
 
+    /**
+     * Tables by schema whose change marker did not change since the previous extraction.
+     */
+    private static Map<String, Set<String>> unchangedTables(Map<String, Map<String, String>> previousChangeMarkers,
+                                                            Map<String, Map<String, String>> changeMarkers) {
+        Map<String, Set<String>> result = new HashMap<>();
+        changeMarkers.forEach((schema, markers) -> markers.forEach((table, marker) -> {
+            String previousMarker = previousChangeMarkers.getOrDefault(schema, Collections.emptyMap()).get(table);
+            if (marker != null && marker.equals(previousMarker)) {
+                result.computeIfAbsent(schema, key -> new HashSet<>()).add(table);
+            }
+        }));
+        return result;
+    }
+
     @CommandLine.Command(name = "compile", description = "Generate DDL for target Database [bigquery, snowflake, …]", mixinStandardHelpOptions = true)
     private void compile(@CommandLine.Option(names = {"-s", "--source"}) String sourceName,
                          @CommandLine.Option(names = {"-t", "--target"}, required = true) String targetName,
@@ -152,13 +227,21 @@ class Cli implements Callable<Void> {
             translatedModels = generateTranslatedModels(source, sourceWorkspace, target, targetWorkspace);
         }
 
-        String ddl = translatedModels.stream().map(stringDatabaseEntry -> {
-            DDL modelDDL = DDLFactory.ddlForDatabaseType(stringDatabaseEntry.getValue().getDatabaseType());
-            return modelDDL.createDatabase(stringDatabaseEntry.getValue(), dropIfExist);
-        }).reduce("", (s, s2) -> s.concat("\n\n\n").stripLeading().concat(s2));
-
         StringOutput stringOutput = new StringOutput("ddl.sql", targetWorkspace);
-        stringOutput.write(ddl);
+        try (LeadingWhitespaceTrimmingWriter writer = new LeadingWhitespaceTrimmingWriter(stringOutput.openWriter())) {
+            for (int i = 0; i < translatedModels.size(); i++) {
+                Database database = translatedModels.get(i).getValue();
+                if (i > 0) {
+                    writer.write("\n\n\n");
+                }
+                // leading whitespace is trimmed from everything but the last model
+                if (i == translatedModels.size() - 1) {
+                    writer.keepWhitespace();
+                }
+                DDL modelDDL = DDLFactory.ddlForDatabaseType(database.getDatabaseType());
+                modelDDL.createDatabase(database, dropIfExist, writer);
+            }
+        }
 
         // generate dbt models
         extractDbtModels(target, targetWorkspace);
@@ -169,17 +252,140 @@ class Cli implements Callable<Void> {
     @CommandLine.Command(name = "apply", description = "Get current model and compare with state of database," +
             " generate ddl for changes and apply to database. ", mixinStandardHelpOptions = true)
     private void apply(@CommandLine.Option(names = {"-s", "--source"}, required = true) String sourceName,
-                       @CommandLine.Option(names = {"-m", "--model"}, defaultValue = DEFAULT_MODEL_YAML) String model) throws Exception {
+                       @CommandLine.Option(names = {"-m", "--model"}, description = "Model to apply, " + DEFAULT_MODEL_YAML + " by default") String model,
+                       @CommandLine.Option(names = {"--online"}, description = "Generate DDL that avoids long exclusive locks on tables in use") boolean online,
+                       @CommandLine.Option(names = {"--parallelism"}, defaultValue = "1", description = "Apply independent changes concurrently over this many connections") int parallelism,
+                       @CommandLine.Option(names = {"--plan"}, description = "Apply a plan written by the plan command instead of comparing the model with the database") Path planFile) throws Exception {
+        requireConfig(config);
+
+        Connection source = getSourceConnection(sourceName);
+        Path sourceWorkspace = getSourceWorkspace(sourceName);
+
+        Plan plan;
+        if (planFile != null) {
+            plan = new ObjectMapper(new YAMLFactory()).readValue(planFile.toFile(), Plan.class);
+            if (!sourceName.equals(plan.getSource())) {
+                throw new RuntimeException(String.format("Plan %s was made for source %s, not %s.",
+                        planFile, plan.getSource(), sourceName));
+            }
+            // the plan already holds the ddl, options that change it can not be applied to it
+            if (model != null && !model.equals(plan.getModel())) {
+                throw new RuntimeException(String.format("Plan %s was made for model %s, not %s.",
+                        planFile, plan.getModel(), model));
+            }
+            if (online && !plan.isOnline()) {
+                throw new RuntimeException(String.format("Plan %s was made without --online. Create a new plan " +
+                        "with --online.", planFile));
+            }
+            String fingerprint = SourceGeneratorFactory.sourceGenerator(source).fingerprint(source);
+            if (!fingerprint.equals(plan.getFingerprint())) {
+                throw new RuntimeException(String.format("Database of source %s changed since plan %s was made " +
+                        "on %s. Create a new plan.", sourceName, planFile, plan.getCreatedAt()));
+            }
+        } else {
+            plan = createPlan(sourceName, source, sourceWorkspace, Optional.ofNullable(model).orElse(DEFAULT_MODEL_YAML),
+                    online, false);
+            if (plan == null) {
+                return;
+            }
+        }
+
+        Path snapshotsPath = sourceWorkspace.resolve("snapshots");
+        Path applyHistory = sourceWorkspace.resolve("apply");
+
+        if (!Files.exists(snapshotsPath)) {
+            Files.createDirectories(snapshotsPath);
+        }
+
+        if (!Files.exists(applyHistory)) {
+            Files.createDirectories(applyHistory);
+        }
+
+        String timeStamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        String snapshotModelName = String.format("model-%s.yaml", timeStamp);
+        String ddlHistoryName = String.format("ddl-%s.sql", timeStamp);
+
+        YamlModelOutput yamlOutputModel = new YamlModelOutput(snapshotModelName, snapshotsPath);
+        yamlOutputModel.write(plan.getSnapshot());
+        SnapshotHashes snapshotHashes = new SnapshotHashes();
+        snapshotHashes.setSnapshotSize(Files.size(yamlOutputModel.getFilePath()));
+        snapshotHashes.setSnapshotHash(Digests.sha256(yamlOutputModel.getFilePath()));
+        snapshotHashes.setHashes(ModelHasher.hash(plan.getSnapshot()));
+        new SnapshotHashesOutput(snapshotHashesName(snapshotModelName), snapshotsPath).write(snapshotHashes);
+
+        StringOutput stringOutput = new StringOutput(ddlHistoryName, applyHistory);
+        stringOutput.write(plan.getDdl());
+
+        DDLExecutor executor = DDLFactory.executor(source, new DriverManagerDriverProvider());
+        try {
+            if (parallelism > 1) {
+                List<ChangeDDL> changeDDLs = new ArrayList<>();
+                List<Set<Integer>> dependencies = new ArrayList<>();
+                for (PlanChange planChange : plan.getChanges()) {
+                    changeDDLs.add(new ChangeDDL(Collections.emptyList(), planChange.getDdl()));
+                    dependencies.add(new HashSet<>(planChange.getDependsOn()));
+                }
+                try (JDBCConnectionPool pool = new JDBCConnectionPool(source, new DriverManagerDriverProvider(), parallelism)) {
+                    new ChangeScheduler(executor, pool).execute(ChangeGraph.of(changeDDLs, dependencies));
+                }
+            } else {
+                executor.execute(plan.getDdl());
+            }
+        } finally {
+            metadataCache().invalidate(source);
+        }
+
+        if (config.isAutoCommit()) {
+            gitCommandExecutor(sourceWorkspace.toString());
+        }
+
+        log.info("Successfully written ddl ({}).", stringOutput.getFilePath());
+    }
+
+    @CommandLine.Command(name = "plan", description = "Compare model with state of database and write the changes," +
+            " their ddl and a fingerprint of the database to a plan file for apply --plan.", mixinStandardHelpOptions = true)
+    private void plan(@CommandLine.Option(names = {"-s", "--source"}, required = true) String sourceName,
+                      @CommandLine.Option(names = {"-m", "--model"}, defaultValue = DEFAULT_MODEL_YAML) String model,
+                      @CommandLine.Option(names = {"--online"}, description = "Generate DDL that avoids long exclusive locks on tables in use") boolean online) throws Exception {
         requireConfig(config);
 
         Connection source = getSourceConnection(sourceName);
+        Path sourceWorkspace = getSourceWorkspace(sourceName);
+
+        Plan plan = createPlan(sourceName, source, sourceWorkspace, model, online, true);
+        if (plan == null) {
+            return;
+        }
+
+        Path plansPath = sourceWorkspace.resolve("plans");
+        if (!Files.exists(plansPath)) {
+            Files.createDirectories(plansPath);
+        }
+
+        String timeStamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        PlanOutput planOutput = new PlanOutput(String.format("plan-%s.yaml", timeStamp), plansPath);
+        planOutput.write(plan);
+
+        System.out.println(plan.getDdl());
+        log.info("Successfully written plan with {} changes ({}).", plan.getChanges().size(), planOutput.getFilePath());
+    }
+
+    private Path getSourceWorkspace(String sourceName) {
         Path sourceWorkspace = Paths.get("./", sourceName);
 
         if (!Files.isDirectory(sourceWorkspace)) {
             throw new RuntimeException(String.format("Can not find directory: %s for source name: %s to find" +
                     " models for translation", sourceWorkspace, sourceName));
         }
+        return sourceWorkspace;
+    }
 
+    /**
+     * Changes between the model and the database with their ddl, or null when there is nothing to apply. The
+     * fingerprint is taken before the extraction, so a change made to the database in between invalidates the plan.
+     */
+    private Plan createPlan(String sourceName, Connection source, Path sourceWorkspace, String model, boolean online,
+                            boolean withFingerprint) throws Exception {
         List<Database> databases = getDatabaseForModel(sourceWorkspace, model)
                 .map(AbstractMap.SimpleImmutableEntry::getValue)
                 .collect(Collectors.toList());
@@ -189,61 +395,146 @@ class Cli implements Callable<Void> {
                     " directory %s", databases.size(), sourceWorkspace));
         }
 
-        Database expectedDatabase = databases.get(0);
-        Database actualDatabase = SourceGeneratorFactory.sourceGenerator(source).generate(source);
+        Generator<Database, Connection> generator = SourceGeneratorFactory.sourceGenerator(source);
+        String fingerprint = withFingerprint ? generator.fingerprint(source) : null;
 
-        if (expectedDatabase.getOperationLevel().equals(OperationLevelEnum.schema)) {
-            Set<String> expectedSchemaList = expectedDatabase.getTables().stream().map(Table::getSchema).collect(Collectors.toSet());
-            List<Table> tablesWithMatchingSchema = actualDatabase.getTables().stream().filter(table -> expectedSchemaList.contains(table.getSchema())).collect(Collectors.toList());
-            actualDatabase.setTables(tablesWithMatchingSchema);
-        }
+        Database expectedDatabase = databases.get(0);
+        Database actualDatabase = generator.generate(source, modelSchemas(expectedDatabase));
 
         ChangeFinder changeFinder = DDLFactory.changeFinderForDatabaseType(source.getDbType());
         List<Change<?>> changes = changeFinder.findChanges(expectedDatabase, actualDatabase);
 
         if (changes.size() == 0) {
             log.info("No changes detected. Command aborted");
-            return;
+            return null;
         }
 
         if (changes.stream().filter(change -> change.getStatus().equals(Change.Status.DROP)).findFirst().isPresent() &&
                 expectedDatabase.getSafeMode()) {
             log.info("Not going to perform the changes because there are DROP operations and the safe mode is enabled.");
-            return;
+            return null;
         }
 
-        ChangeHandler handler = DDLFactory.changeHandler(source.getDbType());
-        String ddl = handler.createDDLForChanges(changes);
-
-        Path snapshotsPath = sourceWorkspace.resolve("snapshots");
-        Path applyHistory = sourceWorkspace.resolve("apply");
-
-        if (!Files.exists(snapshotsPath)) {
-            Files.createDirectories(snapshotsPath);
+        ChangeHandler handler = DDLFactory.changeHandler(source.getDbType(), online);
+        List<ChangeDDL> changeDDLs = handler.createChangeDDLs(changes);
+        ChangeGraph graph = ChangeGraph.of(changeDDLs);
+
+        Plan plan = new Plan();
+        plan.setSource(sourceName);
+        plan.setDatabaseType(source.getDbType());
+        plan.setModel(model);
+        plan.setOnline(online);
+        plan.setCreatedAt(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(new Date()));
+        plan.setFingerprint(fingerprint);
+        for (int i = 0; i < changeDDLs.size(); i++) {
+            ChangeDDL changeDDL = changeDDLs.get(i);
+            Change<?> first = changeDDL.getChanges().get(0);
+            PlanChange planChange = new PlanChange();
+            planChange.setType(first.getType().name());
+            planChange.setStatus(first.getStatus().name());
+            planChange.setName(changeDDL.getChanges().stream().map(Cli::changeName).collect(Collectors.joining(", ")));
+            planChange.setDependsOn(new ArrayList<>(graph.dependencies(i)));
+            planChange.setDdl(changeDDL.getDdl());
+            plan.getChanges().add(planChange);
         }
+        plan.setDdl(changeDDLs.stream().map(ChangeDDL::getDdl).collect(Collectors.joining("\r")));
+        plan.setSnapshot(actualDatabase);
+        return plan;
+    }
 
-        if (!Files.exists(applyHistory)) {
-            Files.createDirectories(applyHistory);
+    /**
+     * Schemas of the tables and views of a model at schema operation level, whose changes are limited to those
+     * schemas, or null at database operation level, where every schema is compared.
+     */
+    private static Collection<String> modelSchemas(Database model) {
+        if (!OperationLevelEnum.schema.equals(model.getOperationLevel())) {
+            return null;
         }
+        Set<String> schemas = new LinkedHashSet<>();
+        Optional.ofNullable(model.getTables()).ifPresent(tables -> tables.forEach(table -> schemas.add(table.getSchema())));
+        Optional.ofNullable(model.getViews()).ifPresent(views -> views.forEach(view -> schemas.add(view.getSchema())));
+        return schemas;
+    }
 
-        String timeStamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
-        String snapshotModelName = String.format("model-%s.yaml", timeStamp);
-        String ddlHistoryName = String.format("ddl-%s.sql", timeStamp);
-
-        YamlModelOutput yamlOutputModel = new YamlModelOutput(snapshotModelName, snapshotsPath);
-        yamlOutputModel.write(actualDatabase);
+    /**
+     * Copy of a model with only the tables and views with the given names.
+     */
+    private static Database withTables(Database database, Set<String> names) {
+        Database copy = new Database();
+        copy.setDatabaseProductName(database.getDatabaseProductName());
+        copy.setDatabaseType(database.getDatabaseType());
+        copy.setOperationLevel(database.getOperationLevel());
+        copy.setSafeMode(database.getSafeMode());
+        copy.setTables(Optional.ofNullable(database.getTables()).orElse(Collections.emptyList()).stream()
+                .filter(table -> names.contains(table.getName()))
+                .collect(Collectors.toList()));
+        copy.setViews(Optional.ofNullable(database.getViews()).orElse(Collections.emptyList()).stream()
+                .filter(view -> names.contains(view.getName()))
+                .collect(Collectors.toList()));
+        return copy;
+    }
 
-        StringOutput stringOutput = new StringOutput(ddlHistoryName, applyHistory);
-        stringOutput.write(ddl);
+    private static String changeName(Change<?> change) {
+        Object changed = change.getExpected() != null ? change.getExpected() : change.getActual();
+        switch (change.getType()) {
+            case DATABASE:
+                return ((Database) changed).getDatabaseProductName();
+            case TABLE_SCHEMA:
+                return ((Table) changed).getSchema();
+            case TABLE:
+            case VIEW:
+                return qualifiedName(((Table) changed).getSchema(), ((Table) changed).getName());
+            case COLUMN:
+                Table table = ((ColumnChange) change).getTable();
+                return qualifiedName(table.getSchema(), table.getName()) + "." + ((Column) changed).getName();
+            case FOREIGN_KEY:
+                return ((ForeignKey) changed).getName();
+            case INDEX:
+                return ((Index) changed).getName();
+            default:
+                return null;
+        }
+    }
 
-        DDLExecutor executor = DDLFactory.executor(source, new DriverManagerDriverProvider());
-        executor.execute(ddl);
+    private static String qualifiedName(String schema, String name) {
+        return schema == null || schema.isEmpty() ? name : schema + "." + name;
+    }
 
-        if (config.isAutoCommit()) {
-            gitCommandExecutor(sourceWorkspace.toString());
+    /**
+     * Database of the source limited to the given schemas, or all of it when {@code schemas} is null, taken from the
+     * metadata cache when a fresh entry exists. An entry for the whole database serves any schemas.
+     */
+    private Database generate(Connection source, Collection<String> schemas) throws Exception {
+        MetadataCache cache = metadataCache();
+        Optional<Database> cached = cache.get(source, schemas);
+        if (cached.isEmpty() && schemas != null) {
+            cached = cache.get(source, null).map(database -> withSchemas(database, schemas));
+        }
+        if (cached.isPresent()) {
+            log.info("Using cached metadata of source {}.", source.getName());
+            return cached.get();
         }
+        Database database = SourceGeneratorFactory.sourceGenerator(source).generate(source, schemas);
+        cache.put(source, schemas, database);
+        return database;
+    }
 
-        log.info("Successfully written ddl ({}).", stringOutput.getFilePath());
+    private MetadataCache metadataCache() {
+        return new MetadataCache(Paths.get(METADATA_CACHE_DIRECTORY), Duration.ofSeconds(config.getMetadataCacheTtl()));
+    }
+
+    /**
+     * Copy of a database with only the tables and views of the given schemas.
+     */
+    private static Database withSchemas(Database database, Collection<String> schemas) {
+        Database copy = withTables(database, Collections.emptySet());
+        copy.setTables(Optional.ofNullable(database.getTables()).orElse(Collections.emptyList()).stream()
+                .filter(table -> schemas.contains(table.getSchema()))
+                .collect(Collectors.toList()));
+        copy.setViews(Optional.ofNullable(database.getViews()).orElse(Collections.emptyList()).stream()
+                .filter(view -> schemas.contains(view.getSchema()))
+                .collect(Collectors.toList()));
+        return copy;
     }
 
     @CommandLine.Command(name = "test", description = "Run tests written on columns", mixinStandardHelpOptions = true)
@@ -264,10 +555,11 @@ class Cli implements Callable<Void> {
         List<Database> collect = getDatabases(sourceWorkspace)
                 .map(AbstractMap.SimpleImmutableEntry::getValue)
                 .collect(Collectors.toList());
-        for (Database database : collect) {
-            AssertionSqlGenerator assertionSqlGenerator = AssertionSqlGeneratorFactory.generatorFor(source.get());
-            DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(source.get(), new DriverManagerDriverProvider());
-            new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(source.get(), database);
+        AssertionSqlGenerator assertionSqlGenerator = AssertionSqlGeneratorFactory.generatorFor(source.get());
+        try (DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(source.get(), new DriverManagerDriverProvider())) {
+            for (Database database : collect) {
+                new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(source.get(), database);
+            }
         }
     }
 
@@ -321,7 +613,7 @@ class Cli implements Callable<Void> {
             Files.createDirectory(sourceWorkspace);
 
         if (generateSpark || !generateScala) {
-            Database sourceDatabase = SourceGeneratorFactory.sourceGenerator(source).generate(source);
+            Database sourceDatabase = generate(source, null);
             String spark_code = generateSparkTemplateCode(source, target, sourceDatabase);
             StringOutput stringOutput = new StringOutput("spark_code.py", sourceWorkspace);
             stringOutput.write(spark_code);
@@ -330,7 +622,7 @@ class Cli implements Callable<Void> {
         }
 
         if (generateScala) {
-            Database sourceDatabase = SourceGeneratorFactory.sourceGenerator(source).generate(source);
+            Database sourceDatabase = generate(source, null);
             String scala_code = generateScalaTemplateCode(source, target, sourceDatabase);
             StringOutput stringOutput = new StringOutput("scala_code.scala", sourceWorkspace);
             stringOutput.write(scala_code);
@@ -385,7 +677,15 @@ class Cli implements Callable<Void> {
 
     @CommandLine.Command(name = "diff", description = "Show difference between local model and database", mixinStandardHelpOptions = true)
     private void diff(@CommandLine.Option(names = {"-s", "--source"}) String sourceName,
-                      @CommandLine.Option(names = {"-m", "--model"}, defaultValue = DEFAULT_MODEL_YAML) String model) throws Exception {
+                      @CommandLine.Option(names = {"-m", "--model"}, defaultValue = DEFAULT_MODEL_YAML) String model,
+                      @CommandLine.Option(names = {"--output-format"}, defaultValue = "text",
+                              description = "Output format: text or json") String outputFormat,
+                      @CommandLine.Option(names = {"--fast"},
+                              description = "Only extract and compare tables whose fingerprint computed by the " +
+                                      "database differs from the model") boolean fast,
+                      @CommandLine.Option(names = {"--snapshot"},
+                              description = "Compare with a snapshot instead of the database. Given twice, compare " +
+                                      "the first snapshot with the second one instead of the model") List<Path> snapshots) throws Exception {
         requireConfig(config);
         Connection sourceConnection = getSourceConnection(sourceName);
 
@@ -395,19 +695,73 @@ class Cli implements Callable<Void> {
                     " models for translation", sourceWorkspace, sourceName));
         }
 
-        List<Database> databases = getDatabaseForModel(sourceWorkspace, model)
-                .map(AbstractMap.SimpleImmutableEntry::getValue)
-                .collect(Collectors.toList());
+        if (!"text".equals(outputFormat) && !"json".equals(outputFormat)) {
+            throw new RuntimeException(String.format("Unsupported output format: %s. Use text or json", outputFormat));
+        }
 
-        if (databases.size() != 1) {
-            throw new RuntimeException(String.format("For comparisons we need exactly one model. Found  %d models in" +
-                    " directory %s", databases.size(), sourceWorkspace));
+        snapshots = Optional.ofNullable(snapshots).orElse(Collections.emptyList());
+        if (snapshots.size() > 2) {
+            throw new RuntimeException(String.format("Can compare at most two snapshots, got %d.", snapshots.size()));
+        }
+
+        Database localDatabase;
+        HashNode localHashes = null;
+        if (snapshots.size() == 2) {
+            Path snapshot = getSnapshot(sourceWorkspace, snapshots.get(0));
+            localDatabase = new ObjectMapper(new YAMLFactory()).readValue(snapshot.toFile(), Database.class);
+            localHashes = getSnapshotHashes(snapshot, localDatabase);
+        } else {
+            List<Database> databases = getDatabaseForModel(sourceWorkspace, model)
+                    .map(AbstractMap.SimpleImmutableEntry::getValue)
+                    .collect(Collectors.toList());
+
+            if (databases.size() != 1) {
+                throw new RuntimeException(String.format("For comparisons we need exactly one model. Found  %d models in" +
+                        " directory %s", databases.size(), sourceWorkspace));
+            }
+            localDatabase = databases.get(0);
+        }
+
+        Database targetDatabase = null;
+        if (!snapshots.isEmpty()) {
+            Path snapshot = getSnapshot(sourceWorkspace, snapshots.get(snapshots.size() - 1));
+            Database snapshotDatabase = new ObjectMapper(new YAMLFactory()).readValue(snapshot.toFile(), Database.class);
+            if (localHashes == null) {
+                localHashes = ModelHasher.hash(localDatabase);
+            }
+            Set<String> changedTables = ModelHasher.changedTables(localHashes, getSnapshotHashes(snapshot, snapshotDatabase));
+            log.info("Hashes differ for {} tables and views.", changedTables.size());
+            localDatabase = withTables(localDatabase, changedTables);
+            targetDatabase = withTables(snapshotDatabase, changedTables);
+        }
+
+        Collection<String> schemas = modelSchemas(localDatabase);
+        Generator<Database, Connection> generator = SourceGeneratorFactory.sourceGenerator(sourceConnection);
+        if (fast && targetDatabase == null) {
+            Set<String> changedTables = generator.changedTables(sourceConnection, localDatabase, schemas);
+            if (changedTables == null) {
+                log.warn("Table fingerprints not supported for database type: {} falling back to full extraction.",
+                        sourceConnection.getDbType());
+            } else {
+                log.info("Fingerprints differ for {} tables and views.", changedTables.size());
+                localDatabase = withTables(localDatabase, changedTables);
+                targetDatabase = changedTables.isEmpty() ? withTables(localDatabase, changedTables)
+                        : withTables(generator.generate(sourceConnection.withTables(changedTables), schemas), changedTables);
+            }
+        }
+        if (targetDatabase == null) {
+            targetDatabase = generate(sourceConnection, schemas);
         }
 
-        Database localDatabase = databases.get(0);
-        Database targetDatabase = SourceGeneratorFactory.sourceGenerator(sourceConnection).generate(sourceConnection);
+        DefaultTester tester = DiffFactory.tester(localDatabase.getDatabaseType());
 
-        Diff<List<String>, Database, Database> tester = DiffFactory.diff(localDatabase.getDatabaseType());
+        if ("json".equals(outputFormat)) {
+            try (JsonDiffWriter writer = new JsonDiffWriter(System.out)) {
+                tester.find(localDatabase, targetDatabase, writer);
+            }
+            System.out.println();
+            return;
+        }
 
         List<String> changeList = tester.find(localDatabase, targetDatabase);
         if (changeList.size() > 0) {
@@ -418,6 +772,60 @@ class Cli implements Callable<Void> {
         }
     }
 
+    /**
+     * Snapshot file as given, or by name from the snapshots directory of the source.
+     */
+    private Path getSnapshot(Path sourceWorkspace, Path snapshot) {
+        if (Files.isRegularFile(snapshot)) {
+            return snapshot;
+        }
+        Path inWorkspace = sourceWorkspace.resolve("snapshots").resolve(snapshot);
+        if (Files.isRegularFile(inWorkspace)) {
+            return inWorkspace;
+        }
+        throw new RuntimeException(String.format("Can not find snapshot: %s", snapshot));
+    }
+
+    /**
+     * Hash tree written next to a snapshot by apply while it was made from the snapshot as it is now, otherwise the
+     * tree is computed from the snapshot.
+     */
+    private HashNode getSnapshotHashes(Path snapshot, Database snapshotDatabase) throws IOException {
+        Path hashes = snapshot.resolveSibling(snapshotHashesName(snapshot.getFileName().toString()));
+        if (Files.isRegularFile(hashes)) {
+            try {
+                SnapshotHashes snapshotHashes = new ObjectMapper(new YAMLFactory()).readValue(hashes.toFile(), SnapshotHashes.class);
+                if (snapshotHashes.getHashes() != null
+                        && snapshotHashes.getSnapshotSize() == Files.size(snapshot)
+                        && Digests.sha256(snapshot).equals(snapshotHashes.getSnapshotHash())) {
+                    return snapshotHashes.getHashes();
+                }
+                log.info("Snapshot {} changed since its hashes were written, computing them again.", snapshot);
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable snapshot hashes {}.", hashes, e);
+            }
+        }
+        return ModelHasher.hash(snapshotDatabase);
+    }
+
+    private static String snapshotHashesName(String snapshotName) {
+        return FilenameUtils.removeExtension(snapshotName) + ".hash.yaml";
+    }
+
+    @CommandLine.Command(name = "cache", description = "Manage the metadata cache of extracted databases", mixinStandardHelpOptions = true)
+    private void cache(@CommandLine.Option(names = {"-s", "--source"}, description = "Only the entries of this source") String sourceName,
+                       @CommandLine.Option(names = {"--clear"}, required = true, description = "Remove cached metadata") boolean clear)
+            throws Exception {
+        requireConfig(config);
+        if (sourceName == null) {
+            metadataCache().clear();
+            log.info("Cleared the metadata cache.");
+            return;
+        }
+        metadataCache().invalidate(getSourceConnection(sourceName));
+        log.info("Cleared the metadata cache of source {}.", sourceName);
+    }
+
     @CommandLine.Command(name = "drivers", description = "Show available drivers for download", mixinStandardHelpOptions = true)
     private void drivers(@CommandLine.Option(names = {"--list"}, description = "Used to list all available drivers") boolean isList,
                          @CommandLine.Option(names = {"-dl", "--download"}, description = "Used to download selected driver by index") boolean isDownload,
@@ -482,12 +890,18 @@ class Cli implements Callable<Void> {
                     target.getDbType(), source.getDbType());
             translatedModels = getDatabases(sourceWorkspace).collect(Collectors.toList());
         } else {
-            Translator<Database, Database> translator = TranslatorFactory.translator(source.getDbType(),
-                    target.getDbType());
-
-            translatedModels = getDatabases(sourceWorkspace)
-                    .map(translateDatabases(translator))
-                    .collect(Collectors.toList());
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, config.getTranslationParallelism()));
+            try {
+                Translator<Database, Database> translator = TranslatorFactory.translator(source.getDbType(),
+                        target.getDbType(), pool);
+
+                List<FileNameAndDatabasePair> models = getDatabases(sourceWorkspace).collect(Collectors.toList());
+                translatedModels = pool.submit(() -> models.parallelStream()
+                        .map(translateDatabases(translator))
+                        .collect(Collectors.toList())).join();
+            } finally {
+                pool.shutdown();
+            }
         }
 
         translatedModels.forEach(writeOutput(targetWorkspace));
@@ -519,9 +933,10 @@ class Cli implements Callable<Void> {
     private Stream<FileNameAndDatabasePair> getDatabases(Path directory) throws IOException {
         return Files.list(directory)
                 .filter(path -> !Files.isDirectory(path) && "yaml".equals(FilenameUtils.getExtension(path.toString())))
+                .sorted()
                 .map(path -> {
                     try {
-                        Database input = new ObjectMapper(new YAMLFactory()).readValue(path.toFile(), Database.class);
+                        Database input = ModelSidecar.read(path);
                         return new FileNameAndDatabasePair(path.getFileName().toString(), input);
                     } catch (Exception exception) {
                         throw new RuntimeException(exception);
@@ -534,7 +949,7 @@ class Cli implements Callable<Void> {
                 .filter(path -> FilenameUtils.getName(path.toString()).equals(model) && !Files.isDirectory(path))
                 .map(path -> {
                     try {
-                        Database input = new ObjectMapper(new YAMLFactory()).readValue(path.toFile(), Database.class);
+                        Database input = ModelSidecar.read(path);
                         return new FileNameAndDatabasePair(path.getFileName().toString(), input);
                     } catch (Exception exception) {
                         throw new RuntimeException(exception);
@@ -637,7 +1052,7 @@ class Cli implements Callable<Void> {
             Files.createDirectories(dataDirectory);
         }
 
-        Database db = SourceGeneratorFactory.sourceGenerator(source).generate(source);
+        Database db = generate(source, null);
 
         DDL modelDDL = DDLFactory.ddlForDatabaseType(source.getDbType());
         String DDL = modelDDL.createDatabase(db, false);
@@ -0,0 +1,118 @@
+package com.adaptivescale.rosetta.cli.helpers;
+
+import com.adaptivescale.rosetta.common.helpers.Digests;
+import com.adaptivescale.rosetta.common.models.Database;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Extracted databases stored as Smile, one directory per connection and one file per connection identity and
+ * schemas, so commands run one after the other read the catalog once. Entries older than the time to live are
+ * ignored. The identity covers everything that changes what is extracted, the URL, user, database, schema, table
+ * filter and database type, but not the password. A cache with a time to live of zero stores and finds nothing.
+ */
+@Slf4j
+public class MetadataCache {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(new SmileFactory())
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final Path directory;
+    private final Duration ttl;
+
+    public MetadataCache(Path directory, Duration ttl) {
+        this.directory = directory;
+        this.ttl = ttl;
+    }
+
+    public Optional<Database> get(Connection connection, Collection<String> schemas) {
+        if (ttl.isZero()) {
+            return Optional.empty();
+        }
+        Path entry = entry(connection, schemas);
+        try {
+            if (!Files.isRegularFile(entry)
+                    || Files.getLastModifiedTime(entry).toInstant().plus(ttl).isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+            return Optional.of(OBJECT_MAPPER.readValue(entry.toFile(), Database.class));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable metadata cache entry {}.", entry, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(Connection connection, Collection<String> schemas, Database database) throws IOException {
+        if (ttl.isZero()) {
+            return;
+        }
+        Path entry = entry(connection, schemas);
+        Files.createDirectories(entry.getParent());
+        // readers never see a partly written entry
+        Path temporary = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(temporary.toFile(), database);
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Drops every entry of the connection.
+     */
+    public void invalidate(Connection connection) throws IOException {
+        FileUtils.deleteDirectory(connectionDirectory(connection).toFile());
+    }
+
+    /**
+     * Drops every entry.
+     */
+    public void clear() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    private Path connectionDirectory(Connection connection) {
+        return directory.resolve(connection.getName());
+    }
+
+    private Path entry(Connection connection, Collection<String> schemas) {
+        List<String> identity = new ArrayList<>(Arrays.asList(connection.getDbType(), connection.getUrl(),
+                connection.getUserName(), connection.getDatabaseName(), connection.getSchemaName()));
+        identity.add(sorted(connection.getTables()));
+        identity.add(sorted(schemas));
+
+        MessageDigest digest = Digests.sha256();
+        for (String value : identity) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return connectionDirectory(connection).resolve(Digests.hex(digest.digest()) + ".smile");
+    }
+
+    /**
+     * Names in a fixed order, models of databases without schemas have null schema names.
+     */
+    private static String sorted(Collection<String> names) {
+        if (names == null) {
+            return null;
+        }
+        List<String> sorted = new ArrayList<>(new HashSet<>(names));
+        sorted.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        return String.valueOf(sorted);
+    }
+}
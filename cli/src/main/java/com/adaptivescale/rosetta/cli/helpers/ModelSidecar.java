@@ -0,0 +1,82 @@
+package com.adaptivescale.rosetta.cli.helpers;
+
+import com.adaptivescale.rosetta.common.helpers.Digests;
+import com.adaptivescale.rosetta.common.models.Database;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads YAML models through a Smile copy kept next to them as {@code .<model file>.smile}, which Jackson reads much
+ * faster than YAML. The copy starts with a header holding the modification time, size and SHA-256 of the YAML it was
+ * made from and is only used while all three still match, otherwise the YAML is parsed and the copy written again.
+ * The YAML stays the model, the copy can be deleted at any time.
+ */
+@Slf4j
+public class ModelSidecar {
+
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+    private static final String MODIFIED = "modified";
+    private static final String SIZE = "size";
+    private static final String HASH = "hash";
+
+    public static Database read(Path model) throws IOException {
+        Map<String, String> header = new HashMap<>();
+        header.put(MODIFIED, String.valueOf(Files.getLastModifiedTime(model).toMillis()));
+        header.put(SIZE, String.valueOf(Files.size(model)));
+        header.put(HASH, Digests.sha256(model));
+
+        Path sidecar = sidecar(model);
+        if (Files.isRegularFile(sidecar)) {
+            try (JsonParser parser = SMILE_MAPPER.getFactory().createParser(sidecar.toFile())) {
+                parser.nextToken();
+                Map<String, String> sidecarHeader = SMILE_MAPPER.readValue(parser, new TypeReference<Map<String, String>>() {});
+                if (header.equals(sidecarHeader)) {
+                    parser.nextToken();
+                    return SMILE_MAPPER.readValue(parser, Database.class);
+                }
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable model sidecar {}.", sidecar, e);
+            }
+        }
+
+        Database database = YAML_MAPPER.readValue(model.toFile(), Database.class);
+        try {
+            write(sidecar, header, database);
+        } catch (IOException e) {
+            log.warn("Can not write model sidecar {}.", sidecar, e);
+        }
+        return database;
+    }
+
+    private static void write(Path sidecar, Map<String, String> header, Database database) throws IOException {
+        // models may be read concurrently, readers never see a partly written sidecar
+        Path temporary = Files.createTempFile(sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), ".tmp");
+        try {
+            try (JsonGenerator generator = SMILE_MAPPER.getFactory().createGenerator(Files.newOutputStream(temporary))) {
+                SMILE_MAPPER.writeValue(generator, header);
+                SMILE_MAPPER.writeValue(generator, database);
+            }
+            Files.move(temporary, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static Path sidecar(Path model) {
+        return model.resolveSibling("." + model.getFileName() + ".smile");
+    }
+}
@@ -20,6 +20,12 @@ public class Config {
     @JsonProperty("git_remote_name")
     private String gitRemoteName = "origin";
 
+    @JsonProperty("translation_parallelism")
+    private int translationParallelism = Runtime.getRuntime().availableProcessors();
+
+    @JsonProperty("metadata_cache_ttl")
+    private long metadataCacheTtl = 0;
+
     public List<Connection> getConnections() {
         return connections;
     }
@@ -44,4 +50,15 @@ public class Config {
         return gitAutoCommit;
     }
 
+    public int getTranslationParallelism() {
+        return translationParallelism;
+    }
+
+    /**
+     * Seconds an extracted database is reused from the metadata cache, 0 turns the cache off.
+     */
+    public long getMetadataCacheTtl() {
+        return metadataCacheTtl;
+    }
+
 }
@@ -0,0 +1,98 @@
+package com.adaptivescale.rosetta.cli.model;
+
+import com.adaptivescale.rosetta.common.models.Database;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes between a model and a database, written by {@code plan} for review and executed by {@code apply --plan}.
+ * The fingerprint of the database the plan was made for lets apply verify that it is still current without
+ * extracting the database again.
+ */
+public class Plan {
+    private String source;
+    private String databaseType;
+    private String model;
+    private boolean online;
+    private String createdAt;
+    private String fingerprint;
+    private List<PlanChange> changes = new ArrayList<>();
+    private String ddl;
+    private Database snapshot;
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getDatabaseType() {
+        return databaseType;
+    }
+
+    public void setDatabaseType(String databaseType) {
+        this.databaseType = databaseType;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    public void setOnline(boolean online) {
+        this.online = online;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public List<PlanChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<PlanChange> changes) {
+        this.changes = changes;
+    }
+
+    public String getDdl() {
+        return ddl;
+    }
+
+    public void setDdl(String ddl) {
+        this.ddl = ddl;
+    }
+
+    /**
+     * State of the database when the plan was made, written to the snapshots when the plan is applied.
+     */
+    public Database getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Database snapshot) {
+        this.snapshot = snapshot;
+    }
+}
@@ -0,0 +1,56 @@
+package com.adaptivescale.rosetta.cli.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One step of a {@link Plan}: the DDL of a change, or of the column changes of a table applied together, and the
+ * positions of the steps it has to wait for when applied in parallel.
+ */
+public class PlanChange {
+    private String type;
+    private String status;
+    private String name;
+    private List<Integer> dependsOn = new ArrayList<>();
+    private String ddl;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<Integer> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<Integer> dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+
+    public String getDdl() {
+        return ddl;
+    }
+
+    public void setDdl(String ddl) {
+        this.ddl = ddl;
+    }
+}
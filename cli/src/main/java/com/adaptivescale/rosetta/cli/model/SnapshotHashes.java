@@ -0,0 +1,37 @@
+package com.adaptivescale.rosetta.cli.model;
+
+import com.adaptivescale.rosetta.diff.model.HashNode;
+
+/**
+ * Hash tree of a snapshot, written next to it by {@code apply}. The size and SHA-256 of the snapshot file the tree was
+ * computed from tell whether the snapshot changed since, in which case the tree is computed again.
+ */
+public class SnapshotHashes {
+    private long snapshotSize;
+    private String snapshotHash;
+    private HashNode hashes;
+
+    public long getSnapshotSize() {
+        return snapshotSize;
+    }
+
+    public void setSnapshotSize(long snapshotSize) {
+        this.snapshotSize = snapshotSize;
+    }
+
+    public String getSnapshotHash() {
+        return snapshotHash;
+    }
+
+    public void setSnapshotHash(String snapshotHash) {
+        this.snapshotHash = snapshotHash;
+    }
+
+    public HashNode getHashes() {
+        return hashes;
+    }
+
+    public void setHashes(HashNode hashes) {
+        this.hashes = hashes;
+    }
+}
@@ -0,0 +1,25 @@
+package com.adaptivescale.rosetta.cli.outputs;
+
+import com.adaptivescale.rosetta.cli.Output;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+public class ChangeMarkersOutput implements Output<Map<String, Map<String, String>>> {
+    private final Path filePath;
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    public ChangeMarkersOutput(String fileName, Path directory) {
+        this.filePath = directory.resolve(fileName);
+    }
+
+    @Override
+    public void write(Map<String, Map<String, String>> changeMarkers) throws Exception {
+        new ObjectMapper(new YAMLFactory()).writeValue(filePath.toFile(), changeMarkers);
+    }
+}
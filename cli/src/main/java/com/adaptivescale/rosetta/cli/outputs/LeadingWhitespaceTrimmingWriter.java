@@ -0,0 +1,63 @@
+package com.adaptivescale.rosetta.cli.outputs;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Drops whitespace written before the first other character, like {@link String#stripLeading()} on the whole
+ * output, until {@link #keepWhitespace()} is called.
+ */
+public class LeadingWhitespaceTrimmingWriter extends FilterWriter {
+
+    private boolean trimming = true;
+
+    public LeadingWhitespaceTrimmingWriter(Writer out) {
+        super(out);
+    }
+
+    public void keepWhitespace() {
+        trimming = false;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (trimming && Character.isWhitespace(c)) {
+            return;
+        }
+        trimming = false;
+        out.write(c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int start = off;
+        int end = off + len;
+        if (trimming) {
+            while (start < end && Character.isWhitespace(cbuf[start])) {
+                start++;
+            }
+            if (start == end) {
+                return;
+            }
+            trimming = false;
+        }
+        out.write(cbuf, start, end - start);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int start = off;
+        int end = off + len;
+        if (trimming) {
+            while (start < end && Character.isWhitespace(str.charAt(start))) {
+                start++;
+            }
+            if (start == end) {
+                return;
+            }
+            trimming = false;
+        }
+        out.write(str, start, end - start);
+    }
+}
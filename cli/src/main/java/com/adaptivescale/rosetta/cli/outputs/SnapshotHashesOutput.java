@@ -0,0 +1,26 @@
+package com.adaptivescale.rosetta.cli.outputs;
+
+import com.adaptivescale.rosetta.cli.Output;
+import com.adaptivescale.rosetta.cli.model.SnapshotHashes;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.nio.file.Path;
+
+public class SnapshotHashesOutput implements Output<SnapshotHashes> {
+    private final Path filePath;
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    public SnapshotHashesOutput(String fileName, Path directory) {
+        this.filePath = directory.resolve(fileName);
+    }
+
+    @Override
+    public void write(SnapshotHashes snapshotHashes) throws Exception {
+        new ObjectMapper(new YAMLFactory()).setSerializationInclusion(JsonInclude.Include.NON_EMPTY).writeValue(filePath.toFile(), snapshotHashes);
+    }
+}
@@ -1,6 +1,9 @@
 package com.adaptivescale.rosetta.cli.outputs;
 import com.adaptivescale.rosetta.cli.Output;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -20,4 +23,11 @@ public class StringOutput implements Output<String> {
         byte[] strToBytes = ddl.getBytes();
         Files.write(filePath, strToBytes);
     }
+
+    /**
+     * Opens a buffered writer to the output file, for content too large to build as one string.
+     */
+    public Writer openWriter() throws IOException {
+        return Files.newBufferedWriter(filePath, Charset.defaultCharset());
+    }
 }
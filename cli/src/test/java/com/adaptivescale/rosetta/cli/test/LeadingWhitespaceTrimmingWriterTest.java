@@ -0,0 +1,90 @@
+package com.adaptivescale.rosetta.cli.test;
+
+import com.adaptivescale.rosetta.cli.outputs.LeadingWhitespaceTrimmingWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+public class LeadingWhitespaceTrimmingWriterTest {
+
+    @Test
+    public void leadingWhitespaceIsDropped() throws IOException {
+        StringWriter writer = new StringWriter();
+        try (LeadingWhitespaceTrimmingWriter trimmingWriter = new LeadingWhitespaceTrimmingWriter(writer)) {
+            trimmingWriter.write("\n \tCREATE TABLE t;\n");
+        }
+        Assertions.assertEquals("CREATE TABLE t;\n", writer.toString());
+    }
+
+    @Test
+    public void leadingWhitespaceSplitAcrossWritesIsDropped() throws IOException {
+        StringWriter writer = new StringWriter();
+        LeadingWhitespaceTrimmingWriter trimmingWriter = new LeadingWhitespaceTrimmingWriter(writer);
+        trimmingWriter.write("  ");
+        trimmingWriter.write('\n');
+        trimmingWriter.write("\r\n".toCharArray(), 0, 2);
+        trimmingWriter.write(" \tx  y", 0, 3);
+        trimmingWriter.write("  y");
+        Assertions.assertEquals("x  y", writer.toString());
+    }
+
+    @Test
+    public void whitespaceAfterTheFirstCharacterIsKept() throws IOException {
+        StringWriter writer = new StringWriter();
+        LeadingWhitespaceTrimmingWriter trimmingWriter = new LeadingWhitespaceTrimmingWriter(writer);
+        trimmingWriter.write("\nx");
+        trimmingWriter.write("\n ");
+        trimmingWriter.write(' ');
+        trimmingWriter.write("\t".toCharArray(), 0, 1);
+        Assertions.assertEquals("x\n  \t", writer.toString());
+    }
+
+    @Test
+    public void offsetAndLengthAreHonored() throws IOException {
+        StringWriter writer = new StringWriter();
+        LeadingWhitespaceTrimmingWriter trimmingWriter = new LeadingWhitespaceTrimmingWriter(writer);
+        trimmingWriter.write("ab  cd".toCharArray(), 2, 3);
+        trimmingWriter.write("ef gh", 2, 2);
+        Assertions.assertEquals("c g", writer.toString());
+    }
+
+    @Test
+    public void keepWhitespaceStopsTrimming() throws IOException {
+        StringWriter writer = new StringWriter();
+        LeadingWhitespaceTrimmingWriter trimmingWriter = new LeadingWhitespaceTrimmingWriter(writer);
+        trimmingWriter.write("  ");
+        trimmingWriter.keepWhitespace();
+        trimmingWriter.write("\n x");
+        Assertions.assertEquals("\n x", writer.toString());
+    }
+
+    @Test
+    public void flushAndCloseAreDelegated() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        LeadingWhitespaceTrimmingWriter trimmingWriter = new LeadingWhitespaceTrimmingWriter(writer);
+        trimmingWriter.write(" x");
+        trimmingWriter.flush();
+        Assertions.assertEquals(1, writer.flushes);
+        Assertions.assertFalse(writer.closed);
+        trimmingWriter.close();
+        Assertions.assertTrue(writer.closed);
+        Assertions.assertEquals("x", writer.toString());
+    }
+
+    private static class RecordingWriter extends StringWriter {
+        private int flushes = 0;
+        private boolean closed = false;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
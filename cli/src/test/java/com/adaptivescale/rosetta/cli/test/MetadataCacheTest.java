@@ -0,0 +1,117 @@
+package com.adaptivescale.rosetta.cli.test;
+
+import com.adaptivescale.rosetta.cli.helpers.MetadataCache;
+import com.adaptivescale.rosetta.common.models.Database;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class MetadataCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void entryIsFoundForSameConnectionAndSchemas() throws Exception {
+        MetadataCache cache = new MetadataCache(directory, Duration.ofHours(1));
+        cache.put(connection("pg"), List.of("a", "b"), database("postgres"));
+
+        Assertions.assertEquals("postgres", cache.get(connection("pg"), List.of("b", "a")).orElseThrow().getDatabaseType());
+        Assertions.assertTrue(cache.get(connection("pg"), List.of("a")).isEmpty());
+        Assertions.assertTrue(cache.get(connection("pg"), null).isEmpty());
+    }
+
+    @Test
+    public void passwordIsNotPartOfTheIdentity() throws Exception {
+        MetadataCache cache = new MetadataCache(directory, Duration.ofHours(1));
+        cache.put(connection("pg"), null, database("postgres"));
+
+        Connection otherPassword = connection("pg");
+        otherPassword.setPassword("changed");
+        Assertions.assertTrue(cache.get(otherPassword, null).isPresent());
+
+        Connection otherUrl = connection("pg");
+        otherUrl.setUrl("jdbc:postgresql://other:5432/postgres");
+        Assertions.assertTrue(cache.get(otherUrl, null).isEmpty());
+    }
+
+    @Test
+    public void nullSchemasAndTablesAreAccepted() throws Exception {
+        MetadataCache cache = new MetadataCache(directory, Duration.ofHours(1));
+        Connection connection = connection("mysql");
+        connection.setTables(Arrays.asList("orders", null));
+        cache.put(connection, Arrays.asList(null, "s"), database("mysql"));
+
+        Assertions.assertTrue(cache.get(connection, Arrays.asList("s", null)).isPresent());
+        Assertions.assertTrue(cache.get(connection, Arrays.asList((String) null)).isEmpty());
+    }
+
+    @Test
+    public void expiredEntryIsIgnored() throws Exception {
+        MetadataCache cache = new MetadataCache(directory, Duration.ofMinutes(1));
+        cache.put(connection("pg"), null, database("postgres"));
+        Assertions.assertTrue(cache.get(connection("pg"), null).isPresent());
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofMinutes(2))));
+            }
+        }
+        Assertions.assertTrue(cache.get(connection("pg"), null).isEmpty());
+    }
+
+    @Test
+    public void zeroTimeToLiveDisablesTheCache() throws Exception {
+        MetadataCache cache = new MetadataCache(directory, Duration.ZERO);
+        cache.put(connection("pg"), null, database("postgres"));
+
+        Assertions.assertTrue(cache.get(connection("pg"), null).isEmpty());
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void invalidateDropsOnlyEntriesOfTheConnection() throws Exception {
+        MetadataCache cache = new MetadataCache(directory, Duration.ofHours(1));
+        cache.put(connection("pg"), null, database("postgres"));
+        cache.put(connection("pg"), List.of("a"), database("postgres"));
+        cache.put(connection("other"), null, database("postgres"));
+
+        cache.invalidate(connection("pg"));
+
+        Assertions.assertTrue(cache.get(connection("pg"), null).isEmpty());
+        Assertions.assertTrue(cache.get(connection("pg"), List.of("a")).isEmpty());
+        Assertions.assertTrue(cache.get(connection("other"), null).isPresent());
+
+        cache.clear();
+        Assertions.assertTrue(cache.get(connection("other"), null).isEmpty());
+    }
+
+    private static Connection connection(String name) {
+        Connection connection = new Connection();
+        connection.setName(name);
+        connection.setDbType("postgres");
+        connection.setUrl("jdbc:postgresql://localhost:5432/postgres");
+        connection.setUserName("postgres");
+        connection.setPassword("secret");
+        connection.setDatabaseName("postgres");
+        return connection;
+    }
+
+    private static Database database(String databaseType) {
+        Database database = new Database();
+        database.setDatabaseType(databaseType);
+        return database;
+    }
+}
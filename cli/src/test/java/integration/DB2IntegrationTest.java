@@ -511,8 +511,9 @@ public class DB2IntegrationTest {
         });
 
         AssertionSqlGenerator assertionSqlGenerator = AssertionSqlGeneratorFactory.generatorFor(getRosettaConnection(db2Server));
-        DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(getRosettaConnection(db2Server), new DriverManagerDriverProvider());
-        new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(getRosettaConnection(db2Server), targetModel);
+        try (DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(getRosettaConnection(db2Server), new DriverManagerDriverProvider())) {
+            new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(getRosettaConnection(db2Server), targetModel);
+        }
 
     }
 }
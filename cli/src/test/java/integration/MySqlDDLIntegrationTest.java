@@ -14,6 +14,7 @@ import com.adaptivescale.rosetta.test.assertion.DefaultAssertTestEngine;
 import com.adaptivescale.rosetta.test.assertion.DefaultSqlExecution;
 import com.adaptivescale.rosetta.test.assertion.generator.AssertionSqlGeneratorFactory;
 import com.adataptivescale.rosetta.source.core.SourceGeneratorFactory;
+import com.adataptivescale.rosetta.source.core.interfaces.Generator;
 import integration.helpers.GenericJDBCContainer;
 import org.junit.Ignore;
 import org.junit.Rule;
@@ -27,10 +28,13 @@ import org.testcontainers.utility.DockerImageName;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertSame;
 
 
@@ -476,8 +480,36 @@ public class MySqlDDLIntegrationTest {
         });
 
         AssertionSqlGenerator assertionSqlGenerator = AssertionSqlGeneratorFactory.generatorFor(getRosettaConnection(mySQLContainer));
-        DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(getRosettaConnection(mySQLContainer), new DriverManagerDriverProvider());
-        new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(getRosettaConnection(mySQLContainer), targetModel);
+        try (DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(getRosettaConnection(mySQLContainer), new DriverManagerDriverProvider())) {
+            new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(getRosettaConnection(mySQLContainer), targetModel);
+        }
 
     }
+
+    @Test
+    @DisplayName("Change markers follow indices and foreign keys")
+    @Order(7)
+    void testChangeMarkers() throws Exception {
+        com.adaptivescale.rosetta.common.models.input.Connection connection = getRosettaConnection(mySQLContainer);
+        Generator<Database, com.adaptivescale.rosetta.common.models.input.Connection> generator =
+                SourceGeneratorFactory.sourceGenerator(connection);
+        Map<String, String> markers = generator.changeMarkers(connection).get(DATABASE);
+        assertEquals("Unchanged database keeps its markers", markers, generator.changeMarkers(connection).get(DATABASE));
+
+        try (Connection jdbcConnection = getConnection(mySQLContainer);
+             Statement statement = jdbcConnection.createStatement()) {
+            statement.execute("CREATE INDEX idx_actor_first_name ON actor (first_name)");
+        }
+        Map<String, String> indexedMarkers = generator.changeMarkers(connection).get(DATABASE);
+        assertNotEquals("Added index changes the marker", markers.get("actor"), indexedMarkers.get("actor"));
+        assertEquals("Other tables keep their markers", markers.get("film"), indexedMarkers.get("film"));
+
+        try (Connection jdbcConnection = getConnection(mySQLContainer);
+             Statement statement = jdbcConnection.createStatement()) {
+            statement.execute("ALTER TABLE film ADD CONSTRAINT fk_film_original_language " +
+                    "FOREIGN KEY (original_language_id) REFERENCES language (language_id)");
+        }
+        Map<String, String> constrainedMarkers = generator.changeMarkers(connection).get(DATABASE);
+        assertNotEquals("Added foreign key changes the marker", indexedMarkers.get("film"), constrainedMarkers.get("film"));
+    }
 }
@@ -407,8 +407,9 @@ public class OracleDDLIntegrationTest{
         });
 
         AssertionSqlGenerator assertionSqlGenerator = AssertionSqlGeneratorFactory.generatorFor(getRosettaConnection(oracleContainer));
-        DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(getRosettaConnection(oracleContainer), new DriverManagerDriverProvider());
-        new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(getRosettaConnection(oracleContainer), targetModel);
+        try (DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(getRosettaConnection(oracleContainer), new DriverManagerDriverProvider())) {
+            new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(getRosettaConnection(oracleContainer), targetModel);
+        }
 
     }
 }
@@ -3,6 +3,7 @@ package integration;
 import com.adaptivescale.rosetta.common.DriverManagerDriverProvider;
 import com.adaptivescale.rosetta.common.models.AssertTest;
 import com.adaptivescale.rosetta.common.models.Database;
+import com.adaptivescale.rosetta.common.models.input.Connection;
 import com.adaptivescale.rosetta.common.models.test.Tests;
 import com.adaptivescale.rosetta.ddl.DDLFactory;
 import com.adaptivescale.rosetta.ddl.change.PostgresChangeFinder;
@@ -12,13 +13,17 @@ import com.adaptivescale.rosetta.test.assertion.AssertionSqlGenerator;
 import com.adaptivescale.rosetta.test.assertion.DefaultAssertTestEngine;
 import com.adaptivescale.rosetta.test.assertion.DefaultSqlExecution;
 import com.adaptivescale.rosetta.test.assertion.generator.AssertionSqlGeneratorFactory;
+import com.adataptivescale.rosetta.source.core.SourceGeneratorFactory;
+import com.adataptivescale.rosetta.source.core.interfaces.Generator;
 import integration.helpers.GenericJDBCContainer;
 import org.junit.Rule;
 import org.junit.jupiter.api.*;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -292,8 +297,9 @@ public class PostgresDDLIntegrationTest {
         });
 
         AssertionSqlGenerator assertionSqlGenerator = AssertionSqlGeneratorFactory.generatorFor(container.getRosettaConnection());
-        DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(container.getRosettaConnection(), new DriverManagerDriverProvider());
-        new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(container.getRosettaConnection(), targetModel);
+        try (DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(container.getRosettaConnection(), new DriverManagerDriverProvider())) {
+            new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(container.getRosettaConnection(), targetModel);
+        }
     }
 
     @Test
@@ -439,4 +445,78 @@ public class PostgresDDLIntegrationTest {
             }
         });
     }
+
+    @Test
+    @DisplayName("Catalog fingerprint follows schema changes")
+    @Order(7)
+    void testFingerprint() throws Exception {
+        Connection connection = container.getRosettaConnection();
+        Generator<Database, Connection> generator = SourceGeneratorFactory.sourceGenerator(connection);
+        try (java.sql.Connection jdbcConnection = container.getContainer().createConnection("");
+             Statement statement = jdbcConnection.createStatement()) {
+            statement.execute("CREATE TABLE \"public\".catalog_fingerprinted (id int4 NOT NULL, actor_id int4 NULL, " +
+                    "name varchar(20) NULL)");
+            String fingerprint = generator.fingerprint(connection);
+            assertEquals("Unchanged database keeps its fingerprint", fingerprint, generator.fingerprint(connection));
+
+            statement.execute("ALTER TABLE \"public\".catalog_fingerprinted ADD COLUMN c_added int4 NULL");
+            String columnFingerprint = generator.fingerprint(connection);
+            assertNotEquals("Added column changes the fingerprint", fingerprint, columnFingerprint);
+
+            statement.execute("ALTER TABLE \"public\".catalog_fingerprinted ADD CONSTRAINT catalog_fingerprinted_pkey " +
+                    "PRIMARY KEY (id)");
+            String keyFingerprint = generator.fingerprint(connection);
+            assertNotEquals("Added primary key changes the fingerprint", columnFingerprint, keyFingerprint);
+
+            statement.execute("CREATE INDEX catalog_fingerprinted_name ON \"public\".catalog_fingerprinted (name)");
+            String indexFingerprint = generator.fingerprint(connection);
+            assertNotEquals("Added index changes the fingerprint", keyFingerprint, indexFingerprint);
+
+            statement.execute("ALTER TABLE \"public\".catalog_fingerprinted ADD CONSTRAINT catalog_fingerprinted_actor " +
+                    "FOREIGN KEY (actor_id) REFERENCES \"public\".actor (actor_id)");
+            String foreignKeyFingerprint = generator.fingerprint(connection);
+            assertNotEquals("Added foreign key changes the fingerprint", indexFingerprint, foreignKeyFingerprint);
+
+            statement.execute("CREATE VIEW \"public\".catalog_fingerprinted_names AS " +
+                    "SELECT name FROM \"public\".catalog_fingerprinted");
+            String viewFingerprint = generator.fingerprint(connection);
+            statement.execute("CREATE OR REPLACE VIEW \"public\".catalog_fingerprinted_names AS " +
+                    "SELECT name FROM \"public\".catalog_fingerprinted WHERE id > 0");
+            assertNotEquals("Changed view text changes the fingerprint", viewFingerprint, generator.fingerprint(connection));
+        }
+    }
+
+    @Test
+    @DisplayName("Table fingerprints find changed tables")
+    @Order(8)
+    void testChangedTables() throws Exception {
+        java.sql.Connection jdbcConnection = container.getContainer().createConnection("");
+        jdbcConnection.createStatement().execute("CREATE TABLE \"public\".fingerprinted (id int4 NOT NULL, " +
+                "name varchar(20) NULL, amount numeric(10, 2) NULL, CONSTRAINT fingerprinted_pkey PRIMARY KEY (id))");
+        Connection connection = container.getRosettaConnection();
+        Generator<Database, Connection> generator = SourceGeneratorFactory.sourceGenerator(connection);
+        Database model = generator.generate(connection);
+        assertFalse("Unchanged table matches the model",
+                generator.changedTables(connection, model, null).contains("fingerprinted"));
+
+        jdbcConnection.createStatement().execute("ALTER TABLE \"public\".fingerprinted ALTER COLUMN name TYPE varchar(40)");
+        assertTrue("Changed length changes the table fingerprint",
+                generator.changedTables(connection, model, null).contains("fingerprinted"));
+    }
+
+    @Test
+    @DisplayName("Change markers follow DDL of a table")
+    @Order(9)
+    void testChangeMarkers() throws Exception {
+        Connection connection = container.getRosettaConnection();
+        Generator<Database, Connection> generator = SourceGeneratorFactory.sourceGenerator(connection);
+        Map<String, String> markers = generator.changeMarkers(connection).get(SCHEMA);
+        assertEquals("Unchanged database keeps its markers", markers, generator.changeMarkers(connection).get(SCHEMA));
+
+        container.getContainer().createConnection("").createStatement()
+                .execute("ALTER TABLE \"public\".fingerprinted ALTER COLUMN amount SET NOT NULL");
+        Map<String, String> changedMarkers = generator.changeMarkers(connection).get(SCHEMA);
+        assertNotEquals("Altered table changes its marker", markers.get("fingerprinted"), changedMarkers.get("fingerprinted"));
+        assertEquals("Other tables keep their markers", markers.get("actor"), changedMarkers.get("actor"));
+    }
 }
@@ -0,0 +1,110 @@
+package integration;
+
+import com.adaptivescale.rosetta.common.DriverManagerDriverProvider;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.ddl.DDLFactory;
+import com.adaptivescale.rosetta.ddl.executor.DDLExecutor;
+import org.junit.jupiter.api.*;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Disabled
+public class SpannerDDLIntegrationTest {
+
+    private static String IMAGE = "gcr.io/cloud-spanner-emulator/emulator:latest";
+    private static String DB_TYPE = "spanner";
+    private static String JDBC_URL = "jdbc:cloudspanner://localhost:{PORT}/projects/test-project/instances/test-instance/databases/test-db?autoConfigEmulator=true";
+    private static int PORT = 9010;
+
+    private static String CREATE_DDL =
+            "CREATE TABLE Singers (\n" +
+            "  SingerId INT64 NOT NULL,\n" +
+            "  FirstName STRING(1024),\n" +
+            "  LastName STRING(1024)\n" +
+            ") PRIMARY KEY (SingerId);\n" +
+            "CREATE TABLE Albums (\n" +
+            "  SingerId INT64 NOT NULL,\n" +
+            "  AlbumId INT64 NOT NULL,\n" +
+            "  AlbumTitle STRING(MAX) DEFAULT ('Untitled; draft')\n" +
+            ") PRIMARY KEY (SingerId, AlbumId),\n" +
+            "  INTERLEAVE IN PARENT Singers ON DELETE CASCADE;\n" +
+            "CREATE INDEX AlbumsByTitle ON Albums(AlbumTitle);\n" +
+            "CREATE VIEW SingerNames SQL SECURITY INVOKER AS SELECT Singers.SingerId AS SingerId, " +
+            "Singers.FirstName || ';' || Singers.LastName AS Name FROM Singers;\n" +
+            "CREATE TABLE Songs (\n" +
+            "  SongId INT64 NOT NULL,\n" +
+            "  SongName STRING(MAX)\n" +
+            ") PRIMARY KEY (SongId);";
+
+    private static String FAILING_DDL =
+            "CREATE TABLE Concerts (ConcertId INT64 NOT NULL) PRIMARY KEY (ConcertId);\n" +
+            "ALTER TABLE Missing ADD COLUMN Name STRING(MAX);";
+
+    public static GenericContainer<?> container = new GenericContainer<>(DockerImageName.parse(IMAGE))
+            .withExposedPorts(PORT)
+            .waitingFor(Wait.forLogMessage(".*Cloud Spanner emulator running\\..*", 1));
+
+    @BeforeAll
+    public static void beforeAll() {
+        container.start();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        container.stop();
+    }
+
+    @Test
+    @DisplayName("Test Spanner apply in DDL batches")
+    @Order(0)
+    void testApplyInBatches() throws Exception {
+        DDLExecutor executor = DDLFactory.executor(connection(2), new DriverManagerDriverProvider());
+        executor.execute(CREATE_DDL);
+
+        assertEquals("Created tables", 3, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = ''"));
+        assertEquals("Created index", 1, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'AlbumsByTitle'"));
+        assertEquals("Created view", 1, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.VIEWS WHERE TABLE_NAME = 'SingerNames'"));
+    }
+
+    @Test
+    @DisplayName("Test Spanner reports failing statement of a DDL batch")
+    @Order(1)
+    void testFailingBatch() {
+        DDLExecutor executor = DDLFactory.executor(connection(0), new DriverManagerDriverProvider());
+        SQLException exception = assertThrows(SQLException.class, () -> executor.execute(FAILING_DDL));
+        assertTrue(exception.getMessage(), exception.getMessage().contains("ALTER TABLE Missing"));
+    }
+
+    private static Connection connection(int ddlBatchSize) {
+        Connection connection = new Connection();
+        connection.setName("test-source");
+        connection.setDatabaseName("test-db");
+        connection.setSchemaName("");
+        connection.setDbType(DB_TYPE);
+        connection.setUrl(jdbcUrl());
+        connection.setDdlBatchSize(ddlBatchSize);
+        return connection;
+    }
+
+    private static String jdbcUrl() {
+        return JDBC_URL.replace("{PORT}", container.getMappedPort(PORT).toString());
+    }
+
+    private static long count(String query) throws SQLException {
+        try (java.sql.Connection connection = DriverManager.getConnection(jdbcUrl());
+             ResultSet resultSet = connection.createStatement().executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
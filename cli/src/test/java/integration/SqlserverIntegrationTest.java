@@ -488,8 +488,9 @@ public class SqlserverIntegrationTest {
         });
 
         AssertionSqlGenerator assertionSqlGenerator = AssertionSqlGeneratorFactory.generatorFor(getRosettaConnection(mssqlserver));
-        DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(getRosettaConnection(mssqlserver), new DriverManagerDriverProvider());
-        new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(getRosettaConnection(mssqlserver), targetModel);
+        try (DefaultSqlExecution defaultSqlExecution = new DefaultSqlExecution(getRosettaConnection(mssqlserver), new DriverManagerDriverProvider())) {
+            new DefaultAssertTestEngine(assertionSqlGenerator, defaultSqlExecution).run(getRosettaConnection(mssqlserver), targetModel);
+        }
 
     }
 }
@@ -0,0 +1,112 @@
+package com.adaptivescale.rosetta.common;
+
+import com.adaptivescale.rosetta.common.models.input.Connection;
+
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fixed size pool of JDBC connections for one configured {@link Connection}. Connections are opened lazily up to
+ * the pool size, {@link #acquire()} blocks while all of them are in use. A permit is taken per connection in use and
+ * given back on release, so waiting threads wake up as soon as a connection is free and new connections are opened
+ * without holding a lock. Connections that may have been broken by a failure are
+ * {@link #discard(java.sql.Connection) discarded} instead of released, which frees their place for a new connection.
+ */
+public class JDBCConnectionPool implements AutoCloseable {
+
+    private final Connection connection;
+    private final JDBCDriverProvider driverProvider;
+    private final int size;
+    private final Semaphore permits;
+    private final Queue<java.sql.Connection> idle = new ConcurrentLinkedQueue<>();
+    private final List<java.sql.Connection> opened = new ArrayList<>();
+
+    public JDBCConnectionPool(Connection connection, JDBCDriverProvider driverProvider, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Connection pool size must be at least 1, got: " + size);
+        }
+        this.connection = connection;
+        this.driverProvider = driverProvider;
+        this.size = size;
+        this.permits = new Semaphore(size, true);
+    }
+
+    public java.sql.Connection acquire() throws SQLException, InterruptedException {
+        permits.acquire();
+        java.sql.Connection jdbcConnection = idle.poll();
+        if (jdbcConnection != null) {
+            return jdbcConnection;
+        }
+        // the permit reserves the place of the new connection, others acquire and release while it is opened
+        try {
+            jdbcConnection = open();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        synchronized (opened) {
+            opened.add(jdbcConnection);
+        }
+        return jdbcConnection;
+    }
+
+    public void release(java.sql.Connection jdbcConnection) {
+        idle.offer(jdbcConnection);
+        permits.release();
+    }
+
+    /**
+     * Closes a connection instead of releasing it, the next {@link #acquire()} opens a new one in its place.
+     */
+    public void discard(java.sql.Connection jdbcConnection) {
+        synchronized (opened) {
+            opened.remove(jdbcConnection);
+        }
+        try {
+            jdbcConnection.close();
+        } catch (SQLException e) {
+            // No op, the connection is not used again
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private java.sql.Connection open() throws SQLException {
+        Driver driver = driverProvider.getDriver(connection);
+        Properties properties = JDBCUtils.setJDBCAuth(connection);
+        return driver.connect(connection.getUrl(), properties);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        synchronized (opened) {
+            for (java.sql.Connection jdbcConnection : opened) {
+                try {
+                    jdbcConnection.close();
+                } catch (SQLException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            opened.clear();
+            idle.clear();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -5,9 +5,13 @@ import com.adaptivescale.rosetta.common.models.TranslationModel;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
-import java.sql.*;
 import java.util.*;
 
+/**
+ * Translation matrix loaded from the translation csv files into immutable in-memory indices. Lookups by
+ * (source type, source column type, target type) are answered with nested hash map lookups. The returned
+ * {@link TranslationModel} instances are shared and already carry their attributes, so callers must not modify them.
+ */
 @Slf4j
 public class TranslationMatrix {
 
@@ -16,176 +20,122 @@ public class TranslationMatrix {
     private static final String DEFAULT_TRANSLATION_MATRIX_FILE = "translation_matrix/translation.csv";
     private static final String DEFAULT_TRANSLATION_ATTRIBUTE_FILE = "translation_matrix/translation_attribute.csv";
     private static final String DELIMITER = ";;";
-    private static final String URL = "jdbc:h2:mem:translation;DB_CLOSE_DELAY=-1";
-    private static final String TRANSLATION_TABLE_NAME = "TRANSLATION";
-    private static final String TRANSLATION_ATTRIBUTE_TABLE_NAME = "TRANSLATION_ATTRIBUTE";
 
-    private static TranslationMatrix instance = null;
+    private final Map<Integer, TranslationModel> translationsById;
+    // source type -> target type -> source column type -> translation
+    private final Map<String, Map<String, Map<String, TranslationModel>>> translationsByTypes;
 
     public TranslationMatrix() {
         try {
-            initTables();
+            Map<Integer, List<TranslationAttributeModel>> attributes = readTranslationAttributes();
+            this.translationsById = readTranslations(attributes);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        this.translationsByTypes = indexByTypes(translationsById.values());
     }
 
-    public static synchronized TranslationMatrix getInstance() {
-        if(instance == null) {
-            instance = new TranslationMatrix();
-        }
-        return instance;
+    /**
+     * Lazily created on first use by the class loader, which makes the shared instance safe to read from any
+     * number of threads without locking.
+     */
+    public static TranslationMatrix getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
-    void initTables() throws IOException {
-        String translationTable = "CREATE TABLE "+ TRANSLATION_TABLE_NAME +"(id INT PRIMARY KEY AUTO_INCREMENT, " +
-                "source_type VARCHAR(255) not null, " +
-                "source_column_type VARCHAR(255) not null, " +
-                "target_type VARCHAR(255) not null, " +
-                "target_column_type VARCHAR(255) not null" +
-                ");";
-        String translationAttributesTable = "CREATE TABLE "+TRANSLATION_ATTRIBUTE_TABLE_NAME+"(id INT PRIMARY KEY AUTO_INCREMENT, " +
-                "translation_id INT not null REFERENCES "+ TRANSLATION_TABLE_NAME +"(id), " +
-                "attribute_name VARCHAR(255) not null, " +
-                "attribute_value VARCHAR(255) not null" +
-                ");";
-        execute(translationTable);
-        execute(translationAttributesTable);
-
-        String index = "CREATE INDEX source_translation_index " +
-                "ON "+ TRANSLATION_TABLE_NAME +" (source_type, source_column_type)";
-        String uniqueIndex = "CREATE UNIQUE INDEX unique_translation_index " +
-                "ON "+ TRANSLATION_TABLE_NAME +" (source_type, source_column_type, target_type)";
-        execute(index);
-        execute(uniqueIndex);
-        loadCSVData();
+    private static final class InstanceHolder {
+        private static final TranslationMatrix INSTANCE = new TranslationMatrix();
     }
 
-    void loadCSVData() throws IOException {
-        String line = "";
-
-        StringBuilder dataInsertQuery = new StringBuilder();
-        StringBuilder attributesInsertQuery = new StringBuilder();
+    public TranslationModel findById(Integer id) {
+        return translationsById.get(id);
+    }
 
-        Map<Integer, List<TranslationAttributeModel>> translationAttributesMappedByTranslationId = readTranslationAttributes(attributesInsertQuery);
-        BufferedReader br = readTranslationMatrixFile();
+    public String findBySourceTypeAndSourceColumnType(String sourceType, String sourceColumnType) {
+        TranslationModel translationModel = find(sourceType, sourceColumnType, sourceType);
+        return translationModel != null ? translationModel.getTargetColumnType() : sourceColumnType;
+    }
 
-        while ((line = br.readLine()) != null)
-        {
-            String[] translation = line.split(DELIMITER);
-            TranslationModel translationModel = new TranslationModel();
-            translationModel.setId(Integer.valueOf(translation[0]));
-            translationModel.setSourceType(translation[1]);
-            translationModel.setSourceColumnType(translation[2]);
-            translationModel.setTargetType(translation[3]);
-            translationModel.setTargetColumnType(translation[4]);
-            translationModel.setAttributes(translationAttributesMappedByTranslationId.get(translationModel.getId()));
+    public TranslationModel findBySourceTypeAndSourceColumnTypeAndTargetType(String sourceType, String sourceColumnType, String targetType) {
+        return find(sourceType, sourceColumnType.toLowerCase(), targetType);
+    }
 
-            String insertStatement = translationModel.generateInsertStatement(TRANSLATION_TABLE_NAME);
-            dataInsertQuery.append(insertStatement);
-        }
-        execute(dataInsertQuery.toString());
-        execute(attributesInsertQuery.toString());
+    public List<TranslationAttributeModel> findByTranslationAttributesByTranslationIds(Integer translationId) {
+        TranslationModel translationModel = translationsById.get(translationId);
+        return translationModel != null ? translationModel.getAttributes() : Collections.emptyList();
     }
 
-    void execute(String sql) {
-        try {
-            Connection connection = DriverManager.getConnection(URL);
-            Statement statement = connection.createStatement();
-            statement.execute(sql);
-            connection.close();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+    private TranslationModel find(String sourceType, String sourceColumnType, String targetType) {
+        Map<String, Map<String, TranslationModel>> byTargetType = translationsByTypes.get(sourceType);
+        if (byTargetType == null) {
+            return null;
+        }
+        Map<String, TranslationModel> bySourceColumnType = byTargetType.get(targetType);
+        if (bySourceColumnType == null) {
+            return null;
         }
+        return bySourceColumnType.get(sourceColumnType);
     }
 
-    TranslationModel getSingleRecord(String query) {
-        try {
-            Connection connection = DriverManager.getConnection(URL);
-            Statement statement = connection.createStatement();
-            ResultSet resultSet = statement.executeQuery(query);
-
-            if (resultSet.next()) {
+    private Map<Integer, TranslationModel> readTranslations(Map<Integer, List<TranslationAttributeModel>> attributes) throws IOException {
+        Map<Integer, TranslationModel> result = new HashMap<>();
+        try (BufferedReader br = readTranslationMatrixFile()) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] translation = line.split(DELIMITER);
                 TranslationModel translationModel = new TranslationModel();
-                translationModel.setId(resultSet.getInt(1));
-                translationModel.setSourceType(resultSet.getString(2));
-                translationModel.setSourceColumnType(resultSet.getString(3));
-                translationModel.setTargetType(resultSet.getString(4));
-                translationModel.setTargetColumnType(resultSet.getString(5));
-                return translationModel;
+                translationModel.setId(Integer.valueOf(translation[0]));
+                translationModel.setSourceType(translation[1]);
+                translationModel.setSourceColumnType(translation[2]);
+                translationModel.setTargetType(translation[3]);
+                translationModel.setTargetColumnType(translation[4]);
+                translationModel.setAttributes(Collections.unmodifiableList(
+                        attributes.getOrDefault(translationModel.getId(), Collections.emptyList())));
+                result.put(translationModel.getId(), translationModel);
             }
-            connection.close();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
         }
-        return null;
+        return Collections.unmodifiableMap(result);
     }
 
-    private List<TranslationAttributeModel> getTranslationAttributeRecords(String query) {
-        try {
-            Connection connection = DriverManager.getConnection(URL);
-            Statement statement = connection.createStatement();
-            ResultSet resultSet = statement.executeQuery(query);
-            List<TranslationAttributeModel> result = new ArrayList<>();
-
-            while (resultSet.next()) {
-                TranslationAttributeModel translationAttributeModel = new TranslationAttributeModel();
-                translationAttributeModel.setId(resultSet.getInt("id"));
-                translationAttributeModel.setTranslationId(resultSet.getInt("translation_id"));
-                translationAttributeModel.setAttributeName(resultSet.getString("attribute_name"));
-                translationAttributeModel.setAttributeValue(resultSet.getString("attribute_value"));
-
-                result.add(translationAttributeModel);
+    private static Map<String, Map<String, Map<String, TranslationModel>>> indexByTypes(Collection<TranslationModel> translations) {
+        Map<String, Map<String, Map<String, TranslationModel>>> result = new HashMap<>();
+        for (TranslationModel translation : translations) {
+            TranslationModel existing = result
+                    .computeIfAbsent(translation.getSourceType(), k -> new HashMap<>())
+                    .computeIfAbsent(translation.getTargetType(), k -> new HashMap<>())
+                    .putIfAbsent(translation.getSourceColumnType(), translation);
+            if (existing != null) {
+                throw new RuntimeException(String.format("Duplicate translation for source type: %s, source column type: %s " +
+                        "and target type: %s (ids %s and %s).", translation.getSourceType(), translation.getSourceColumnType(),
+                        translation.getTargetType(), existing.getId(), translation.getId()));
             }
-            connection.close();
-            return result;
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
         }
-    }
 
-    public TranslationModel findById(Integer id) {
-        String query = String.format("SELECT TOP 1 * from %s where id=%s", TRANSLATION_TABLE_NAME, id);
-        return getSingleRecord(query);
+        Map<String, Map<String, Map<String, TranslationModel>>> immutable = new HashMap<>();
+        result.forEach((sourceType, byTargetType) -> {
+            Map<String, Map<String, TranslationModel>> targets = new HashMap<>();
+            byTargetType.forEach((targetType, bySourceColumnType) ->
+                    targets.put(targetType, Collections.unmodifiableMap(bySourceColumnType)));
+            immutable.put(sourceType, Collections.unmodifiableMap(targets));
+        });
+        return Collections.unmodifiableMap(immutable);
     }
 
-    public String findBySourceTypeAndSourceColumnType(String sourceType, String sourceColumnType) {
-        String query = String.format("SELECT * from %s where source_type='%s' and source_column_type='%s' and target_type='%s'", TRANSLATION_TABLE_NAME, sourceType, sourceColumnType, sourceType);
-        TranslationModel translationModel = getSingleRecord(query);
-        return translationModel != null ? translationModel.getTargetColumnType() : sourceColumnType;
-    }
-
-    public TranslationModel findBySourceTypeAndSourceColumnTypeAndTargetType(String sourceType, String sourceColumnType, String targetType) {
-        String query = String.format("SELECT * from %s where source_type='%s' and source_column_type='%s' and target_type='%s'",
-                TRANSLATION_TABLE_NAME, sourceType, sourceColumnType.toLowerCase(), targetType);
-        return getSingleRecord(query);
-    }
-
-    public List<TranslationAttributeModel> findByTranslationAttributesByTranslationIds(Integer translationId) {
-        String query = String.format("SELECT * from %s where translation_id=%s",
-                TRANSLATION_ATTRIBUTE_TABLE_NAME, translationId);
-        return getTranslationAttributeRecords(query);
-    }
-
-    private Map<Integer, List<TranslationAttributeModel>> readTranslationAttributes(StringBuilder attributesInsertQuery) throws IOException {
+    private Map<Integer, List<TranslationAttributeModel>> readTranslationAttributes() throws IOException {
         Map<Integer, List<TranslationAttributeModel>> translationAttributesMappedByTranslationId = new HashMap<>();
-        BufferedReader br = readTranslationAttributesFile();
-        String line = "";
-        while ((line = br.readLine()) != null)
-        {
-            String[] translation = line.split(DELIMITER);
-            TranslationAttributeModel translationAttributeModel = new TranslationAttributeModel();
-            translationAttributeModel.setId(Integer.valueOf(translation[0]));
-            translationAttributeModel.setTranslationId(Integer.valueOf(translation[1]));
-            translationAttributeModel.setAttributeName(translation[2]);
-            translationAttributeModel.setAttributeValue(translation[3]);
-            if (translationAttributesMappedByTranslationId.containsKey(translationAttributeModel.getTranslationId())) {
-                translationAttributesMappedByTranslationId.get(translationAttributeModel.getTranslationId()).add(translationAttributeModel);
-            } else {
-                translationAttributesMappedByTranslationId.put(translationAttributeModel.getTranslationId(), new ArrayList<>(Arrays.asList(translationAttributeModel)));
+        try (BufferedReader br = readTranslationAttributesFile()) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] translation = line.split(DELIMITER);
+                TranslationAttributeModel translationAttributeModel = new TranslationAttributeModel();
+                translationAttributeModel.setId(Integer.valueOf(translation[0]));
+                translationAttributeModel.setTranslationId(Integer.valueOf(translation[1]));
+                translationAttributeModel.setAttributeName(translation[2]);
+                translationAttributeModel.setAttributeValue(translation[3]);
+                translationAttributesMappedByTranslationId
+                        .computeIfAbsent(translationAttributeModel.getTranslationId(), k -> new ArrayList<>())
+                        .add(translationAttributeModel);
             }
-            String insertStatement = translationAttributeModel.generateInsertStatement(TRANSLATION_ATTRIBUTE_TABLE_NAME);
-            attributesInsertQuery.append(insertStatement);
         }
         return translationAttributesMappedByTranslationId;
     }
@@ -0,0 +1,97 @@
+package com.adaptivescale.rosetta.common.annotations;
+
+import com.adaptivescale.rosetta.common.helpers.ModuleIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes the {@link RosettaModule} classes of a compilation to {@code META-INF/rosetta/<root package>.modules}, where
+ * the root package is the common package of all compiled classes. {@link ModuleIndex} reads these files instead of
+ * scanning the classpath.
+ */
+@SupportedAnnotationTypes("com.adaptivescale.rosetta.common.annotations.RosettaModule")
+public class RosettaModuleProcessor extends AbstractProcessor {
+
+    private final Map<String, String> entries = new TreeMap<>();
+    private String rootPackage;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            rootPackage = commonPackage(rootPackage, packageOf(element));
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(RosettaModule.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            RosettaModule module = element.getAnnotation(RosettaModule.class);
+            String className = processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+            entries.put(className, ModuleIndex.entry(module.type(), module.name(), className));
+        }
+
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    ModuleIndex.resourceName(rootPackage));
+            try (Writer writer = resource.openWriter()) {
+                for (String entry : entries.values()) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write rosetta module index: " + e.getMessage());
+        }
+    }
+
+    private String packageOf(Element element) {
+        while (element != null && !(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return element == null ? "" : ((PackageElement) element).getQualifiedName().toString();
+    }
+
+    private static String commonPackage(String current, String packageName) {
+        if (current == null) {
+            return packageName;
+        }
+        String[] left = current.split("\\.");
+        String[] right = packageName.split("\\.");
+        StringBuilder common = new StringBuilder();
+        for (int i = 0; i < Math.min(left.length, right.length) && left[i].equals(right[i]); i++) {
+            if (i > 0) {
+                common.append('.');
+            }
+            common.append(left[i]);
+        }
+        return common.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.adaptivescale.rosetta.common.helpers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Message digests of the algorithms every Java platform provides, and their lower case hex form.
+ */
+public class Digests {
+
+    public static MessageDigest sha256() {
+        return messageDigest("SHA-256");
+    }
+
+    public static MessageDigest md5() {
+        return messageDigest("MD5");
+    }
+
+    /**
+     * SHA-256 of the content of a file in hex, read as a stream.
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return hex(digest.digest());
+    }
+
+    public static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest messageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.adaptivescale.rosetta.common.helpers;
+
+import com.adaptivescale.rosetta.common.annotations.RosettaModule;
+import com.adaptivescale.rosetta.common.annotations.RosettaModuleProcessor;
+import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@link RosettaModule} classes listed at build time by {@link RosettaModuleProcessor}. Index files are read once
+ * and kept as immutable lists, module classes are only loaded when they are looked up.
+ */
+public class ModuleIndex {
+
+    private static final String RESOURCE_DIRECTORY = "META-INF/rosetta/";
+    private static final String RESOURCE_SUFFIX = ".modules";
+    private static final String SEPARATOR = "\t";
+
+    private static final Map<String, Optional<ModuleIndex>> INDICES = new ConcurrentHashMap<>();
+
+    private final List<Entry> entries;
+
+    private ModuleIndex(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    /**
+     * Index covering {@code packageName}, looked up for the package itself and then each of its parent packages.
+     * Empty when the classes were not compiled with {@link RosettaModuleProcessor}.
+     */
+    public static Optional<ModuleIndex> forPackage(String packageName) {
+        return INDICES.computeIfAbsent(packageName, ModuleIndex::load);
+    }
+
+    public List<Class<?>> find(String packageName, RosettaModuleTypes type) {
+        return entries.stream()
+                .filter(entry -> entry.type == type && entry.isIn(packageName))
+                .map(ModuleIndex::loadClass)
+                .collect(Collectors.toList());
+    }
+
+    public List<Class<?>> find(String packageName, RosettaModuleTypes type, String name) {
+        return entries.stream()
+                .filter(entry -> entry.type == type && entry.name.equals(name) && entry.isIn(packageName))
+                .map(ModuleIndex::loadClass)
+                .collect(Collectors.toList());
+    }
+
+    public static String resourceName(String rootPackage) {
+        return RESOURCE_DIRECTORY + rootPackage + RESOURCE_SUFFIX;
+    }
+
+    public static String entry(RosettaModuleTypes type, String name, String className) {
+        return String.join(SEPARATOR, type.name(), name, className);
+    }
+
+    private static Optional<ModuleIndex> load(String packageName) {
+        for (String candidate = packageName; ; candidate = candidate.substring(0, candidate.lastIndexOf('.'))) {
+            List<Entry> entries = read(resourceName(candidate));
+            if (!entries.isEmpty()) {
+                return Optional.of(new ModuleIndex(entries));
+            }
+            if (candidate.lastIndexOf('.') < 0) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static List<Entry> read(String resourceName) {
+        Set<Entry> entries = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> resources = classLoader().getResources(resourceName);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            entries.add(Entry.parse(line, resource));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Unable to read module index '%s'", resourceName), e);
+        }
+        return new ArrayList<>(entries);
+    }
+
+    private static Class<?> loadClass(Entry entry) {
+        try {
+            return Class.forName(entry.className, true, classLoader());
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(String.format("Module '%s' of type %s is indexed as '%s' but the class is missing",
+                    entry.name, entry.type, entry.className), e);
+        }
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : ModuleIndex.class.getClassLoader();
+    }
+
+    private static class Entry {
+        private final RosettaModuleTypes type;
+        private final String name;
+        private final String className;
+
+        private Entry(RosettaModuleTypes type, String name, String className) {
+            this.type = type;
+            this.name = name;
+            this.className = className;
+        }
+
+        private static Entry parse(String line, URL resource) {
+            String[] parts = line.split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new RuntimeException(String.format("Invalid module index line '%s' in %s", line, resource));
+            }
+            return new Entry(RosettaModuleTypes.valueOf(parts[0]), parts[1], parts[2]);
+        }
+
+        private boolean isIn(String packageName) {
+            return className.startsWith(packageName + ".");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Entry entry = (Entry) o;
+            return type == entry.type && name.equals(entry.name) && className.equals(entry.className);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, name, className);
+        }
+    }
+}
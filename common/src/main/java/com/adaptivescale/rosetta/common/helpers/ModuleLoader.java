@@ -25,6 +25,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Finds {@link RosettaModule} classes through the build time {@link ModuleIndex}, classes compiled without the
+ * annotation processor are found by scanning the classpath.
+ */
 public class ModuleLoader {
 
     public static Optional<Class<?>> loadModuleByAnnotationClassValues(
@@ -32,6 +36,11 @@ public class ModuleLoader {
             RosettaModuleTypes annotationType,
             String annotationName
     ) {
+        Optional<ModuleIndex> index = ModuleIndex.forPackage(packageName);
+        if (index.isPresent()) {
+            return index.get().find(packageName, annotationType, annotationName).stream().reduce((a, b) -> null);
+        }
+
         Reflections reflections = new Reflections(packageName);
         Set<Class<?>> typesAnnotatedWith = reflections.getTypesAnnotatedWith(RosettaModule.class, true);
         Optional<Class<?>> classFound = typesAnnotatedWith.stream().filter(cls -> {
@@ -45,6 +54,11 @@ public class ModuleLoader {
             String packageName,
             RosettaModuleTypes annotationType
     ) {
+        Optional<ModuleIndex> index = ModuleIndex.forPackage(packageName);
+        if (index.isPresent()) {
+            return index.get().find(packageName, annotationType);
+        }
+
         Reflections reflections = new Reflections(packageName);
         Set<Class<?>> typesAnnotatedWith = reflections.getTypesAnnotatedWith(RosettaModule.class, true);
         List<Class<?>> classList = typesAnnotatedWith.stream().filter(cls -> {
@@ -8,6 +8,15 @@ public class AssertTest implements Test {
     private Object value;
     private String expected;
 
+    public AssertTest() {
+    }
+
+    public AssertTest(AssertTest assertTest) {
+        this.operator = assertTest.operator;
+        this.value = assertTest.value;
+        this.expected = assertTest.expected;
+    }
+
     public String getOperator() {
         return operator;
     }
@@ -28,6 +28,40 @@ public class Column {
     public Column() {
     }
 
+    /**
+     * Copy constructor, creates a deep copy of the given column including its properties, tests and foreign keys.
+     */
+    public Column(Column column) {
+        this.name = column.name;
+        this.label = column.label;
+        this.description = column.description;
+        this.typeName = column.typeName;
+        this.fallbackType = column.fallbackType;
+        this.ordinalPosition = column.ordinalPosition;
+        this.isAutoincrement = column.isAutoincrement;
+        this.isNullable = column.isNullable;
+        this.isPrimaryKey = column.isPrimaryKey;
+        this.primaryKeySequenceId = column.primaryKeySequenceId;
+        this.columnDisplaySize = column.columnDisplaySize;
+        this.scale = column.scale;
+        this.precision = column.precision;
+        if (column.columnProperties == null) {
+            this.columnProperties = null;
+        } else {
+            this.columnProperties = new ArrayList<>(column.columnProperties.size());
+            for (ColumnProperties columnProperty : column.columnProperties) {
+                this.columnProperties.add(columnProperty == null ? null : new ColumnProperties(columnProperty));
+            }
+        }
+        this.tests = column.tests == null ? null : new Tests(column.tests);
+        if (column.foreignKeys != null) {
+            this.foreignKeys = new ArrayList<>(column.foreignKeys.size());
+            for (ForeignKey foreignKey : column.foreignKeys) {
+                this.foreignKeys.add(foreignKey == null ? null : new ForeignKey(foreignKey));
+            }
+        }
+    }
+
     public String getName() {
         return name;
     }
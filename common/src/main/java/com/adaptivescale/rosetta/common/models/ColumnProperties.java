@@ -16,6 +16,10 @@ public class ColumnProperties {
         this.sequenceId = sequenceId;
     }
 
+    public ColumnProperties(ColumnProperties columnProperties) {
+        this(columnProperties.name, columnProperties.sequenceId);
+    }
+
     public String getName() {
         return name;
     }
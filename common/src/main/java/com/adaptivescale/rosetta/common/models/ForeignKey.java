@@ -13,6 +13,20 @@ public class ForeignKey {
     private String primaryTableName;
     private String primaryColumnName;
 
+    public ForeignKey() {
+    }
+
+    public ForeignKey(ForeignKey foreignKey) {
+        this.name = foreignKey.name;
+        this.schema = foreignKey.schema;
+        this.tableName = foreignKey.tableName;
+        this.columnName = foreignKey.columnName;
+        this.deleteRule = foreignKey.deleteRule;
+        this.primaryTableSchema = foreignKey.primaryTableSchema;
+        this.primaryTableName = foreignKey.primaryTableName;
+        this.primaryColumnName = foreignKey.primaryColumnName;
+    }
+
     public String getSchema() {
         return schema;
     }
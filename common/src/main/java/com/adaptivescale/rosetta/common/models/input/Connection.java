@@ -16,10 +16,49 @@ public class Connection {
     private String userName;
     private String password;
     private Collection<String> tables = new ArrayList<>();
+    private boolean bulkExtraction = false;
+    private int parallelism = 1;
+    private int parallelismPerTable = 1;
+    private int ddlBatchSize = 0;
 
     public Connection() {
     }
 
+    /**
+     * Copy of this connection that only reads the given schema.
+     */
+    public Connection withSchemaName(String schemaName) {
+        Connection connection = copy();
+        connection.schemaName = schemaName;
+        return connection;
+    }
+
+    /**
+     * Copy of this connection that only reads the tables and views with the given names.
+     */
+    public Connection withTables(Collection<String> tables) {
+        Connection connection = copy();
+        connection.tables = new ArrayList<>(tables);
+        return connection;
+    }
+
+    private Connection copy() {
+        Connection connection = new Connection();
+        connection.name = name;
+        connection.databaseName = databaseName;
+        connection.schemaName = schemaName;
+        connection.dbType = dbType;
+        connection.url = url;
+        connection.userName = userName;
+        connection.password = password;
+        connection.tables = tables;
+        connection.bulkExtraction = bulkExtraction;
+        connection.parallelism = parallelism;
+        connection.parallelismPerTable = parallelismPerTable;
+        connection.ddlBatchSize = ddlBatchSize;
+        return connection;
+    }
+
     public String getDatabaseName() {
         return databaseName;
     }
@@ -84,6 +123,38 @@ public class Connection {
         this.tables = tables;
     }
 
+    public boolean isBulkExtraction() {
+        return bulkExtraction;
+    }
+
+    public void setBulkExtraction(boolean bulkExtraction) {
+        this.bulkExtraction = bulkExtraction;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelismPerTable() {
+        return parallelismPerTable;
+    }
+
+    public void setParallelismPerTable(int parallelismPerTable) {
+        this.parallelismPerTable = parallelismPerTable;
+    }
+
+    public int getDdlBatchSize() {
+        return ddlBatchSize;
+    }
+
+    public void setDdlBatchSize(int ddlBatchSize) {
+        this.ddlBatchSize = ddlBatchSize;
+    }
+
     public Map<String, String> toMap() {
         ObjectMapper objectMapper = new ObjectMapper();
         return objectMapper.convertValue(this, Map.class);
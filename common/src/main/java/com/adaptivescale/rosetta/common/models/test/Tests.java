@@ -1,11 +1,25 @@
 package com.adaptivescale.rosetta.common.models.test;
 
 import com.adaptivescale.rosetta.common.models.AssertTest;
+
+import java.util.ArrayList;
 import java.util.Collection;
 
 public class Tests {
     private Collection<AssertTest> assertion;
 
+    public Tests() {
+    }
+
+    public Tests(Tests tests) {
+        if (tests.assertion != null) {
+            this.assertion = new ArrayList<>(tests.assertion.size());
+            for (AssertTest assertTest : tests.assertion) {
+                this.assertion.add(assertTest == null ? null : new AssertTest(assertTest));
+            }
+        }
+    }
+
     public Collection<AssertTest> getAssertion() {
         return assertion;
     }
@@ -24,5 +24,7 @@ public enum RosettaModuleTypes {
     COLUMN_EXTRACTOR,
     TABLE_EXTRACTOR,
     VIEW_EXTRACTOR,
+    TABLE_FINGERPRINT_EXTRACTOR,
+    CHANGE_MARKER_EXTRACTOR,
     DIFF_TESTER,
 }
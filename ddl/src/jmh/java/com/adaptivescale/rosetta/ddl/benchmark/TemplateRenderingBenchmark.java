@@ -0,0 +1,83 @@
+package com.adaptivescale.rosetta.ddl.benchmark;
+
+import com.adaptivescale.rosetta.ddl.utils.TemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the table, column and foreign key fragments of one dialect through Thymeleaf, as every generator did
+ * before, and through the compiled emitters of {@link TemplateEngine}.
+ * Run with: ./gradlew :ddl:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemplateRenderingBenchmark {
+
+    private static final List<String> FRAGMENTS = List.of(
+            "table/create", "table/drop", "column/add", "column/drop", "foreignkey/create", "foreignkey/drop");
+
+    @Param({"bigquerry", "db2", "kinetica", "oracle", "postgres", "redshift", "snowflake", "sqlserver"})
+    private String dialect;
+
+    private org.thymeleaf.TemplateEngine thymeleaf;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setTemplateMode(TemplateMode.TEXT);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setPrefix("/templates/");
+        resolver.setSuffix(".sqlt");
+        thymeleaf = new org.thymeleaf.TemplateEngine();
+        thymeleaf.setTemplateResolver(resolver);
+
+        variables = new HashMap<>();
+        variables.put("schemaName", "public");
+        variables.put("tableName", "orders");
+        variables.put("tableCode", "\"id\" INTEGER NOT NULL , \"customer_id\" INTEGER, PRIMARY KEY (\"id\")");
+        variables.put("tableType", "TABLE");
+        variables.put("columnName", "customer_id");
+        variables.put("columnDefinition", "\"customer_id\" INTEGER");
+        variables.put("foreignkeyName", "fk_orders_customer");
+        variables.put("foreignkeyColumn", "customer_id");
+        variables.put("primaryTableName", "customer");
+        variables.put("foreignKeyPrimaryColumnName", "id");
+        variables.put("deleteRule", "ON DELETE NO ACTION");
+    }
+
+    @Benchmark
+    public String thymeleaf() {
+        StringBuilder out = new StringBuilder();
+        for (String fragment : FRAGMENTS) {
+            Context context = new Context();
+            context.setVariables(variables);
+            out.append(thymeleaf.process(dialect + "/" + fragment, context));
+        }
+        return out.toString();
+    }
+
+    @Benchmark
+    public String emitter() {
+        StringBuilder out = new StringBuilder();
+        for (String fragment : FRAGMENTS) {
+            TemplateEngine.process(dialect + "/" + fragment, variables, out);
+        }
+        return out.toString();
+    }
+}
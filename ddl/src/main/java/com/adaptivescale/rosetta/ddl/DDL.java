@@ -4,15 +4,45 @@ import com.adaptivescale.rosetta.common.models.*;
 import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
 import com.adaptivescale.rosetta.ddl.change.model.ForeignKeyChange;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
 
 public interface DDL {
 
+    /**
+     * Generate statements that avoid holding exclusive locks on tables while they are changed, for applying changes
+     * to databases in use.
+     */
+    default void setOnline(boolean online) {
+        if (online) {
+            throw new RuntimeException("Online DDL not supported by " + getClass().getSimpleName());
+        }
+    }
+
     String createColumn(Column column);
     String createTable(Table table, boolean dropTableIfExists);
 
     String createTableSchema(Table table);
 
-    String createDatabase(Database database, boolean dropTableIfExists);
+    default String createDatabase(Database database, boolean dropTableIfExists) {
+        StringWriter writer = new StringWriter();
+        try {
+            createDatabase(database, dropTableIfExists, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the DDL of the whole database to {@code writer} table by table, so large models are never held in
+     * memory as one string.
+     */
+    void createDatabase(Database database, boolean dropTableIfExists, Writer writer) throws IOException;
 
     String createForeignKey(ForeignKey foreignKey);
 
@@ -22,6 +52,14 @@ public interface DDL {
 
     String addColumn(ColumnChange change);
 
+    /**
+     * One statement applying several column changes of {@code table}, or null when the dialect can't combine them
+     * and each change is applied with its own statement.
+     */
+    default String alterColumns(Table table, List<ColumnChange> changes) {
+        return null;
+    }
+
     String dropTable(Table actual);
 
     String alterForeignKey(ForeignKeyChange change);
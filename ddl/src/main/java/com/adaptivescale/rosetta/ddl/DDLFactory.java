@@ -50,7 +50,12 @@ public class DDLFactory {
     }
 
     public static ChangeHandler changeHandler(String databaseType) {
+        return changeHandler(databaseType, false);
+    }
+
+    public static ChangeHandler changeHandler(String databaseType, boolean online) {
         DDL ddl = ddlForDatabaseType(databaseType);
+        ddl.setOnline(online);
         Comparator<Change<?>> changeComparator = changesSortComparatorForDatabase(databaseType);
         return new ChangeHandlerImplementation(ddl, changeComparator);
     }
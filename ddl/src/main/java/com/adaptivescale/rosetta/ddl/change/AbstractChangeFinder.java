@@ -0,0 +1,425 @@
+package com.adaptivescale.rosetta.ddl.change;
+
+import com.adaptivescale.rosetta.common.models.*;
+import com.adaptivescale.rosetta.ddl.change.model.Change;
+import com.adaptivescale.rosetta.ddl.change.model.ChangeFactory;
+import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Change detection engine shared by all change finders. The actual model is indexed once by table key, column name,
+ * foreign key name and referenced column, then the expected model is walked in a single pass. Dialects only override
+ * the comparison hooks below; the defaults describe a relational database that tracks foreign key dependencies.
+ */
+@Slf4j
+public abstract class AbstractChangeFinder implements ChangeFinder {
+
+    @Override
+    public List<Change<?>> findChanges(Database expected, Database actual) {
+        List<Change<?>> changes = new ArrayList<>();
+        if (!Objects.equals(expected.getDatabaseType(), actual.getDatabaseType())) {
+            throw new RuntimeException("Can not find changes for different database types");
+        }
+
+        if (actual.getTables() == null || actual.getTables().size() == 0) {
+            Change<Database> databaseChange = ChangeFactory.databaseChange(expected, null, Change.Status.ADD);
+            changes.add(databaseChange);
+            return changes;
+        }
+
+        ModelIndex<Table> actualTables = new ModelIndex<>(actual.getTables(), this::tableKey);
+        ReferenceIndex references = new ReferenceIndex(actual.getTables());
+        Set<String> actualSchemas = actual.getTables().stream()
+                .map(Table::getSchema)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        for (Table expectedTable : expected.getTables()) {
+            List<Table> foundedTables = actualTables.find(tableKey(expectedTable));
+
+            if (foundedTables.size() == 0) {
+                if (createsSchemas() && !actualSchemas.contains(expectedTable.getSchema())) {
+                    Change<Table> tableSchemaChange = ChangeFactory.tableSchemaChange(expectedTable, null, Change.Status.ADD);
+                    changes.add(tableSchemaChange);
+                }
+                Change<Table> tableChange = ChangeFactory.tableChange(expectedTable, null, Change.Status.ADD);
+                changes.add(tableChange);
+
+                if (tracksForeignKeyDependencies()) {
+                    List<ForeignKey> foreignKeys = findAllForeignKeys(Collections.singletonList(expectedTable));
+                    changes.addAll(findChangesForForeignKeys(foreignKeys, null));
+                }
+            } else if (foundedTables.size() == 1) {
+                Table table = foundedTables.get(0);
+                actualTables.markMatched(table);
+                //change in table
+                changes.addAll(findChangesInColumnsForTable(expectedTable, table, references));
+                changes.addAll(findChangesInTable(expectedTable, table));
+            } else {
+                throw new RuntimeException(String.format("Found %d table with name '%s' and schema '%s'",
+                        foundedTables.size(), expectedTable.getName(), expectedTable.getSchema()));
+            }
+        }
+
+        //mark all for deletion
+        for (Table actualTable : actualTables.unmatched()) {
+            if (tracksForeignKeyDependencies()) {
+                //check if table columns are reference by any foreign keys
+                for (Column column : actualTable.getColumns()) {
+                    changes.addAll(references.dropReferencing(actualTable, column));
+                }
+            }
+
+            Change<Table> tableChange = ChangeFactory.tableChange(null, actualTable, Change.Status.DROP);
+            changes.add(tableChange);
+        }
+
+        if (findsViewChanges()) {
+            viewChanges(expected, actual, changes);
+        }
+
+        List<Change<?>> result = filtersDuplicates() ? filterDuplicates(changes) : changes;
+        log.info("Found {} changes", result.size());
+        return result;
+    }
+
+    /**
+     * Key used to pair an expected table or view with the actual one.
+     */
+    protected List<String> tableKey(Table table) {
+        return Arrays.asList(table.getSchema(), table.getName());
+    }
+
+    /**
+     * Whether a paired column is unchanged. Primary key membership is compared on the table level unless
+     * {@link #tracksForeignKeyDependencies()} is turned off.
+     */
+    protected boolean sameColumn(Column expected, Column actual) {
+        return Objects.equals(expected.isNullable(), actual.isNullable())
+                && Objects.equals(expected.isAutoincrement(), actual.isAutoincrement())
+                && Objects.equals(expected.getTypeName(), actual.getTypeName())
+                && Objects.equals(expected.getPrecision(), actual.getPrecision())
+                && Objects.equals(expected.getScale(), actual.getScale())
+                && Objects.equals(expected.getOrdinalPosition(), actual.getOrdinalPosition())
+                && Objects.equals(expected.getColumnDisplaySize(), actual.getColumnDisplaySize())
+                && Objects.equals(expected.getPrimaryKeySequenceId(), actual.getPrimaryKeySequenceId());
+    }
+
+    /**
+     * Changes emitted for a foreign key that exists on both sides but differs.
+     */
+    protected List<Change<?>> foreignKeyChanges(ForeignKey expected, ForeignKey actual) {
+        return Arrays.asList(
+                ChangeFactory.foreignKeyChange(expected, actual, Change.Status.DROP),
+                ChangeFactory.foreignKeyChange(expected, actual, Change.Status.ADD));
+    }
+
+    /**
+     * Additional changes for a paired table, after its column changes.
+     */
+    protected List<Change<?>> findChangesInTable(Table expected, Table actual) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * When on, new tables create their foreign keys, dropped tables and columns drop the foreign keys that reference
+     * them and primary key changes alter the table.
+     */
+    protected boolean tracksForeignKeyDependencies() {
+        return true;
+    }
+
+    protected boolean createsSchemas() {
+        return true;
+    }
+
+    protected boolean findsViewChanges() {
+        return false;
+    }
+
+    protected boolean filtersDuplicates() {
+        return true;
+    }
+
+    private void viewChanges(Database expected, Database actual, List<Change<?>> changes) {
+        // Backwards compatibility
+        if (actual.getViews() == null) {
+            return;
+        }
+        // View changes
+        ModelIndex<View> actualViews = new ModelIndex<>(actual.getViews(), this::tableKey);
+        ReferenceIndex references = new ReferenceIndex(actual.getViews());
+
+        for (View expectedView : expected.getViews()) {
+            List<View> foundViews = actualViews.find(tableKey(expectedView));
+
+            if (foundViews.size() == 0) {
+                Change<View> viewChange = ChangeFactory.viewChange(expectedView, null, Change.Status.ADD);
+                changes.add(viewChange);
+            } else if (foundViews.size() == 1) {
+                View view = foundViews.get(0);
+                actualViews.markMatched(view);
+                //change in view - TODO -currently using table function as they identical - split in future
+                List<Change<?>> changesFromView = findChangesInColumnsForTable(expectedView, view, references);
+                if (!changesFromView.isEmpty()) {
+                    Change<View> viewChange = ChangeFactory.viewChange(expectedView, null, Change.Status.ALTER);
+                    changes.add(viewChange);
+                }
+            } else {
+                throw new RuntimeException(String.format("Found %d view with name '%s' and schema '%s'",
+                        foundViews.size(), expectedView.getName(), expectedView.getSchema()));
+            }
+        }
+
+        //mark all for deletion
+        for (View actualView : actualViews.unmatched()) {
+            Change<View> viewChange = ChangeFactory.viewChange(null, actualView, Change.Status.DROP);
+            changes.add(viewChange);
+        }
+    }
+
+    private List<Change<?>> findChangesInColumnsForTable(Table expected, Table actual, ReferenceIndex references) {
+
+        List<Change<?>> changes = new ArrayList<>();
+        ModelIndex<Column> actualColumns = new ModelIndex<>(actual.getColumns(), Column::getName);
+
+        for (Column expectedColumn : expected.getColumns()) {
+            List<Column> foundColumns = actualColumns.find(expectedColumn.getName());
+
+            if (foundColumns.isEmpty()) {
+                Change<Column> columnChange = ChangeFactory.columnChange(expectedColumn, null, Change.Status.ADD, expected);
+                changes.add(columnChange);
+
+                //check if the column has fk
+                List<ForeignKey> foreignKeys = expectedColumn.getForeignKeys();
+                if (foreignKeys != null) {
+                    foreignKeys.stream().map(fk -> ChangeFactory.foreignKeyChange(fk, null, Change.Status.ADD)).forEach(changes::add);
+                }
+
+                if (expectedColumn.isPrimaryKey()) {
+                    //mark a change in the table to create PK for table
+                    Change<Table> tableChange = ChangeFactory.tableChange(expected, actual, Change.Status.ALTER);
+                    changes.add(tableChange);
+                }
+
+            } else if (foundColumns.size() == 1) {
+                Column actualColumn = foundColumns.get(0);
+
+                if (!sameColumn(expectedColumn, actualColumn)) {
+                    Change<Column> columnChange = ChangeFactory.columnChange(expectedColumn, actualColumn, Change.Status.ALTER, expected);
+                    changes.add(columnChange);
+                }
+
+                // changes for primary keep handle in table bcs there can be multiple column involved
+                if (tracksForeignKeyDependencies() && !Objects.equals(expectedColumn.isPrimaryKey(), actualColumn.isPrimaryKey())) {
+
+                    if (actualColumn.isPrimaryKey()) {
+                        changes.addAll(references.dropReferencing(actual, actualColumn));
+                    }
+
+                    Change<Table> tableChange = ChangeFactory.tableChange(expected, actual, Change.Status.ALTER);
+                    changes.add(tableChange);
+                }
+
+                changes.addAll(findChangesForForeignKeys(expectedColumn.getForeignKeys(), actualColumn.getForeignKeys()));
+
+                actualColumns.markMatched(actualColumn);
+
+            } else {
+                throw new RuntimeException(String.format("Found %d column with name '%s' in table '%s'.'%s'",
+                        foundColumns.size(), actual.getName(), actual.getName(), actual.getSchema()));
+            }
+        }
+
+        for (Column actualColumn : actualColumns.unmatched()) {
+
+            if (tracksForeignKeyDependencies()) {
+                if (actualColumn.getForeignKeys() != null) {
+                    actualColumn.getForeignKeys().stream()
+                            .map(foreignKey -> ChangeFactory.foreignKeyChange(null, foreignKey, Change.Status.DROP))
+                            .forEach(changes::add);
+                }
+
+                changes.addAll(references.dropReferencing(actual, actualColumn));
+            }
+
+            Change<Column> columnChange = ChangeFactory.columnChange(null, actualColumn, Change.Status.DROP, expected);
+            changes.add(columnChange);
+        }
+
+        return changes;
+    }
+
+    private List<Change<?>> findChangesForForeignKeys(List<ForeignKey> expectedForeignKeyList, List<ForeignKey> actualForeignKeyList) {
+
+        List<Change<?>> changes = new ArrayList<>();
+        if (expectedForeignKeyList == null && actualForeignKeyList == null) {
+            return changes;
+        }
+
+        if (actualForeignKeyList == null) {
+            for (ForeignKey foreignKey : expectedForeignKeyList) {
+                Change<ForeignKey> foreignKeyChange = ChangeFactory.foreignKeyChange(foreignKey, null, Change.Status.ADD);
+                changes.add(foreignKeyChange);
+            }
+            return changes;
+        }
+
+        if (expectedForeignKeyList == null) {
+            for (ForeignKey foreignKey : actualForeignKeyList) {
+                Change<ForeignKey> foreignKeyChange = ChangeFactory.foreignKeyChange(null, foreignKey, Change.Status.DROP);
+                changes.add(foreignKeyChange);
+            }
+            return changes;
+        }
+
+        ModelIndex<ForeignKey> actualForeignKeys = new ModelIndex<>(actualForeignKeyList, ForeignKey::getName);
+
+        for (ForeignKey foreignKey : expectedForeignKeyList) {
+            List<ForeignKey> foundForeignKeys = actualForeignKeys.find(foreignKey.getName());
+
+            if (foundForeignKeys.isEmpty()) {
+                Change<ForeignKey> foreignKeyChange = ChangeFactory.foreignKeyChange(foreignKey, null, Change.Status.ADD);
+                changes.add(foreignKeyChange);
+            } else if (foundForeignKeys.size() == 1) {
+                ForeignKey actualForeignKey = foundForeignKeys.get(0);
+
+                boolean same = Objects.equals(foreignKey.getName(), actualForeignKey.getName())
+                        && Objects.equals(foreignKey.getSchema(), actualForeignKey.getSchema())
+                        && Objects.equals(foreignKey.getTableName(), actualForeignKey.getTableName())
+                        && Objects.equals(foreignKey.getColumnName(), actualForeignKey.getColumnName())
+                        && Objects.equals(foreignKey.getDeleteRule(), actualForeignKey.getDeleteRule())
+                        && Objects.equals(foreignKey.getPrimaryTableSchema(), actualForeignKey.getPrimaryTableSchema())
+                        && Objects.equals(foreignKey.getPrimaryTableName(), actualForeignKey.getPrimaryTableName())
+                        && Objects.equals(foreignKey.getPrimaryColumnName(), actualForeignKey.getPrimaryColumnName());
+
+                if (!same) {
+                    changes.addAll(foreignKeyChanges(foreignKey, actualForeignKey));
+                }
+                actualForeignKeys.markMatched(actualForeignKey);
+            } else {
+                throw new RuntimeException(String.format("Found %d foreign keys with name '%s' in column '%s' table '%s.%s'",
+                        foundForeignKeys.size(), foreignKey.getName(), foreignKey.getColumnName(), foreignKey.getTableName(), foreignKey.getSchema()));
+            }
+        }
+
+        for (ForeignKey actualForeignKey : actualForeignKeys.unmatched()) {
+            Change<ForeignKey> foreignKeyChange = ChangeFactory.foreignKeyChange(null, actualForeignKey, Change.Status.DROP);
+            changes.add(foreignKeyChange);
+        }
+
+        return changes;
+    }
+
+    private List<Change<?>> filterDuplicates(List<Change<?>> changes) {
+        Set<String> foreignKeysFound = new HashSet<>();
+
+        return changes.stream().filter(change -> {
+
+            String id = null;
+            Object object = change.getActual() != null ? change.getActual() : change.getExpected();
+            if (object instanceof ForeignKey) {
+                id = "FOREIGN_KEY->" + change.getStatus() + "->" + ((ForeignKey) object).getSchema() + "->" +
+                        ((ForeignKey) object).getTableName() + "->" + ((ForeignKey) object).getColumnName() + "->" +
+                        ((ForeignKey) object).getName();
+            }
+
+            if (object instanceof Column) {
+                Table table = ((ColumnChange) change).getTable();
+                id = "COLUMN->" + change.getStatus() + "->" + table.getSchema() + "->" + table.getName() + "->" + ((Column) object).getName();
+            }
+
+            if (object instanceof Table) {
+                id = "TABLE->" + change.getStatus() + "->" + change.getType() + "->" + ((Table) object).getSchema() + "->" + ((Table) object).getName();
+            }
+
+            if (object instanceof Index) {
+                id = "INDEX->" + change.getStatus() + "->" + ((Index) object).getSchema() + "->" + ((Index) object).getTableName() + "->" + ((Index) object).getName();
+            }
+
+            if (object instanceof Database) {
+                id = "DATABASE->" + change.getStatus() + "->" + ((Database) object).getDatabaseType();
+            }
+
+            boolean contains = foreignKeysFound.contains(id);
+            if (contains) {
+                return false;
+            }
+
+            foreignKeysFound.add(id);
+            return true;
+        }).collect(Collectors.toList());
+    }
+
+    private static List<ForeignKey> findAllForeignKeys(Collection<? extends Table> tables) {
+        List<ForeignKey> foreignKeys = new ArrayList<>();
+        for (Table table : tables) {
+            for (Column column : table.getColumns()) {
+                if (column.getForeignKeys() != null) {
+                    foreignKeys.addAll(column.getForeignKeys());
+                }
+            }
+        }
+        return foreignKeys;
+    }
+
+    /**
+     * Actual model elements grouped by key in model order. Matched elements are skipped by later lookups and by
+     * {@link #unmatched()}, which is what removing them from a copied list used to do.
+     */
+    protected static class ModelIndex<T> {
+        private final List<T> elements;
+        private final Map<Object, List<T>> byKey = new HashMap<>();
+        private final Set<T> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        public ModelIndex(Collection<? extends T> elements, Function<? super T, ?> keyFunction) {
+            this.elements = new ArrayList<>(elements);
+            for (T element : this.elements) {
+                byKey.computeIfAbsent(keyFunction.apply(element), key -> new ArrayList<>(1)).add(element);
+            }
+        }
+
+        public List<T> find(Object key) {
+            List<T> found = byKey.get(key);
+            if (found == null) {
+                return Collections.emptyList();
+            }
+            return found.stream().filter(element -> !matched.contains(element)).collect(Collectors.toList());
+        }
+
+        public void markMatched(T element) {
+            matched.add(element);
+        }
+
+        public List<T> unmatched() {
+            return elements.stream().filter(element -> !matched.contains(element)).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Foreign keys of the actual model grouped by the schema, table and column they reference.
+     */
+    private static class ReferenceIndex {
+        private final Map<List<String>, List<ForeignKey>> byReferencedColumn = new HashMap<>();
+
+        ReferenceIndex(Collection<? extends Table> tables) {
+            for (ForeignKey foreignKey : findAllForeignKeys(tables)) {
+                List<String> key = Arrays.asList(foreignKey.getPrimaryTableSchema(), foreignKey.getPrimaryTableName(),
+                        foreignKey.getPrimaryColumnName());
+                byReferencedColumn.computeIfAbsent(key, k -> new ArrayList<>()).add(foreignKey);
+            }
+        }
+
+        List<Change<ForeignKey>> dropReferencing(Table table, Column column) {
+            List<ForeignKey> foreignKeys = byReferencedColumn.getOrDefault(
+                    Arrays.asList(table.getSchema(), table.getName(), column.getName()), Collections.emptyList());
+            return foreignKeys.stream()
+                    .map(foreignKey -> ChangeFactory.foreignKeyChange(null, foreignKey, Change.Status.DROP))
+                    .collect(Collectors.toList());
+        }
+    }
+}
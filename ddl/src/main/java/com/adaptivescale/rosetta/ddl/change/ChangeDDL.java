@@ -0,0 +1,28 @@
+package com.adaptivescale.rosetta.ddl.change;
+
+import com.adaptivescale.rosetta.ddl.change.model.Change;
+
+import java.util.List;
+
+/**
+ * DDL generated for one change, or for several changes applied by a single statement, such as the column changes of
+ * a table combined into one {@code ALTER TABLE}.
+ */
+public class ChangeDDL {
+
+    private final List<Change<?>> changes;
+    private final String ddl;
+
+    public ChangeDDL(List<Change<?>> changes, String ddl) {
+        this.changes = changes;
+        this.ddl = ddl;
+    }
+
+    public List<Change<?>> getChanges() {
+        return changes;
+    }
+
+    public String getDdl() {
+        return ddl;
+    }
+}
@@ -0,0 +1,239 @@
+package com.adaptivescale.rosetta.ddl.change;
+
+import com.adaptivescale.rosetta.common.models.*;
+import com.adaptivescale.rosetta.ddl.change.model.*;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Dependencies between the DDL of sorted changes. Every change writes the objects it creates, alters or drops and
+ * reads the objects it refers to: the schema of a table, the parent of an interleaved table, the table referenced by
+ * a foreign key and the tables a view selects from. A change depends on the earlier changes that write what it reads
+ * or writes, and on the earlier changes that read what it writes, so changes touching the same objects keep the order
+ * of the change comparator while all others are independent. Database changes depend on, and are depended on by,
+ * every other change.
+ */
+public class ChangeGraph {
+
+    private final List<ChangeDDL> changeDDLs;
+    private final List<Set<Integer>> dependencies;
+
+    private ChangeGraph(List<ChangeDDL> changeDDLs, List<Set<Integer>> dependencies) {
+        this.changeDDLs = changeDDLs;
+        this.dependencies = dependencies;
+    }
+
+    public static ChangeGraph of(List<ChangeDDL> changeDDLs) {
+        List<Access> accesses = new ArrayList<>();
+        for (ChangeDDL changeDDL : changeDDLs) {
+            Access access = new Access();
+            changeDDL.getChanges().forEach(access::add);
+            accesses.add(access);
+        }
+        Set<String> tableNames = new HashSet<>();
+        accesses.forEach(access -> tableNames.addAll(access.writtenTableNames));
+        accesses.forEach(access -> access.addViewSources(tableNames));
+
+        List<Set<Integer>> dependencies = new ArrayList<>();
+        Map<String, Integer> lastWriter = new HashMap<>();
+        Map<String, List<Integer>> readersSinceWrite = new HashMap<>();
+        Integer lastBarrier = null;
+        for (int node = 0; node < accesses.size(); node++) {
+            Access access = accesses.get(node);
+            Set<Integer> nodeDependencies = new TreeSet<>();
+            if (access.barrier) {
+                for (int earlier = lastBarrier == null ? 0 : lastBarrier; earlier < node; earlier++) {
+                    nodeDependencies.add(earlier);
+                }
+                lastWriter.clear();
+                readersSinceWrite.clear();
+                lastBarrier = node;
+                dependencies.add(nodeDependencies);
+                continue;
+            }
+            if (lastBarrier != null) {
+                nodeDependencies.add(lastBarrier);
+            }
+            for (String resource : access.reads) {
+                Optional.ofNullable(lastWriter.get(resource)).ifPresent(nodeDependencies::add);
+                readersSinceWrite.computeIfAbsent(resource, key -> new ArrayList<>()).add(node);
+            }
+            for (String resource : access.writes) {
+                Optional.ofNullable(lastWriter.get(resource)).ifPresent(nodeDependencies::add);
+                nodeDependencies.addAll(readersSinceWrite.getOrDefault(resource, Collections.emptyList()));
+                readersSinceWrite.remove(resource);
+                lastWriter.put(resource, node);
+            }
+            nodeDependencies.remove(node);
+            dependencies.add(nodeDependencies);
+        }
+        return new ChangeGraph(changeDDLs, dependencies);
+    }
+
+    /**
+     * Graph with dependencies computed before, such as the ones stored in a plan. Every change may only depend on
+     * changes before it.
+     */
+    public static ChangeGraph of(List<ChangeDDL> changeDDLs, List<Set<Integer>> dependencies) {
+        if (changeDDLs.size() != dependencies.size()) {
+            throw new IllegalArgumentException(String.format("Got dependencies for %d of %d changes.",
+                    dependencies.size(), changeDDLs.size()));
+        }
+        List<Set<Integer>> copy = new ArrayList<>();
+        for (int node = 0; node < dependencies.size(); node++) {
+            for (int dependency : dependencies.get(node)) {
+                if (dependency < 0 || dependency >= node) {
+                    throw new IllegalArgumentException(String.format("Change %d can not depend on change %d.",
+                            node, dependency));
+                }
+            }
+            copy.add(new TreeSet<>(dependencies.get(node)));
+        }
+        return new ChangeGraph(changeDDLs, copy);
+    }
+
+    public int size() {
+        return changeDDLs.size();
+    }
+
+    public ChangeDDL get(int node) {
+        return changeDDLs.get(node);
+    }
+
+    /**
+     * Nodes that have to be applied before {@code node}, all of them earlier in the sorted order.
+     */
+    public Set<Integer> dependencies(int node) {
+        return Collections.unmodifiableSet(dependencies.get(node));
+    }
+
+    private static class Access {
+        private final Set<String> reads = new LinkedHashSet<>();
+        private final Set<String> writes = new LinkedHashSet<>();
+        private final Set<String> writtenTableNames = new HashSet<>();
+        private final List<View> views = new ArrayList<>();
+        private boolean barrier = false;
+
+        private void add(Change<?> change) {
+            switch (change.getType()) {
+                case DATABASE:
+                    barrier = true;
+                    break;
+                case TABLE_SCHEMA:
+                    for (Table table : tables(change)) {
+                        writes.add(schema(table.getSchema()));
+                    }
+                    break;
+                case TABLE:
+                    for (Table table : tables(change)) {
+                        writeTable(table.getSchema(), table.getName());
+                        reads.add(schema(table.getSchema()));
+                        if (table.getInterleave() != null && table.getInterleave().getParentName() != null) {
+                            reads.add(table(table.getSchema(), table.getInterleave().getParentName()));
+                        }
+                        if (table.getColumns() != null) {
+                            table.getColumns().forEach(this::readReferencedTables);
+                        }
+                    }
+                    break;
+                case COLUMN:
+                    Table table = ((ColumnChange) change).getTable();
+                    writeTable(table.getSchema(), table.getName());
+                    reads.add(schema(table.getSchema()));
+                    for (Object column : both(change)) {
+                        readReferencedTables((Column) column);
+                    }
+                    break;
+                case FOREIGN_KEY:
+                    for (Object value : both(change)) {
+                        ForeignKey foreignKey = (ForeignKey) value;
+                        writeTable(foreignKey.getSchema(), foreignKey.getTableName());
+                        reads.add(table(foreignKey.getPrimaryTableSchema(), foreignKey.getPrimaryTableName()));
+                    }
+                    break;
+                case INDEX:
+                    for (Object value : both(change)) {
+                        Index index = (Index) value;
+                        writeTable(index.getSchema(), index.getTableName());
+                    }
+                    break;
+                case VIEW:
+                    for (Object value : both(change)) {
+                        View view = (View) value;
+                        writeTable(view.getSchema(), view.getName());
+                        reads.add(schema(view.getSchema()));
+                        views.add(view);
+                    }
+                    break;
+            }
+        }
+
+        /**
+         * Views read the tables and views whose names appear in their code, the model has no parsed dependencies.
+         */
+        private void addViewSources(Set<String> tableNames) {
+            for (View view : views) {
+                if (view.getCode() == null) {
+                    continue;
+                }
+                for (String tableName : tableNames) {
+                    Pattern name = Pattern.compile("(?<![\\w$])" + Pattern.quote(tableName) + "(?![\\w$])",
+                            Pattern.CASE_INSENSITIVE);
+                    if (!tableName.equalsIgnoreCase(view.getName()) && name.matcher(view.getCode()).find()) {
+                        reads.add(tableName(tableName));
+                    }
+                }
+            }
+        }
+
+        private void readReferencedTables(Column column) {
+            if (column == null || column.getForeignKeys() == null) {
+                return;
+            }
+            for (ForeignKey foreignKey : column.getForeignKeys()) {
+                reads.add(table(foreignKey.getPrimaryTableSchema(), foreignKey.getPrimaryTableName()));
+            }
+        }
+
+        private void writeTable(String schema, String name) {
+            writes.add(table(schema, name));
+            if (name != null) {
+                // lets views find what they read without knowing the schema
+                writes.add(tableName(name));
+                writtenTableNames.add(name);
+            }
+        }
+
+        private static List<Table> tables(Change<?> change) {
+            List<Table> tables = new ArrayList<>();
+            for (Object table : both(change)) {
+                tables.add((Table) table);
+            }
+            return tables;
+        }
+
+        private static List<Object> both(Change<?> change) {
+            List<Object> values = new ArrayList<>();
+            if (change.getExpected() != null) {
+                values.add(change.getExpected());
+            }
+            if (change.getActual() != null) {
+                values.add(change.getActual());
+            }
+            return values;
+        }
+
+        private static String schema(String schema) {
+            return "schema:" + schema;
+        }
+
+        private static String table(String schema, String name) {
+            return "table:" + schema + "." + name;
+        }
+
+        private static String tableName(String name) {
+            return "name:" + name.toLowerCase();
+        }
+    }
+}
@@ -8,6 +8,12 @@ public interface ChangeHandler {
 
     String createDDLForChanges(List<Change<?>> changes);
 
+    /**
+     * Same DDL as {@link #createDDLForChanges(List)}, kept apart per change so that changes can be applied
+     * independently of each other.
+     */
+    List<ChangeDDL> createChangeDDLs(List<Change<?>> changes);
+
     String onDatabaseChange(DatabaseChange databaseChange);
 
     String onTableChange(TableChange change);
@@ -1,12 +1,12 @@
 package com.adaptivescale.rosetta.ddl.change;
 
+import com.adaptivescale.rosetta.common.models.Table;
 import com.adaptivescale.rosetta.ddl.DDL;
 import com.adaptivescale.rosetta.ddl.change.model.*;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class ChangeHandlerImplementation implements ChangeHandler {
@@ -21,36 +21,54 @@ public class ChangeHandlerImplementation implements ChangeHandler {
 
     @Override
     public String createDDLForChanges(List<Change<?>> changes) {
+        return createChangeDDLs(changes).stream().map(ChangeDDL::getDdl).collect(Collectors.joining("\r"));
+    }
+
+    @Override
+    public List<ChangeDDL> createChangeDDLs(List<Change<?>> changes) {
         if(changeComparator != null){
             changes.sort(changeComparator);
         }
 
-        List<String> ddlStatements = new ArrayList<>();
+        Map<List<String>, List<ColumnChange>> columnChangesByTable = columnChangesByTable(changes);
+
+        List<ChangeDDL> changeDDLs = new ArrayList<>();
         for (Change<?> change : changes) {
             switch (change.getType()) {
                 case DATABASE:
-                    ddlStatements.add(onDatabaseChange((DatabaseChange) change));
+                    changeDDLs.add(changeDDL(change, onDatabaseChange((DatabaseChange) change)));
                     break;
                 case TABLE_SCHEMA:
-                    ddlStatements.add(onTableSchemaChange((TableSchemaChange) change));
+                    changeDDLs.add(changeDDL(change, onTableSchemaChange((TableSchemaChange) change)));
                     break;
                 case TABLE:
-                    ddlStatements.add(onTableChange((TableChange) change));
+                    changeDDLs.add(changeDDL(change, onTableChange((TableChange) change)));
                     break;
                 case COLUMN:
-                    ddlStatements.add(onColumnChange((ColumnChange) change));
+                    // all column changes of a table are applied where the first of them was sorted
+                    List<ColumnChange> tableColumnChanges =
+                            columnChangesByTable.remove(tableKey(((ColumnChange) change).getTable()));
+                    if (tableColumnChanges != null) {
+                        changeDDLs.add(new ChangeDDL(new ArrayList<>(tableColumnChanges),
+                                onColumnChanges(tableColumnChanges)));
+                    }
                     break;
                 case FOREIGN_KEY:
-                    ddlStatements.add(onForeignKeyChange((ForeignKeyChange) change));
+                    changeDDLs.add(changeDDL(change, onForeignKeyChange((ForeignKeyChange) change)));
                     break;
                 case INDEX:
-                    ddlStatements.add(onIndexChange((IndexChange) change));
+                    changeDDLs.add(changeDDL(change, onIndexChange((IndexChange) change)));
+                    break;
                 case VIEW:
-                    ddlStatements.add(onViewChange((ViewChange) change));
+                    changeDDLs.add(changeDDL(change, onViewChange((ViewChange) change)));
             }
         }
 
-        return String.join("\r", ddlStatements);
+        return changeDDLs;
+    }
+
+    private static ChangeDDL changeDDL(Change<?> change, String ddl) {
+        return new ChangeDDL(Collections.singletonList(change), ddl);
     }
 
     @Override
@@ -103,6 +121,20 @@ public class ChangeHandlerImplementation implements ChangeHandler {
         }
     }
 
+    /**
+     * Changes to columns of the same table as one statement when the dialect supports it, so the table is altered
+     * (and possibly rewritten) once instead of once per column.
+     */
+    public String onColumnChanges(List<ColumnChange> changes) {
+        if (changes.size() > 1) {
+            String ddlStatement = ddl.alterColumns(changes.get(0).getTable(), changes);
+            if (ddlStatement != null) {
+                return ddlStatement;
+            }
+        }
+        return changes.stream().map(this::onColumnChange).collect(Collectors.joining("\r"));
+    }
+
     @Override
     public String onForeignKeyChange(ForeignKeyChange change) {
         switch (change.getStatus()) {
@@ -142,4 +174,20 @@ public class ChangeHandlerImplementation implements ChangeHandler {
                 throw new RuntimeException("Operation " + change.getStatus() + " for view not supported");
         }
     }
+
+    private static Map<List<String>, List<ColumnChange>> columnChangesByTable(List<Change<?>> changes) {
+        Map<List<String>, List<ColumnChange>> columnChangesByTable = new HashMap<>();
+        for (Change<?> change : changes) {
+            if (change.getType() == Change.Type.COLUMN) {
+                ColumnChange columnChange = (ColumnChange) change;
+                columnChangesByTable.computeIfAbsent(tableKey(columnChange.getTable()), key -> new ArrayList<>())
+                        .add(columnChange);
+            }
+        }
+        return columnChangesByTable;
+    }
+
+    private static List<String> tableKey(Table table) {
+        return Arrays.asList(table.getSchema(), table.getName());
+    }
 }
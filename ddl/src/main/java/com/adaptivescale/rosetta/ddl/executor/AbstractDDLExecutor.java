@@ -0,0 +1,238 @@
+package com.adaptivescale.rosetta.ddl.executor;
+
+import com.adaptivescale.rosetta.common.JDBCDriverProvider;
+import com.adaptivescale.rosetta.common.JDBCUtils;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.ddl.utils.SqlStatementSplitter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.BatchUpdateException;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Splits the DDL script into statements and sends them over a single {@link Statement}: as JDBC batches of
+ * {@link Connection#getDdlBatchSize()} statements when the driver supports batch updates, otherwise one statement at a
+ * time. Batches are timed as a whole, statements sent one at a time are timed individually. A failure is reported
+ * with the position and text of the failing statement.
+ */
+@Slf4j
+public abstract class AbstractDDLExecutor implements DDLExecutor {
+
+    protected final Connection connection;
+    protected final JDBCDriverProvider driverProvider;
+
+    protected AbstractDDLExecutor(Connection connection, JDBCDriverProvider driverProvider) {
+        this.connection = connection;
+        this.driverProvider = driverProvider;
+    }
+
+    /**
+     * Whether the statements are applied in a single transaction, rolled back when one of them fails. Only useful
+     * for databases where DDL is transactional.
+     */
+    protected boolean isTransactional() {
+        return false;
+    }
+
+    /**
+     * Whether a statement of a transactional apply has to run outside of the transaction, like Postgres
+     * {@code CREATE INDEX CONCURRENTLY}. Such statements are run one at a time after the transaction commits, in the
+     * order they appear in the script.
+     */
+    protected boolean runsOutsideTransaction(String statement) {
+        return false;
+    }
+
+    protected SqlStatementSplitter splitter() {
+        return new SqlStatementSplitter();
+    }
+
+    @Override
+    public void execute(String query) throws SQLException {
+        List<String> statements = splitter().split(query);
+        if (statements.isEmpty()) {
+            return;
+        }
+
+        Driver driver = driverProvider.getDriver(connection);
+        Properties properties = JDBCUtils.setJDBCAuth(connection);
+        try (java.sql.Connection jdbcConnection = driver.connect(connection.getUrl(), properties)) {
+            execute(jdbcConnection, statements);
+        }
+    }
+
+    @Override
+    public void execute(java.sql.Connection jdbcConnection, String query) throws SQLException {
+        List<String> statements = splitter().split(query);
+        if (!statements.isEmpty()) {
+            execute(jdbcConnection, statements);
+        }
+    }
+
+    private void execute(java.sql.Connection jdbcConnection, List<String> statements) throws SQLException {
+        try (Statement statement = jdbcConnection.createStatement()) {
+            if (!isTransactional()) {
+                execute(jdbcConnection, statement, statements);
+                return;
+            }
+
+            List<String> inTransaction = new ArrayList<>();
+            List<String> outsideTransaction = new ArrayList<>();
+            for (String ddlStatement : statements) {
+                (runsOutsideTransaction(ddlStatement) ? outsideTransaction : inTransaction).add(ddlStatement);
+            }
+
+            if (!inTransaction.isEmpty()) {
+                jdbcConnection.setAutoCommit(false);
+                Exception failure = null;
+                try {
+                    execute(jdbcConnection, statement, inTransaction);
+                    jdbcConnection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    failure = e;
+                    rollback(jdbcConnection, e);
+                    throw e;
+                } finally {
+                    // pooled connections are used again after a failed apply
+                    restoreAutoCommit(jdbcConnection, failure);
+                }
+            }
+            if (!outsideTransaction.isEmpty()) {
+                log.info("Executing {} DDL statements outside of the transaction.", outsideTransaction.size());
+                executeEach(statement, outsideTransaction);
+            }
+        }
+    }
+
+    protected void execute(java.sql.Connection jdbcConnection, Statement statement, List<String> statements)
+            throws SQLException {
+        if (!supportsBatchUpdates(jdbcConnection)) {
+            executeEach(statement, statements);
+            return;
+        }
+        int batchSize = batchSize(statements.size());
+        for (int from = 0; from < statements.size(); from += batchSize) {
+            executeBatch(statement, statements, from, Math.min(from + batchSize, statements.size()));
+        }
+    }
+
+    /**
+     * Statements per batch, from {@link Connection#getDdlBatchSize()}; all of them when it is not set.
+     */
+    protected int batchSize(int statementCount) {
+        int batchSize = connection.getDdlBatchSize();
+        return batchSize > 0 ? batchSize : statementCount;
+    }
+
+    /**
+     * Sends {@code statements[from, to)} as one batch.
+     */
+    protected void executeBatch(Statement statement, List<String> statements, int from, int to) throws SQLException {
+        for (int i = from; i < to; i++) {
+            statement.addBatch(statements.get(i));
+        }
+        long start = System.nanoTime();
+        try {
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw batchFailed(statements, from, to, e);
+        } finally {
+            statement.clearBatch();
+        }
+        log.info("Executed DDL statements {} to {} of {} in one batch in {} ms.",
+                from + 1, to, statements.size(), elapsedMillis(start));
+    }
+
+    protected void executeEach(Statement statement, List<String> statements) throws SQLException {
+        for (int i = 0; i < statements.size(); i++) {
+            long start = System.nanoTime();
+            try {
+                statement.execute(statements.get(i));
+            } catch (SQLException e) {
+                throw statementFailed(statements, i, e);
+            }
+            log.info("Executed DDL statement {} of {} in {} ms.", i + 1, statements.size(), elapsedMillis(start));
+            log.debug(statements.get(i));
+        }
+    }
+
+    /**
+     * Index of the failed statement within the batch, or -1 when the driver does not say. Drivers either stop at
+     * the first failure, returning counts only for the statements before it, or continue and mark failures with
+     * {@link Statement#EXECUTE_FAILED}.
+     */
+    private static int failedStatement(int[] updateCounts, int batchSize) {
+        if (updateCounts == null) {
+            return -1;
+        }
+        if (updateCounts.length < batchSize) {
+            return updateCounts.length;
+        }
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reports the failing statement when the driver tells which one it was, the whole batch otherwise.
+     */
+    protected static SQLException batchFailed(List<String> statements, int from, int to, SQLException cause) {
+        if (cause instanceof BatchUpdateException) {
+            int failed = failedStatement(((BatchUpdateException) cause).getUpdateCounts(), to - from);
+            if (failed >= 0) {
+                return statementFailed(statements, from + failed, cause);
+            }
+        }
+        return new SQLException(String.format("DDL batch of statements %d to %d of %d failed: %s",
+                from + 1, to, statements.size(), cause.getMessage()), cause.getSQLState(), cause.getErrorCode(), cause);
+    }
+
+    protected static SQLException statementFailed(List<String> statements, int index, SQLException cause) {
+        return new SQLException(String.format("DDL statement %d of %d failed: %s%n%s",
+                index + 1, statements.size(), cause.getMessage(), statements.get(index)),
+                cause.getSQLState(), cause.getErrorCode(), cause);
+    }
+
+    private static boolean supportsBatchUpdates(java.sql.Connection jdbcConnection) {
+        try {
+            return jdbcConnection.getMetaData().supportsBatchUpdates();
+        } catch (SQLException e) {
+            log.debug("Unable to check batch support, executing statements one at a time.", e);
+            return false;
+        }
+    }
+
+    private static void rollback(java.sql.Connection jdbcConnection, Exception cause) {
+        try {
+            jdbcConnection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Turns autocommit back on. A failure to do so is added to the failure of the transaction when there is one.
+     */
+    private static void restoreAutoCommit(java.sql.Connection jdbcConnection, Exception failure) throws SQLException {
+        try {
+            jdbcConnection.setAutoCommit(true);
+        } catch (SQLException e) {
+            if (failure == null) {
+                throw e;
+            }
+            failure.addSuppressed(e);
+        }
+    }
+
+    protected static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,125 @@
+package com.adaptivescale.rosetta.ddl.executor;
+
+import com.adaptivescale.rosetta.common.JDBCConnectionPool;
+import com.adaptivescale.rosetta.ddl.change.ChangeGraph;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Applies the DDL of a {@link ChangeGraph} over a pool of connections, running every change as soon as the changes it
+ * depends on are applied, up to one change per pooled connection at a time. Each change is executed on its own by the
+ * {@link DDLExecutor}, so a transactional executor commits every change separately. After a failure no further
+ * changes are started, the running ones are waited for and the first failure is thrown.
+ */
+@Slf4j
+public class ChangeScheduler {
+
+    private final DDLExecutor executor;
+    private final JDBCConnectionPool pool;
+
+    public ChangeScheduler(DDLExecutor executor, JDBCConnectionPool pool) {
+        this.executor = executor;
+        this.pool = pool;
+    }
+
+    public void execute(ChangeGraph graph) throws SQLException, InterruptedException {
+        int[] pendingDependencies = new int[graph.size()];
+        List<List<Integer>> dependents = new ArrayList<>();
+        for (int node = 0; node < graph.size(); node++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int node = 0; node < graph.size(); node++) {
+            pendingDependencies[node] = graph.dependencies(node).size();
+            for (int dependency : graph.dependencies(node)) {
+                dependents.get(dependency).add(node);
+            }
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(pool.getSize());
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(executorService);
+        Exception failure = null;
+        int running = 0;
+        int applied = 0;
+        try {
+            for (int node = 0; node < graph.size(); node++) {
+                if (pendingDependencies[node] == 0) {
+                    submit(completionService, graph, node);
+                    running++;
+                }
+            }
+            while (running > 0) {
+                Future<Integer> future = completionService.take();
+                running--;
+                int node;
+                try {
+                    node = future.get();
+                } catch (ExecutionException e) {
+                    Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                    continue;
+                }
+                applied++;
+                log.info("Applied change {} of {} ({} of {} done).", node + 1, graph.size(), applied, graph.size());
+                if (failure != null) {
+                    continue;
+                }
+                for (int dependent : dependents.get(node)) {
+                    if (--pendingDependencies[dependent] == 0) {
+                        submit(completionService, graph, dependent);
+                        running++;
+                    }
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        if (failure instanceof SQLException) {
+            throw (SQLException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+        if (applied < graph.size()) {
+            throw new IllegalStateException(String.format("Applied %d of %d changes, the remaining ones depend on " +
+                    "each other.", applied, graph.size()));
+        }
+    }
+
+    private void submit(CompletionService<Integer> completionService, ChangeGraph graph, int node) {
+        String ddl = graph.get(node).getDdl();
+        completionService.submit(() -> {
+            if (ddl == null || ddl.isBlank()) {
+                return node;
+            }
+            java.sql.Connection jdbcConnection = pool.acquire();
+            boolean failed = true;
+            try {
+                executor.execute(jdbcConnection, ddl);
+                failed = false;
+            } catch (SQLException e) {
+                throw new SQLException(String.format("Change %d of %d failed: %s", node + 1, graph.size(),
+                        e.getMessage()), e.getSQLState(), e.getErrorCode(), e);
+            } finally {
+                // the failure may have broken the connection or left it in an aborted transaction
+                if (failed) {
+                    pool.discard(jdbcConnection);
+                } else {
+                    pool.release(jdbcConnection);
+                }
+            }
+            return node;
+        });
+    }
+}
@@ -5,4 +5,9 @@ import java.sql.SQLException;
 
 public interface DDLExecutor {
      void execute(String query) throws SQLException;
+
+     /**
+      * Executes the DDL over an already open connection, which is left open.
+      */
+     void execute(java.sql.Connection jdbcConnection, String query) throws SQLException;
 }
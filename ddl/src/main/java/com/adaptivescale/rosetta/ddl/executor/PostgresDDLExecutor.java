@@ -1,42 +1,37 @@
 package com.adaptivescale.rosetta.ddl.executor;
 
 import com.adaptivescale.rosetta.common.JDBCDriverProvider;
-import com.adaptivescale.rosetta.common.JDBCUtils;
 import com.adaptivescale.rosetta.common.annotations.RosettaModule;
 import com.adaptivescale.rosetta.common.models.input.Connection;
 import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
 
-import java.sql.Driver;
-import java.sql.SQLException;
-import java.util.Properties;
+import java.util.regex.Pattern;
 
 @RosettaModule(
         name = "postgres",
         type = RosettaModuleTypes.DDL_EXECUTOR
 )
-public class PostgresDDLExecutor implements DDLExecutor {
-    private final Connection connection;
-    private final JDBCDriverProvider driverProvider;
+public class PostgresDDLExecutor extends AbstractDDLExecutor {
+
+    /**
+     * Online DDL statements: concurrent index builds can't run in a transaction block, and constraint validation
+     * would otherwise run under the locks taken by the statements before it.
+     */
+    private static final Pattern OUTSIDE_TRANSACTION =
+            Pattern.compile("^((CREATE\\s+(UNIQUE\\s+)?INDEX|DROP\\s+INDEX|REINDEX\\s+\\w+)\\s+CONCURRENTLY\\b"
+                    + "|ALTER\\s+TABLE\\b.*\\bVALIDATE\\s+CONSTRAINT\\b)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
     public PostgresDDLExecutor(Connection connection, JDBCDriverProvider driverProvider) {
-        this.connection = connection;
-        this.driverProvider = driverProvider;
+        super(connection, driverProvider);
     }
 
     @Override
-    public void execute(String query) throws SQLException {
-        Driver driver = driverProvider.getDriver(connection);
-        Properties properties = JDBCUtils.setJDBCAuth(connection);
-        properties.setProperty("allowMultiQueries", "true");
-
-        // Postgres supports transaction - wrapping the ddl in  transaction
-        StringBuilder transaction = new StringBuilder();
-        transaction.append("begin transaction;");
-        transaction.append(query);
-        transaction.append("commit;");
+    protected boolean isTransactional() {
+        return true;
+    }
 
-        java.sql.Connection jdbcConnection = driver.connect(connection.getUrl(), properties);
-        jdbcConnection.createStatement().executeUpdate(transaction.toString());
-        jdbcConnection.close();
+    @Override
+    protected boolean runsOutsideTransaction(String statement) {
+        return OUTSIDE_TRANSACTION.matcher(statement).find();
     }
 }
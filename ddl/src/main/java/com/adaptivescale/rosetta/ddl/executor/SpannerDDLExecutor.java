@@ -1,60 +1,70 @@
 package com.adaptivescale.rosetta.ddl.executor;
 
 import com.adaptivescale.rosetta.common.JDBCDriverProvider;
-import com.adaptivescale.rosetta.common.JDBCUtils;
 import com.adaptivescale.rosetta.common.annotations.RosettaModule;
 import com.adaptivescale.rosetta.common.models.input.Connection;
 import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
+import com.adaptivescale.rosetta.ddl.utils.SqlStatementSplitter;
+import lombok.extern.slf4j.Slf4j;
 
-import java.sql.Driver;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.sql.Statement;
 import java.util.List;
-import java.util.Properties;
 
+/**
+ * Every Spanner schema change is a long-running operation, so statements are grouped with the JDBC driver's
+ * {@code START BATCH DDL} / {@code RUN BATCH} and each batch is applied as a single schema update. Spanner does not
+ * roll back a failed batch: statements before the failing one stay applied.
+ */
+@Slf4j
 @RosettaModule(
         name = "spanner",
         type = RosettaModuleTypes.DDL_EXECUTOR
 )
-public class SpannerDDLExecutor implements DDLExecutor {
-    private final Connection connection;
-    private final JDBCDriverProvider driverProvider;
+public class SpannerDDLExecutor extends AbstractDDLExecutor {
 
     public SpannerDDLExecutor(Connection connection, JDBCDriverProvider driverProvider) {
-        this.connection = connection;
-        this.driverProvider = driverProvider;
+        super(connection, driverProvider);
     }
 
-    /**
-     * Sanitized query for Spanner and separates into statements
-     * @param query {@link String}
-     * @return {@link List<String>} query statements list
-     */
-    private List<String> parseQuery(String query) {
-        String sanitizedQuery = query.replaceAll("\r", "").replaceAll(";", ";\n");
-        String[] split = sanitizedQuery.split(";");
-        List<String> queryParts = new ArrayList<>();
-        for (String s : split) {
-            if(!s.trim().isEmpty()){
-                queryParts.add(s);
-            }
-        }
-        return queryParts;
+    @Override
+    protected SqlStatementSplitter splitter() {
+        return new SqlStatementSplitter(true);
     }
 
     @Override
-    public void execute(String query) throws SQLException {
-
-        Driver driver = driverProvider.getDriver(connection);
-        Properties properties = JDBCUtils.setJDBCAuth(connection);
+    protected void execute(java.sql.Connection jdbcConnection, Statement statement, List<String> statements)
+            throws SQLException {
+        int batchSize = batchSize(statements.size());
+        for (int from = 0; from < statements.size(); from += batchSize) {
+            executeDdlBatch(statement, statements, from, Math.min(from + batchSize, statements.size()));
+        }
+    }
 
-        java.sql.Connection jdbcConnection = driver.connect(connection.getUrl(), properties);
-        // Spanner does not allow multiple DDL statements in single query
-        List<String> queryParts = parseQuery(query);
-        for (String queryPart : queryParts) {
-            jdbcConnection.createStatement().executeUpdate(queryPart);
+    private void executeDdlBatch(Statement statement, List<String> statements, int from, int to) throws SQLException {
+        statement.execute("START BATCH DDL");
+        // statements are only buffered by the driver until RUN BATCH, errors here are client side
+        for (int i = from; i < to; i++) {
+            try {
+                statement.execute(statements.get(i));
+            } catch (SQLException e) {
+                SQLException failed = statementFailed(statements, i, e);
+                try {
+                    statement.execute("ABORT BATCH");
+                } catch (SQLException abort) {
+                    failed.addSuppressed(abort);
+                }
+                throw failed;
+            }
         }
-        jdbcConnection.close();
 
+        long start = System.nanoTime();
+        try {
+            statement.execute("RUN BATCH");
+        } catch (SQLException e) {
+            throw batchFailed(statements, from, to, e);
+        }
+        log.info("Applied DDL statements {} to {} of {} as one schema update in {} ms.",
+                from + 1, to, statements.size(), elapsedMillis(start));
     }
 }
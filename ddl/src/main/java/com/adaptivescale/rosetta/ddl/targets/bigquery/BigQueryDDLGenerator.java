@@ -10,8 +10,11 @@ import com.adaptivescale.rosetta.ddl.DDL;
 import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
 import com.adaptivescale.rosetta.ddl.change.model.ForeignKeyChange;
 import com.adaptivescale.rosetta.ddl.targets.ColumnSQLDecoratorFactory;
+import com.adaptivescale.rosetta.ddl.utils.JoiningWriter;
 import com.adaptivescale.rosetta.ddl.utils.TemplateEngine;
 import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -63,7 +66,7 @@ public class BigQueryDDLGenerator implements DDL {
         createParams.put("schemaName", table.getSchema());
         createParams.put("tableName", table.getName());
         createParams.put("tableCode", definitionAsString);
-        stringBuilder.append(TemplateEngine.process(TABLE_CREATE_TEMPLATE, createParams));
+        TemplateEngine.process(TABLE_CREATE_TEMPLATE, createParams, stringBuilder);
 
         return stringBuilder.toString();
     }
@@ -75,26 +78,20 @@ public class BigQueryDDLGenerator implements DDL {
         return TemplateEngine.process(SCHEMA_CREATE_TEMPLATE, params);
     }
 
-    public String createDatabase(Database database, boolean dropTableIfExists) {
-        StringBuilder stringBuilder = new StringBuilder();
-
+    @Override
+    public void createDatabase(Database database, boolean dropTableIfExists, Writer writer) throws IOException {
         Set<String> schemas = database.getTables().stream().map(Table::getSchema).filter(s -> s != null && !s.isEmpty()).collect(Collectors.toSet());
         if (!schemas.isEmpty()) {
-            stringBuilder.append(
-                    schemas
-                            .stream()
-                            .map(this::createSchema)
-                            .collect(Collectors.joining())
-            );
-            stringBuilder.append("\r");
+            for (String schema : schemas) {
+                writer.write(createSchema(schema));
+            }
+            writer.write("\r");
         }
 
-        stringBuilder.append(database.getTables()
-                .stream()
-                .map(table -> createTable(table, dropTableIfExists))
-                .collect(Collectors.joining("\r\r")));
-
-        return stringBuilder.toString();
+        JoiningWriter tables = new JoiningWriter(writer, "\r\r");
+        for (Table table : database.getTables()) {
+            tables.add(createTable(table, dropTableIfExists));
+        }
     }
 
     @Override
@@ -177,7 +174,7 @@ public class BigQueryDDLGenerator implements DDL {
         createParams.put("schemaName", view.getSchema());
         createParams.put("viewName", view.getName());
         createParams.put("viewCode", view.getCode());
-        builder.append(TemplateEngine.process(VIEW_CREATE_TEMPLATE, createParams));
+        TemplateEngine.process(VIEW_CREATE_TEMPLATE, createParams, builder);
 
         return builder.toString();
     }
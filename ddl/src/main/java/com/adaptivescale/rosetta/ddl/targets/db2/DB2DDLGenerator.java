@@ -10,9 +10,12 @@ import com.adaptivescale.rosetta.ddl.DDL;
 import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
 import com.adaptivescale.rosetta.ddl.change.model.ForeignKeyChange;
 import com.adaptivescale.rosetta.ddl.targets.ColumnSQLDecoratorFactory;
+import com.adaptivescale.rosetta.ddl.utils.JoiningWriter;
 import com.adaptivescale.rosetta.ddl.utils.TemplateEngine;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.sql.DatabaseMetaData;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -74,7 +77,7 @@ public class DB2DDLGenerator implements DDL {
         createParams.put("schemaName", table.getSchema());
         createParams.put("tableName", table.getName());
         createParams.put("tableCode", definitionAsString);
-        stringBuilder.append(TemplateEngine.process(TABLE_CREATE_TEMPLATE, createParams));
+        TemplateEngine.process(TABLE_CREATE_TEMPLATE, createParams, stringBuilder);
 
         return stringBuilder.toString();
     }
@@ -87,36 +90,30 @@ public class DB2DDLGenerator implements DDL {
     }
 
     @Override
-    public String createDatabase(Database database, boolean dropTableIfExists) {
-        StringBuilder stringBuilder = new StringBuilder();
-
+    public void createDatabase(Database database, boolean dropTableIfExists, Writer writer) throws IOException {
         Set<String> schemas = database.getTables().stream().map(Table::getSchema).filter(s -> s != null && !s.isEmpty()).collect(Collectors.toSet());
         if (!schemas.isEmpty()) {
-            stringBuilder.append(
-                    schemas
-                            .stream()
-                            .map(this::createSchema)
-                            .collect(Collectors.joining())
-            );
-            stringBuilder.append("\r");
+            for (String schema : schemas) {
+                writer.write(createSchema(schema));
+            }
+            writer.write("\r");
         }
 
-        stringBuilder.append(database.getTables()
-            .stream()
-            .map(table -> createTable(table, dropTableIfExists))
-            .collect(Collectors.joining("\r")));
+        JoiningWriter tables = new JoiningWriter(writer, "\r");
+        for (Table table : database.getTables()) {
+            tables.add(createTable(table, dropTableIfExists));
+        }
 
-        stringBuilder.append("\r");
+        writer.write("\r");
 
         //Create ForeignKeys
-        stringBuilder.append(database.getTables()
-            .stream()
-            .map(table -> foreignKeys(table))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(Collectors.joining()));
-
-        return stringBuilder.toString();
+        JoiningWriter foreignKeys = new JoiningWriter(writer, "");
+        for (Table table : database.getTables()) {
+            Optional<String> foreignKeysForTable = foreignKeys(table);
+            if (foreignKeysForTable.isPresent()) {
+                foreignKeys.add(foreignKeysForTable.get());
+            }
+        }
     }
 
     @Override
@@ -223,9 +220,7 @@ public class DB2DDLGenerator implements DDL {
         if (doesPKExist) {
             params.put("schemaName", expected.getSchema());
             params.put("tableName", tableNameWithSchema(expected));
-            stringBuilder.append(
-                    TemplateEngine.process(TABLE_ALTER_DROP_PRIMARY_KEY_TEMPLATE, params)
-            );
+            TemplateEngine.process(TABLE_ALTER_DROP_PRIMARY_KEY_TEMPLATE, params, stringBuilder);
         }
 
         if (doWeNeedToCreatePk) {
@@ -234,9 +229,7 @@ public class DB2DDLGenerator implements DDL {
                 params.put("schemaName", expected.getSchema());
                 params.put("tableName", tableNameWithSchema(expected));
                 params.put("primaryKeyDefinition", primaryKeysForTable.get());
-                stringBuilder.append(
-                    TemplateEngine.process(TABLE_ALTER_ADD_PRIMARY_KEY_TEMPLATE, params)
-                );
+                TemplateEngine.process(TABLE_ALTER_ADD_PRIMARY_KEY_TEMPLATE, params, stringBuilder);
             }
         }
 
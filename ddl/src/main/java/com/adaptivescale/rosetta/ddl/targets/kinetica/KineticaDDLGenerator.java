@@ -11,9 +11,12 @@ import com.adaptivescale.rosetta.ddl.DDL;
 import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
 import com.adaptivescale.rosetta.ddl.change.model.ForeignKeyChange;
 import com.adaptivescale.rosetta.ddl.targets.ColumnSQLDecoratorFactory;
+import com.adaptivescale.rosetta.ddl.utils.JoiningWriter;
 import com.adaptivescale.rosetta.ddl.utils.TemplateEngine;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -82,7 +85,7 @@ public class KineticaDDLGenerator implements DDL {
         createParams.put("tableName", table.getName());
         createParams.put("tableCode", definitionAsString);
         createParams.put("indices", String.join("\n", indicesForTable));
-        stringBuilder.append(TemplateEngine.process(TABLE_CREATE_TEMPLATE, createParams));
+        TemplateEngine.process(TABLE_CREATE_TEMPLATE, createParams, stringBuilder);
 
         return stringBuilder.toString();
     }
@@ -95,41 +98,32 @@ public class KineticaDDLGenerator implements DDL {
     }
 
     @Override
-    public String createDatabase(Database database, boolean dropTableIfExists) {
-        StringBuilder stringBuilder = new StringBuilder();
-
+    public void createDatabase(Database database, boolean dropTableIfExists, Writer writer) throws IOException {
         Set<String> schemas = database.getTables().stream().map(Table::getSchema).filter(s -> s != null && !s.isEmpty()).collect(Collectors.toSet());
         if (!schemas.isEmpty()) {
-            stringBuilder.append(
-                schemas
-                    .stream()
-                    .filter(s -> !RESERVED_SCHEMA_NAMES.contains(s))
-                    .map(this::createSchema)
-                    .collect(Collectors.joining())
-            );
-            stringBuilder.append("\r");
+            for (String schema : schemas) {
+                if (!RESERVED_SCHEMA_NAMES.contains(schema)) {
+                    writer.write(createSchema(schema));
+                }
+            }
+            writer.write("\r");
         }
 
-        stringBuilder.append(database.getTables()
-            .stream()
-            .map(table -> createTable(table, dropTableIfExists))
-            .collect(Collectors.joining("\r\r")));
+        JoiningWriter tables = new JoiningWriter(writer, "\r\r");
+        for (Table table : database.getTables()) {
+            tables.add(createTable(table, dropTableIfExists));
+        }
 
         //TODO: Check if we can enable foreign keys in Kinetica
         //Disable temporarily the foreign keys in Kinetica
-//        String foreignKeys = database
-//            .getTables()
-//            .stream()
-//            .map(this::foreignKeys)
-//            .filter(Optional::isPresent)
-//            .map(Optional::get)
-//            .collect(Collectors.joining("\r"));
-//
-//        if (!foreignKeys.isEmpty()) {
-//            stringBuilder.append("\r").append(foreignKeys).append("\r");
+//        JoiningWriter foreignKeys = new JoiningWriter(writer, "\r", "\r", "\r");
+//        for (Table table : database.getTables()) {
+//            Optional<String> foreignKeysForTable = foreignKeys(table);
+//            if (foreignKeysForTable.isPresent()) {
+//                foreignKeys.add(foreignKeysForTable.get());
+//            }
 //        }
-
-        return stringBuilder.toString();
+//        foreignKeys.finish();
     }
 
     @Override
@@ -10,9 +10,13 @@ import com.adaptivescale.rosetta.ddl.DDL;
 import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
 import com.adaptivescale.rosetta.ddl.change.model.ForeignKeyChange;
 import com.adaptivescale.rosetta.ddl.targets.ColumnSQLDecoratorFactory;
+import com.adaptivescale.rosetta.ddl.utils.JoiningWriter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -30,6 +34,13 @@ public class MySqlDDLGenerator implements DDL {
 
     private final ColumnSQLDecoratorFactory columnSQLDecoratorFactory = new MySqlColumnDecoratorFactory();
 
+    private boolean online = false;
+
+    @Override
+    public void setOnline(boolean online) {
+        this.online = online;
+    }
+
     @Override
     public String createColumn(Column column) {
         return columnSQLDecoratorFactory.decoratorFor(column).expressSQl();
@@ -77,38 +88,29 @@ public class MySqlDDLGenerator implements DDL {
     }
 
     @Override
-    public String createDatabase(Database database, boolean dropTableIfExists) {
-        StringBuilder stringBuilder = new StringBuilder();
-
+    public void createDatabase(Database database, boolean dropTableIfExists, Writer writer) throws IOException {
         Set<String> schemas = database.getTables().stream().map(Table::getSchema).filter(s -> s != null && !s.isEmpty()).collect(Collectors.toSet());
         if (!schemas.isEmpty()) {
-            stringBuilder.append(
-                    schemas
-                            .stream()
-                            .map(schema -> "CREATE SCHEMA IF NOT EXISTS `" + schema + "`")
-                            .collect(Collectors.joining(";\r\r"))
-
-            );
-            stringBuilder.append(";\r");
+            JoiningWriter schemaWriter = new JoiningWriter(writer, ";\r\r");
+            for (String schema : schemas) {
+                schemaWriter.add("CREATE SCHEMA IF NOT EXISTS `" + schema + "`");
+            }
+            writer.write(";\r");
         }
 
-        stringBuilder.append(database.getTables()
-                .stream()
-                .map(table -> createTable(table, dropTableIfExists))
-                .collect(Collectors.joining("\r\r")));
-
-        String foreignKeys = database
-                .getTables()
-                .stream()
-                .map(this::foreignKeys)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.joining());
+        JoiningWriter tables = new JoiningWriter(writer, "\r\r");
+        for (Table table : database.getTables()) {
+            tables.add(createTable(table, dropTableIfExists));
+        }
 
-        if (!foreignKeys.isEmpty()) {
-            stringBuilder.append("\r").append(foreignKeys).append("\r");
+        JoiningWriter foreignKeys = new JoiningWriter(writer, "", "\r", "\r");
+        for (Table table : database.getTables()) {
+            Optional<String> foreignKeysForTable = foreignKeys(table);
+            if (foreignKeysForTable.isPresent()) {
+                foreignKeys.add(foreignKeysForTable.get());
+            }
         }
-        return stringBuilder.toString();
+        foreignKeys.finish();
     }
 
     @Override
@@ -150,44 +152,80 @@ public class MySqlDDLGenerator implements DDL {
 
     @Override
     public String alterColumn(ColumnChange change) {
-        Table table = change.getTable();
-        Column actual = change.getActual();
-        Column expected = change.getExpected();
-
-        if (!Objects.equals(expected.getTypeName(), actual.getTypeName())
-                || !Objects.equals(expected.isNullable(), actual.isNullable())) {
-            return String.format("ALTER TABLE%s MODIFY %s;",
-                    handleNullSchema(table.getSchema(), table.getName()),
-                    columnSQLDecoratorFactory.decoratorFor(expected).expressSQl());
-        }
-
-        log.info("No action taken for changes detected in column: {}.{}.{}", change.getTable().getSchema(),
-                change.getTable().getName(),
-                expected.getName());
-        return "";
+        return alterColumnClause(change.getTable(), change.getExpected(), change.getActual())
+                .map(clause -> alterColumnsStatement(change.getTable(), clause))
+                .orElse("");
     }
 
     @Override
     public String dropColumn(ColumnChange change) {
-        Table table = change.getTable();
-        Column actual = change.getActual();
-
-        return "ALTER TABLE" +
-                handleNullSchema(table.getSchema(), table.getName()) + " DROP COLUMN `" +
-                actual.getName() + "`;";
+        return alterColumnsStatement(change.getTable(), dropColumnClause(change.getActual()));
     }
 
     @Override
     public String addColumn(ColumnChange change) {
-        Table table = change.getTable();
-        Column expected = change.getExpected();
+        return alterColumnsStatement(change.getTable(), addColumnClause(change.getExpected()));
+    }
+
+
+    @Override
+    public String alterColumns(Table table, List<ColumnChange> changes) {
+        List<String> alterations = new ArrayList<>();
+        for (ColumnChange change : changes) {
+            switch (change.getStatus()) {
+                case ADD:
+                    alterations.add(addColumnClause(change.getExpected()));
+                    break;
+                case DROP:
+                    alterations.add(dropColumnClause(change.getActual()));
+                    break;
+                case ALTER:
+                    alterColumnClause(table, change.getExpected(), change.getActual()).ifPresent(alterations::add);
+                    break;
+                default:
+                    throw new RuntimeException("Operation " + change.getStatus() + " for column not supported");
+            }
+        }
+        if (alterations.isEmpty()) {
+            return "";
+        }
+        return alterColumnsStatement(table, String.join(", ", alterations));
+    }
+
+    private String alterColumnsStatement(Table table, String clauses) {
+        return "ALTER TABLE" + handleNullSchema(table.getSchema(), table.getName()) + " " + clauses + onlineOptions() + ";";
+    }
 
-        return "ALTER TABLE" +
-                handleNullSchema(table.getSchema(), table.getName()) +
-                " ADD COLUMN " +
-                columnSQLDecoratorFactory.decoratorFor(expected).expressSQl() + ";";
+    private String addColumnClause(Column expected) {
+        return "ADD COLUMN " + columnSQLDecoratorFactory.decoratorFor(expected).expressSQl();
     }
 
+    private String dropColumnClause(Column actual) {
+        return "DROP COLUMN `" + actual.getName() + "`";
+    }
+
+    /**
+     * Only type and nullability changes are applied, other differences are logged and left as they are.
+     */
+    private Optional<String> alterColumnClause(Table table, Column expected, Column actual) {
+        if (!Objects.equals(expected.getTypeName(), actual.getTypeName())
+                || !Objects.equals(expected.isNullable(), actual.isNullable())) {
+            return Optional.of("MODIFY " + columnSQLDecoratorFactory.decoratorFor(expected).expressSQl());
+        }
+
+        log.info("No action taken for changes detected in column: {}.{}.{}", table.getSchema(),
+                table.getName(),
+                expected.getName());
+        return Optional.empty();
+    }
+
+    /**
+     * In online mode column changes are required to run in place without blocking reads and writes. MySQL refuses
+     * a change that can't, such as a column type change that needs a table copy, instead of locking the table.
+     */
+    private String onlineOptions() {
+        return online ? ", ALGORITHM=INPLACE, LOCK=NONE" : "";
+    }
 
     @Override
     public String dropTable(Table actual) {
@@ -10,9 +10,12 @@ import com.adaptivescale.rosetta.ddl.DDL;
 import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
 import com.adaptivescale.rosetta.ddl.change.model.ForeignKeyChange;
 import com.adaptivescale.rosetta.ddl.targets.ColumnSQLDecoratorFactory;
+import com.adaptivescale.rosetta.ddl.utils.JoiningWriter;
 import com.adaptivescale.rosetta.ddl.utils.TemplateEngine;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.sql.DatabaseMetaData;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -34,24 +37,26 @@ public class PostgresDDLGenerator implements DDL {
 
     private final static String TABLE_ALTER_ADD_PRIMARY_KEY_TEMPLATE = "postgres/table/alter_add_primary_key";
 
+    private final static String TABLE_ALTER_COLUMNS_TEMPLATE = "postgres/table/alter_columns";
+
     private final static String TABLE_DROP_TEMPLATE = "postgres/table/drop";
 
     private final static String SCHEMA_CREATE_TEMPLATE = "postgres/schema/create";
 
     private final static String FOREIGN_KEY_CREATE_TEMPLATE = "postgres/foreignkey/create";
 
-    private final static String FOREIGN_KEY_DROP_TEMPLATE = "postgres/foreignkey/drop";
-
-    private final static String COLUMN_ADD_TEMPLATE = "postgres/column/add";
-
-    private final static String COLUMN_ALTER_TYPE_TEMPLATE = "postgres/column/alter_column_type";
+    private final static String FOREIGN_KEY_CREATE_NOT_VALID_TEMPLATE = "postgres/foreignkey/create_not_valid";
 
-    private final static String COLUMN_ALTER_NULL_TEMPLATE = "postgres/column/alter_column_null";
+    private final static String FOREIGN_KEY_DROP_TEMPLATE = "postgres/foreignkey/drop";
 
-    private final static String COLUMN_DROP_TEMPLATE = "postgres/column/drop";
+    private final ColumnSQLDecoratorFactory columnSQLDecoratorFactory = new PostgresColumnDecoratorFactory();
 
+    private boolean online = false;
 
-    private final ColumnSQLDecoratorFactory columnSQLDecoratorFactory = new PostgresColumnDecoratorFactory();
+    @Override
+    public void setOnline(boolean online) {
+        this.online = online;
+    }
 
     @Override
     public String createColumn(Column column) {
@@ -76,7 +81,7 @@ public class PostgresDDLGenerator implements DDL {
         createParams.put("schemaName", table.getSchema());
         createParams.put("tableName", table.getName());
         createParams.put("tableCode", definitionAsString);
-        stringBuilder.append(TemplateEngine.process(TABLE_CREATE_TEMPLATE, createParams));
+        TemplateEngine.process(TABLE_CREATE_TEMPLATE, createParams, stringBuilder);
 
         return stringBuilder.toString();
     }
@@ -89,36 +94,30 @@ public class PostgresDDLGenerator implements DDL {
     }
 
     @Override
-    public String createDatabase(Database database, boolean dropTableIfExists) {
-        StringBuilder stringBuilder = new StringBuilder();
-
+    public void createDatabase(Database database, boolean dropTableIfExists, Writer writer) throws IOException {
         Set<String> schemas = database.getTables().stream().map(Table::getSchema).filter(s -> s != null && !s.isEmpty()).collect(Collectors.toSet());
         if (!schemas.isEmpty()) {
-            stringBuilder.append(
-                    schemas
-                            .stream()
-                            .map(this::createSchema)
-                            .collect(Collectors.joining())
-            );
-            stringBuilder.append("\r");
+            for (String schema : schemas) {
+                writer.write(createSchema(schema));
+            }
+            writer.write("\r");
         }
 
-        stringBuilder.append(database.getTables()
-                .stream()
-                .map(table -> createTable(table, dropTableIfExists))
-                .collect(Collectors.joining("\r\r")));
+        JoiningWriter tables = new JoiningWriter(writer, "\r\r");
+        for (Table table : database.getTables()) {
+            tables.add(createTable(table, dropTableIfExists));
+        }
 
-        stringBuilder.append("\r");
+        writer.write("\r");
 
         //Create ForeignKeys
-        stringBuilder.append(database.getTables()
-                .stream()
-                .map(table -> foreignKeys(table))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.joining("\r")));
-
-        return stringBuilder.toString();
+        JoiningWriter foreignKeys = new JoiningWriter(writer, "\r");
+        for (Table table : database.getTables()) {
+            Optional<String> foreignKeysForTable = foreignKeys(table);
+            if (foreignKeysForTable.isPresent()) {
+                foreignKeys.add(foreignKeysForTable.get());
+            }
+        }
     }
 
     @Override
@@ -132,64 +131,88 @@ public class PostgresDDLGenerator implements DDL {
         params.put("foreignKeyPrimaryColumnName", foreignKey.getPrimaryColumnName());
         params.put("foreignkeyName", foreignKey.getName());
         params.put("deleteRule", foreignKeyDeleteRule(foreignKey));
-        return TemplateEngine.process(FOREIGN_KEY_CREATE_TEMPLATE, params);
+        // the constraint is added without checking existing rows, which are validated by a separate statement
+        // that does not block writes
+        return TemplateEngine.process(online ? FOREIGN_KEY_CREATE_NOT_VALID_TEMPLATE : FOREIGN_KEY_CREATE_TEMPLATE, params);
     }
 
     @Override
     public String alterColumn(ColumnChange change) {
-        Column actual = change.getActual();
-        Column expected = change.getExpected();
-        Map<String, Object> params = new HashMap<>();
-        params.put("schemaName", change.getTable().getSchema());
-        params.put("tableName", change.getTable().getName());
-        params.put("columnName", expected.getName());
-
-        if (!Objects.equals(expected.getTypeName(), actual.getTypeName())) {
-            params.put("dataType", expected.getTypeName());
-            return TemplateEngine.process(COLUMN_ALTER_TYPE_TEMPLATE, params);
-        }
-
-        if (!Objects.equals(expected.isNullable(), actual.isNullable())) {
-            if (expected.isNullable()) {
-                params.put("nullDefinition", "DROP NOT NULL");
-                return TemplateEngine.process(COLUMN_ALTER_NULL_TEMPLATE, params);
-            } else {
-                params.put("nullDefinition", "SET NOT NULL");
-                return TemplateEngine.process(COLUMN_ALTER_NULL_TEMPLATE, params);
-            }
-        }
+        return alterColumnClause(change.getTable(), change.getExpected(), change.getActual())
+                .map(clause -> alterColumnsStatement(change.getTable(), clause))
+                .orElse("");
+    }
 
-        log.info("No action taken for changes detected in column: {}.{}.{}", change.getTable().getSchema(),
-                change.getTable().getName(),
-                expected.getName());
+    @Override
+    public String dropColumn(ColumnChange change) {
+        return alterColumnsStatement(change.getTable(), dropColumnClause(change.getActual()));
+    }
 
-        return "";
+    @Override
+    public String addColumn(ColumnChange change) {
+        return alterColumnsStatement(change.getTable(), addColumnClause(change.getExpected()));
     }
 
     @Override
-    public String dropColumn(ColumnChange change) {
-        Table table = change.getTable();
-        Column actual = change.getActual();
+    public String alterColumns(Table table, List<ColumnChange> changes) {
+        List<String> alterations = new ArrayList<>();
+        for (ColumnChange change : changes) {
+            switch (change.getStatus()) {
+                case ADD:
+                    alterations.add(addColumnClause(change.getExpected()));
+                    break;
+                case DROP:
+                    alterations.add(dropColumnClause(change.getActual()));
+                    break;
+                case ALTER:
+                    alterColumnClause(table, change.getExpected(), change.getActual()).ifPresent(alterations::add);
+                    break;
+                default:
+                    throw new RuntimeException("Operation " + change.getStatus() + " for column not supported");
+            }
+        }
+        if (alterations.isEmpty()) {
+            return "";
+        }
+        return alterColumnsStatement(table, String.join(", ", alterations));
+    }
 
+    /**
+     * One ALTER TABLE statement with the given clauses, single column changes are statements with one clause.
+     */
+    private String alterColumnsStatement(Table table, String alterations) {
         Map<String, Object> params = new HashMap<>();
         params.put("schemaName", table.getSchema());
         params.put("tableName", table.getName());
-        params.put("columnName", actual.getName());
-        return TemplateEngine.process(COLUMN_DROP_TEMPLATE, params);
+        params.put("alterations", alterations);
+        return TemplateEngine.process(TABLE_ALTER_COLUMNS_TEMPLATE, params);
     }
 
+    private String addColumnClause(Column expected) {
+        return "ADD COLUMN " + columnSQLDecoratorFactory.decoratorFor(expected).expressSQl();
+    }
 
+    private String dropColumnClause(Column actual) {
+        return String.format("DROP COLUMN \"%s\"", actual.getName());
+    }
 
-    @Override
-    public String addColumn(ColumnChange change) {
-        Table table = change.getTable();
-        Column expected = change.getExpected();
+    /**
+     * A type change takes precedence over a nullability change, other differences are logged and left as they are.
+     */
+    private Optional<String> alterColumnClause(Table table, Column expected, Column actual) {
+        if (!Objects.equals(expected.getTypeName(), actual.getTypeName())) {
+            return Optional.of(String.format("ALTER COLUMN \"%s\" SET DATA TYPE %s", expected.getName(), expected.getTypeName()));
+        }
 
-        Map<String, Object> params = new HashMap<>();
-        params.put("schemaName", table.getSchema());
-        params.put("tableName", table.getName());
-        params.put("columnDefinition", columnSQLDecoratorFactory.decoratorFor(expected).expressSQl());
-        return TemplateEngine.process(COLUMN_ADD_TEMPLATE, params);
+        if (!Objects.equals(expected.isNullable(), actual.isNullable())) {
+            return Optional.of(String.format("ALTER COLUMN \"%s\" %s", expected.getName(),
+                    expected.isNullable() ? "DROP NOT NULL" : "SET NOT NULL"));
+        }
+
+        log.info("No action taken for changes detected in column: {}.{}.{}", table.getSchema(),
+                table.getName(),
+                expected.getName());
+        return Optional.empty();
     }
 
     @Override
@@ -225,9 +248,7 @@ public class PostgresDDLGenerator implements DDL {
         if (doesPKExist) {
             params.put("schemaName", expected.getSchema());
             params.put("tableName", tableNameWithSchema(expected));
-            stringBuilder.append(
-                    TemplateEngine.process(TABLE_ALTER_DROP_PRIMARY_KEY_TEMPLATE, params)
-            );
+            TemplateEngine.process(TABLE_ALTER_DROP_PRIMARY_KEY_TEMPLATE, params, stringBuilder);
         }
 
         if (doWeNeedToCreatePk) {
@@ -236,9 +257,7 @@ public class PostgresDDLGenerator implements DDL {
                 params.put("schemaName", expected.getSchema());
                 params.put("tableName", tableNameWithSchema(expected));
                 params.put("primaryKeyDefinition", primaryKeysForTable.get());
-                stringBuilder.append(
-                        TemplateEngine.process(TABLE_ALTER_ADD_PRIMARY_KEY_TEMPLATE, params)
-                );
+                TemplateEngine.process(TABLE_ALTER_ADD_PRIMARY_KEY_TEMPLATE, params, stringBuilder);
             }
         }
 
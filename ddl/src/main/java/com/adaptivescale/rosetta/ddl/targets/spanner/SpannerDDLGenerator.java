@@ -7,9 +7,12 @@ import com.adaptivescale.rosetta.ddl.DDL;
 import com.adaptivescale.rosetta.ddl.change.model.ColumnChange;
 import com.adaptivescale.rosetta.ddl.change.model.ForeignKeyChange;
 import com.adaptivescale.rosetta.ddl.targets.ColumnSQLDecoratorFactory;
+import com.adaptivescale.rosetta.ddl.utils.JoiningWriter;
 import com.adaptivescale.rosetta.ddl.utils.TemplateEngine;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -86,9 +89,7 @@ public class SpannerDDLGenerator implements DDL {
     }
 
     @Override
-    public String createDatabase(Database database, boolean dropTableIfExists) {
-        StringBuilder stringBuilder = new StringBuilder();
-
+    public void createDatabase(Database database, boolean dropTableIfExists, Writer writer) throws IOException {
         Set<String> schemas = database.getTables().stream().map(Table::getSchema).filter(s -> s != null && !s.isEmpty()).collect(Collectors.toSet());
         if (!schemas.isEmpty()) {
             throw new RuntimeException("Schema is not supported in Spanner");
@@ -112,43 +113,36 @@ public class SpannerDDLGenerator implements DDL {
                 .map(Interleave::getTableName)
                 .orElse(null), nullsFirst(naturalOrder()))));
 
-        stringBuilder.append(tablesToCreate
-            .stream()
-            .map(table -> createTable(table, dropTableIfExists))
-            .collect(Collectors.joining("\r\r")));
-
-        String foreignKeys = database
-            .getTables()
-            .stream()
-            .map(this::foreignKeys)
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(Collectors.joining());
-
-        if (!foreignKeys.isEmpty()) {
-            stringBuilder.append("\r").append(foreignKeys).append("\r");
+        JoiningWriter tables = new JoiningWriter(writer, "\r\r");
+        for (Table table : tablesToCreate) {
+            tables.add(createTable(table, dropTableIfExists));
         }
 
-        String indices = database
-            .getTables()
-            .stream()
-            .map(this::createIndicesForTable)
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(Collectors.joining());
+        JoiningWriter foreignKeys = new JoiningWriter(writer, "", "\r", "\r");
+        for (Table table : database.getTables()) {
+            Optional<String> foreignKeysForTable = foreignKeys(table);
+            if (foreignKeysForTable.isPresent()) {
+                foreignKeys.add(foreignKeysForTable.get());
+            }
+        }
+        foreignKeys.finish();
 
-        if (!indices.isEmpty()) {
-            stringBuilder.append("\r").append(indices).append("\r");
+        JoiningWriter indices = new JoiningWriter(writer, "", "\r", "\r");
+        for (Table table : database.getTables()) {
+            Optional<String> indicesForTable = createIndicesForTable(table);
+            if (indicesForTable.isPresent()) {
+                indices.add(indicesForTable.get());
+            }
         }
+        indices.finish();
 
         if (database.getViews() != null && !database.getViews().isEmpty()) {
-            stringBuilder.append("\r").append(database.getViews()
-                    .stream()
-                    .map(view -> createView(view, dropTableIfExists))
-                    .collect(Collectors.joining("\r\r")));
+            writer.write("\r");
+            JoiningWriter views = new JoiningWriter(writer, "\r\r");
+            for (View view : database.getViews()) {
+                views.add(createView(view, dropTableIfExists));
+            }
         }
-
-        return stringBuilder.toString();
     }
 
     @Override
@@ -335,7 +329,7 @@ public class SpannerDDLGenerator implements DDL {
         Map<String, Object> createParams = new HashMap<>();
         createParams.put("viewName", view.getName());
         createParams.put("viewCode", view.getCode());
-        builder.append(TemplateEngine.process(VIEW_CREATE_TEMPLATE, createParams));
+        TemplateEngine.process(VIEW_CREATE_TEMPLATE, createParams, builder);
 
         return builder.toString();
     }
@@ -0,0 +1,57 @@
+package com.adaptivescale.rosetta.ddl.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes elements separated by a delimiter as they are added, producing the same text as
+ * {@link java.util.stream.Collectors#joining(CharSequence, CharSequence, CharSequence)} would for the same elements,
+ * except that prefix and suffix are only written when the joined text is not empty.
+ */
+public class JoiningWriter {
+
+    private final Writer writer;
+    private final String delimiter;
+    private final String prefix;
+    private final String suffix;
+    private final StringBuilder pending = new StringBuilder();
+    private boolean first = true;
+    private boolean started = false;
+
+    public JoiningWriter(Writer writer, String delimiter) {
+        this(writer, delimiter, "", "");
+    }
+
+    public JoiningWriter(Writer writer, String delimiter, String prefix, String suffix) {
+        this.writer = writer;
+        this.delimiter = delimiter;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    public void add(String element) throws IOException {
+        if (!first) {
+            pending.append(delimiter);
+        }
+        first = false;
+        pending.append(element);
+        if (pending.length() == 0) {
+            return;
+        }
+        if (!started) {
+            writer.write(prefix);
+            started = true;
+        }
+        writer.write(pending.toString());
+        pending.setLength(0);
+    }
+
+    /**
+     * Writes the suffix if anything was written.
+     */
+    public void finish() throws IOException {
+        if (started) {
+            writer.write(suffix);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.adaptivescale.rosetta.ddl.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a script into statements on {@code ;}, ignoring semicolons inside quoted strings and identifiers
+ * ({@code '...'}, {@code "..."}, {@code `...`}), Postgres dollar-quoted bodies ({@code $$...$$}, {@code $tag$...$tag$})
+ * and {@code --} / {@code /* *}{@code /} comments. Statements are trimmed and returned without the terminating
+ * semicolon; statements made only of whitespace and comments are dropped.
+ */
+public class SqlStatementSplitter {
+
+    private final boolean backslashEscapes;
+
+    /**
+     * Standard SQL quoting, where a quote inside a string is escaped by doubling it.
+     */
+    public SqlStatementSplitter() {
+        this(false);
+    }
+
+    /**
+     * @param backslashEscapes whether {@code \} escapes the next character inside quotes, as in MySQL and GoogleSQL
+     */
+    public SqlStatementSplitter(boolean backslashEscapes) {
+        this.backslashEscapes = backslashEscapes;
+    }
+
+    public List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        if (script == null) {
+            return statements;
+        }
+
+        int start = 0;
+        boolean onlyComments = true;
+        int position = 0;
+        int length = script.length();
+        while (position < length) {
+            char c = script.charAt(position);
+            if (c == ';') {
+                addStatement(statements, script.substring(start, position), onlyComments);
+                start = position + 1;
+                onlyComments = true;
+                position++;
+            } else if (c == '-' && script.startsWith("--", position)) {
+                int end = script.indexOf('\n', position);
+                position = end < 0 ? length : end + 1;
+            } else if (c == '/' && script.startsWith("/*", position)) {
+                int end = script.indexOf("*/", position + 2);
+                position = end < 0 ? length : end + 2;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                onlyComments = false;
+                position = skipQuoted(script, position, c);
+            } else if (c == '$' && dollarTag(script, position) != null) {
+                onlyComments = false;
+                String tag = dollarTag(script, position);
+                int end = script.indexOf(tag, position + tag.length());
+                position = end < 0 ? length : end + tag.length();
+            } else {
+                if (!Character.isWhitespace(c)) {
+                    onlyComments = false;
+                }
+                position++;
+            }
+        }
+        addStatement(statements, script.substring(start), onlyComments);
+        return statements;
+    }
+
+    private int skipQuoted(String script, int position, char quote) {
+        int length = script.length();
+        int i = position + 1;
+        while (i < length) {
+            char c = script.charAt(i);
+            if (backslashEscapes && c == '\\' && quote != '`') {
+                i += 2;
+            } else if (c == quote) {
+                // a doubled quote is an escaped quote, not the end of the string
+                if (i + 1 < length && script.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * The {@code $tag$} opening a dollar-quoted string at {@code position}, or null when the {@code $} starts
+     * something else, such as a positional parameter {@code $1} or an identifier character.
+     */
+    private static String dollarTag(String script, int position) {
+        if (position > 0 && isIdentifierPart(script.charAt(position - 1))) {
+            return null;
+        }
+        int i = position + 1;
+        while (i < script.length() && script.charAt(i) != '$') {
+            char c = script.charAt(i);
+            boolean valid = i == position + 1 ? Character.isLetter(c) || c == '_' : isIdentifierPart(c);
+            if (!valid) {
+                return null;
+            }
+            i++;
+        }
+        return i < script.length() ? script.substring(position, i + 1) : null;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static void addStatement(List<String> statements, String statement, boolean onlyComments) {
+        if (!onlyComments) {
+            statements.add(statement.trim());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.adaptivescale.rosetta.ddl.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@code .sqlt} template compiled to a list of text, variable and condition parts, rendered by appending to a
+ * {@link StringBuilder} without going through Thymeleaf. Covers the subset of the Thymeleaf text syntax used by the DDL
+ * templates: {@code [(${name})]}, {@code [[${name}]]} and {@code [# th:if="..."]...[/]} blocks that check whether a
+ * variable is null or empty. Output is the same as Thymeleaf's {@code TemplateMode.TEXT} rendering.
+ */
+public class TemplateEmitter {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\s*\\(?\\s*\\$\\{(\\w+)}\\s*\\)?\\s*");
+    private static final Pattern IF = Pattern.compile("th:if=\"(.*)\"");
+    private static final Pattern IS_EMPTY = Pattern.compile("\\$\\{(\\w+)} == null or \\$\\{\\1} == ''");
+    private static final Pattern IS_NOT_EMPTY = Pattern.compile("\\$\\{(\\w+)} != null and \\$\\{\\1} != ''");
+
+    private final List<Part> parts;
+
+    private TemplateEmitter(List<Part> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the template uses syntax outside the supported subset
+     */
+    public static TemplateEmitter compile(String template) {
+        Parser parser = new Parser(template);
+        return new TemplateEmitter(parser.parse(false));
+    }
+
+    public void emit(Map<String, Object> variables, StringBuilder out) {
+        emit(parts, variables, out);
+    }
+
+    private static void emit(List<Part> parts, Map<String, Object> variables, StringBuilder out) {
+        for (Part part : parts) {
+            part.emit(variables, out);
+        }
+    }
+
+    private interface Part {
+        void emit(Map<String, Object> variables, StringBuilder out);
+    }
+
+    private static class Text implements Part {
+        private final String text;
+
+        private Text(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void emit(Map<String, Object> variables, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    private static class Variable implements Part {
+        private final String name;
+        private final boolean escaped;
+
+        private Variable(String name, boolean escaped) {
+            this.name = name;
+            this.escaped = escaped;
+        }
+
+        @Override
+        public void emit(Map<String, Object> variables, StringBuilder out) {
+            Object value = variables.get(name);
+            if (value == null) {
+                return;
+            }
+            if (escaped) {
+                escape(value.toString(), out);
+            } else {
+                out.append(value);
+            }
+        }
+
+        /**
+         * Thymeleaf escapes {@code [[...]]} in text mode the same way as in HTML mode.
+         */
+        private static void escape(String value, StringBuilder out) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&':
+                        out.append("&amp;");
+                        break;
+                    case '<':
+                        out.append("&lt;");
+                        break;
+                    case '>':
+                        out.append("&gt;");
+                        break;
+                    case '"':
+                        out.append("&quot;");
+                        break;
+                    case '\'':
+                        out.append("&#39;");
+                        break;
+                    default:
+                        out.append(c);
+                }
+            }
+        }
+    }
+
+    private static class Condition implements Part {
+        private final String name;
+        private final boolean whenEmpty;
+        private final List<Part> parts;
+
+        private Condition(String name, boolean whenEmpty, List<Part> parts) {
+            this.name = name;
+            this.whenEmpty = whenEmpty;
+            this.parts = parts;
+        }
+
+        @Override
+        public void emit(Map<String, Object> variables, StringBuilder out) {
+            Object value = variables.get(name);
+            boolean empty = value == null || "".equals(value);
+            if (empty == whenEmpty) {
+                TemplateEmitter.emit(parts, variables, out);
+            }
+        }
+    }
+
+    private static class Parser {
+        private final String template;
+        private int position = 0;
+
+        private Parser(String template) {
+            this.template = template;
+        }
+
+        private List<Part> parse(boolean nested) {
+            List<Part> parts = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            while (position < template.length()) {
+                if (template.startsWith("[/]", position)) {
+                    if (!nested) {
+                        throw unsupported("unexpected [/]");
+                    }
+                    position += 3;
+                    addText(parts, text);
+                    return parts;
+                } else if (template.startsWith("[#", position)) {
+                    addText(parts, text);
+                    parts.add(condition());
+                } else if (template.startsWith("[[", position)) {
+                    addText(parts, text);
+                    parts.add(variable("]]", true));
+                } else if (template.startsWith("[(", position)) {
+                    addText(parts, text);
+                    parts.add(variable(")]", false));
+                } else {
+                    text.append(template.charAt(position++));
+                }
+            }
+            if (nested) {
+                throw unsupported("missing [/]");
+            }
+            addText(parts, text);
+            return parts;
+        }
+
+        private Part variable(String close, boolean escaped) {
+            int end = template.indexOf(close, position + 2);
+            if (end < 0) {
+                throw unsupported("missing " + close);
+            }
+            String expression = template.substring(position + 2, end);
+            Matcher matcher = VARIABLE.matcher(expression);
+            if (!matcher.matches()) {
+                throw unsupported(expression);
+            }
+            position = end + close.length();
+            return new Variable(matcher.group(1), escaped);
+        }
+
+        private Part condition() {
+            int end = template.indexOf(']', position);
+            if (end < 0) {
+                throw unsupported("missing ]");
+            }
+            String attributes = template.substring(position + 2, end).trim();
+            Matcher ifMatcher = IF.matcher(attributes);
+            if (!ifMatcher.matches()) {
+                throw unsupported(attributes);
+            }
+            String expression = ifMatcher.group(1);
+            Matcher isEmpty = IS_EMPTY.matcher(expression);
+            Matcher isNotEmpty = IS_NOT_EMPTY.matcher(expression);
+            position = end + 1;
+            if (isEmpty.matches()) {
+                return new Condition(isEmpty.group(1), true, parse(true));
+            }
+            if (isNotEmpty.matches()) {
+                return new Condition(isNotEmpty.group(1), false, parse(true));
+            }
+            throw unsupported(expression);
+        }
+
+        private static void addText(List<Part> parts, StringBuilder text) {
+            if (text.length() > 0) {
+                parts.add(new Text(text.toString()));
+                text.setLength(0);
+            }
+        }
+
+        private IllegalArgumentException unsupported(String detail) {
+            return new IllegalArgumentException(
+                    String.format("Unsupported template syntax at offset %d: %s", position, detail));
+        }
+    }
+}
@@ -20,22 +20,35 @@ import org.thymeleaf.context.Context;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Renders the {@code .sqlt} templates. Each template is compiled once to a {@link TemplateEmitter}, templates that use
+ * syntax the emitter does not cover are rendered by Thymeleaf.
+ */
 public class TemplateEngine {
+    private static final String PREFIX = "/templates/";
+    private static final String SUFFIX = ".sqlt";
+
     private static TemplateEngine instance = null;
+    private static final Map<String, Optional<TemplateEmitter>> emitters = new ConcurrentHashMap<>();
     private org.thymeleaf.TemplateEngine engine = null;
     private TemplateEngine() {
         ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
         resolver.setTemplateMode(TemplateMode.TEXT);
         resolver.setCharacterEncoding("UTF-8");
-        resolver.setPrefix("/templates/");
-        resolver.setSuffix(".sqlt");
+        resolver.setPrefix(PREFIX);
+        resolver.setSuffix(SUFFIX);
         engine = new org.thymeleaf.TemplateEngine();
         engine.setTemplateResolver(resolver);
     }
 
-    public static TemplateEngine get() {
+    public static synchronized TemplateEngine get() {
         if(TemplateEngine.instance == null) {
             TemplateEngine.instance = new TemplateEngine();
         }
@@ -43,8 +56,35 @@ public class TemplateEngine {
     }
 
     public static String process(String templateName, Map<String, Object> variables) {
+        StringBuilder out = new StringBuilder();
+        process(templateName, variables, out);
+        return out.toString();
+    }
+
+    /**
+     * Appends the rendered template to {@code out}.
+     */
+    public static void process(String templateName, Map<String, Object> variables, StringBuilder out) {
+        Optional<TemplateEmitter> emitter = emitters.computeIfAbsent(templateName, TemplateEngine::compile);
+        if (emitter.isPresent()) {
+            emitter.get().emit(variables, out);
+            return;
+        }
         Context context = new Context();
         context.setVariables(variables);
-        return get().engine.process(templateName, context);
+        out.append(get().engine.process(templateName, context));
+    }
+
+    private static Optional<TemplateEmitter> compile(String templateName) {
+        try (InputStream inputStream = TemplateEngine.class.getResourceAsStream(PREFIX + templateName + SUFFIX)) {
+            if (inputStream == null) {
+                return Optional.empty();
+            }
+            return Optional.of(TemplateEmitter.compile(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Unable to read template '%s'", templateName), e);
+        }
     }
 }
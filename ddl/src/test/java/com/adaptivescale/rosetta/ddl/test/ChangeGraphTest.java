@@ -0,0 +1,129 @@
+package com.adaptivescale.rosetta.ddl.test;
+
+import com.adaptivescale.rosetta.common.models.*;
+import com.adaptivescale.rosetta.ddl.change.ChangeDDL;
+import com.adaptivescale.rosetta.ddl.change.ChangeGraph;
+import com.adaptivescale.rosetta.ddl.change.model.Change;
+import com.adaptivescale.rosetta.ddl.change.model.ChangeFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class ChangeGraphTest {
+
+    @Test
+    public void independentTablesHaveNoDependencies() {
+        ChangeGraph graph = graph(
+                ChangeFactory.tableChange(table("s", "a"), null, Change.Status.ADD),
+                ChangeFactory.tableChange(table("s", "b"), null, Change.Status.ADD));
+
+        Assertions.assertEquals(Set.of(), graph.dependencies(0));
+        Assertions.assertEquals(Set.of(), graph.dependencies(1));
+    }
+
+    @Test
+    public void tableDependsOnItsSchema() {
+        ChangeGraph graph = graph(
+                ChangeFactory.tableSchemaChange(table("s", "a"), null, Change.Status.ADD),
+                ChangeFactory.tableChange(table("s", "a"), null, Change.Status.ADD),
+                ChangeFactory.tableChange(table("other", "b"), null, Change.Status.ADD));
+
+        Assertions.assertEquals(Set.of(0), graph.dependencies(1));
+        Assertions.assertEquals(Set.of(), graph.dependencies(2));
+    }
+
+    @Test
+    public void foreignKeyDependsOnBothTables() {
+        ChangeGraph graph = graph(
+                ChangeFactory.tableChange(table("s", "parent"), null, Change.Status.ADD),
+                ChangeFactory.tableChange(table("s", "child"), null, Change.Status.ADD),
+                ChangeFactory.tableChange(table("s", "unrelated"), null, Change.Status.ADD),
+                ChangeFactory.foreignKeyChange(foreignKey("s", "child", "parent"), null, Change.Status.ADD));
+
+        Assertions.assertEquals(Set.of(0, 1), graph.dependencies(3));
+    }
+
+    @Test
+    public void droppedTableWaitsForForeignKeysReferencingIt() {
+        ChangeGraph graph = graph(
+                ChangeFactory.foreignKeyChange(null, foreignKey("s", "child", "parent"), Change.Status.DROP),
+                ChangeFactory.tableChange(null, table("s", "parent"), Change.Status.DROP));
+
+        Assertions.assertEquals(Set.of(0), graph.dependencies(1));
+    }
+
+    @Test
+    public void interleavedTableDependsOnParent() {
+        Table child = table("", "child");
+        Interleave interleave = new Interleave();
+        interleave.setTableName("child");
+        interleave.setParentName("parent");
+        child.setInterleave(interleave);
+
+        ChangeGraph graph = graph(
+                ChangeFactory.tableChange(table("", "parent"), null, Change.Status.ADD),
+                ChangeFactory.tableChange(child, null, Change.Status.ADD));
+
+        Assertions.assertEquals(Set.of(0), graph.dependencies(1));
+    }
+
+    @Test
+    public void viewDependsOnTablesInItsCode() {
+        View view = new View();
+        view.setSchema("s");
+        view.setName("v");
+        view.setCode("SELECT * FROM s.Orders o JOIN s.customers c ON o.customer_id = c.id");
+
+        ChangeGraph graph = graph(
+                ChangeFactory.tableChange(table("s", "orders"), null, Change.Status.ADD),
+                ChangeFactory.tableChange(table("s", "order_items"), null, Change.Status.ADD),
+                ChangeFactory.tableChange(table("s", "customers"), null, Change.Status.ADD),
+                ChangeFactory.viewChange(view, null, Change.Status.ADD));
+
+        Assertions.assertEquals(Set.of(0, 2), graph.dependencies(3));
+    }
+
+    @Test
+    public void changesToSameTableKeepTheirOrder() {
+        Index index = new Index();
+        index.setSchema("s");
+        index.setName("a_idx");
+        index.setTableName("a");
+
+        ChangeGraph graph = graph(
+                ChangeFactory.tableChange(table("s", "a"), null, Change.Status.ADD),
+                ChangeFactory.indexChange(index, null, Change.Status.ADD),
+                ChangeFactory.tableChange(null, table("s", "a"), Change.Status.DROP));
+
+        Assertions.assertEquals(Set.of(0), graph.dependencies(1));
+        Assertions.assertEquals(Set.of(1), graph.dependencies(2));
+    }
+
+    private static ChangeGraph graph(Change<?>... changes) {
+        List<ChangeDDL> changeDDLs = new ArrayList<>();
+        for (Change<?> change : changes) {
+            changeDDLs.add(new ChangeDDL(List.of(change), ""));
+        }
+        return ChangeGraph.of(changeDDLs);
+    }
+
+    private static Table table(String schema, String name) {
+        Table table = new Table();
+        table.setSchema(schema);
+        table.setName(name);
+        return table;
+    }
+
+    private static ForeignKey foreignKey(String schema, String tableName, String primaryTableName) {
+        ForeignKey foreignKey = new ForeignKey();
+        foreignKey.setSchema(schema);
+        foreignKey.setName(tableName + "_fk");
+        foreignKey.setTableName(tableName);
+        foreignKey.setPrimaryTableSchema(schema);
+        foreignKey.setPrimaryTableName(primaryTableName);
+        return foreignKey;
+    }
+}
@@ -70,6 +70,12 @@ public class DefaultChangeListTest {
         Assertions.assertEquals(1, (int) changes.stream().filter(change -> change.getStatus().equals(Change.Status.ALTER)).count());
     }
 
+    @Test
+    public void multipleForeignKeysOnColumnUnchanged() throws IOException {
+        List<Change<?>> changes = findChanges("multiple_foreign_keys");
+        Assertions.assertEquals(0, changes.size());
+    }
+
 
     private List<Change<?>> findChanges(String testType) throws IOException {
         Database actual = Utils.getDatabase(resourceDirectory.resolve(testType), "actual_model.yaml");
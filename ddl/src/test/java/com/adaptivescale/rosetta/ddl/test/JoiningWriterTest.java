@@ -0,0 +1,64 @@
+package com.adaptivescale.rosetta.ddl.test;
+
+import com.adaptivescale.rosetta.ddl.utils.JoiningWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class JoiningWriterTest {
+
+    @Test
+    public void delimiterIsWrittenBetweenElements() throws IOException {
+        Assertions.assertEquals("a, b, c", join(List.of("a", "b", "c"), ", ", "", ""));
+    }
+
+    @Test
+    public void singleElementHasNoDelimiter() throws IOException {
+        Assertions.assertEquals("a", join(List.of("a"), ", ", "", ""));
+    }
+
+    @Test
+    public void emptyElementsKeepTheirDelimiters() throws IOException {
+        for (List<String> elements : List.of(List.of("", "a"), List.of("a", ""), List.of("a", "", "b"), List.of("", "", "a"))) {
+            Assertions.assertEquals(elements.stream().collect(Collectors.joining(";")), join(elements, ";", "", ""));
+        }
+    }
+
+    @Test
+    public void prefixAndSuffixWrapTheJoinedText() throws IOException {
+        Assertions.assertEquals("(a;b)", join(List.of("a", "b"), ";", "(", ")"));
+        Assertions.assertEquals("(;)", join(List.of("", ""), ";", "(", ")"));
+    }
+
+    @Test
+    public void nothingIsWrittenForNoOrOnlyAnEmptyElement() throws IOException {
+        Assertions.assertEquals("", join(List.of(), ";", "(", ")"));
+        Assertions.assertEquals("", join(List.of(""), ";", "(", ")"));
+    }
+
+    @Test
+    public void elementsAreWrittenAsTheyAreAdded() throws IOException {
+        StringWriter writer = new StringWriter();
+        JoiningWriter joiningWriter = new JoiningWriter(writer, ";", "(", ")");
+        joiningWriter.add("a");
+        Assertions.assertEquals("(a", writer.toString());
+        joiningWriter.add("b");
+        Assertions.assertEquals("(a;b", writer.toString());
+        joiningWriter.finish();
+        Assertions.assertEquals("(a;b)", writer.toString());
+    }
+
+    private static String join(List<String> elements, String delimiter, String prefix, String suffix) throws IOException {
+        StringWriter writer = new StringWriter();
+        JoiningWriter joiningWriter = new JoiningWriter(writer, delimiter, prefix, suffix);
+        for (String element : elements) {
+            joiningWriter.add(element);
+        }
+        joiningWriter.finish();
+        return writer.toString();
+    }
+}
@@ -53,6 +53,12 @@ public class MySqlDDLTest {
         Assertions.assertEquals("ALTER TABLE `Position` ADD COLUMN `DESCRIPTION` varchar(0) NULL;", ddl);
     }
 
+    @Test
+    public void addColumnOnline() throws IOException {
+        String ddl = generateDDL("add_column", true);
+        Assertions.assertEquals("ALTER TABLE `Position` ADD COLUMN `DESCRIPTION` varchar(0) NULL, ALGORITHM=INPLACE, LOCK=NONE;", ddl);
+    }
+
     @Test
     public void addColumnWithForeignKey() throws IOException {
         String ddl = generateDDL("add_column_with_foreign_key");
@@ -79,6 +85,18 @@ public class MySqlDDLTest {
         Assertions.assertEquals("ALTER TABLE `PLAYER` MODIFY `name` INTEGER NULL;", ddl);
     }
 
+    @Test
+    public void alterMultipleColumns() throws IOException {
+        String ddl = generateDDL("alter_multiple_columns");
+        Assertions.assertEquals("ALTER TABLE `PLAYER` DROP COLUMN `NICKNAME`, MODIFY `name` INTEGER NULL, ADD COLUMN `AGE` numeric NULL;", ddl);
+    }
+
+    @Test
+    public void alterMultipleColumnsOnline() throws IOException {
+        String ddl = generateDDL("alter_multiple_columns", true);
+        Assertions.assertEquals("ALTER TABLE `PLAYER` DROP COLUMN `NICKNAME`, MODIFY `name` INTEGER NULL, ADD COLUMN `AGE` numeric NULL, ALGORITHM=INPLACE, LOCK=NONE;", ddl);
+    }
+
     @Test
     public void alterColumnToNullable() throws IOException {
         String ddl = generateDDL("alter_column_to_nullable");
@@ -142,7 +160,7 @@ public class MySqlDDLTest {
     public void alterPrimaryKey() throws IOException {
         String ddl = generateDDL("alter_primary_key");
         Assertions.assertEquals("\r" +
-                "ALTER TABLE `PLAYER` DROP PRIMARY KEY, ADD PRIMARY KEY (`ID`, `POSITION_ID`);\r", ddl);
+                "ALTER TABLE `PLAYER` DROP PRIMARY KEY, ADD PRIMARY KEY (`ID`, `POSITION_ID`);", ddl);
     }
 
     @Test
@@ -177,11 +195,17 @@ public class MySqlDDLTest {
     }
 
     private String generateDDL(String testType) throws IOException {
+        return generateDDL(testType, false);
+    }
+
+    private String generateDDL(String testType, boolean online) throws IOException {
         Database actual = Utils.getDatabase(resourceDirectory.resolve(testType), "actual_model.yaml");
         Database expected = Utils.getDatabase(resourceDirectory.resolve(testType), "expected_model.yaml");
         MySQLChangeFinder mySQLChangeFinder = new MySQLChangeFinder();
         List<Change<?>> changes = mySQLChangeFinder.findChanges(expected, actual);
-        ChangeHandler handler = new ChangeHandlerImplementation(new MySqlDDLGenerator(), new MysqlForeignKeyChangeComparator());
+        MySqlDDLGenerator ddl = new MySqlDDLGenerator();
+        ddl.setOnline(online);
+        ChangeHandler handler = new ChangeHandlerImplementation(ddl, new MysqlForeignKeyChangeComparator());
         return handler.createDDLForChanges(changes);
     }
 }
@@ -81,6 +81,12 @@ public class PostgresDDLTest {
         Assertions.assertEquals("ALTER TABLE \"PLAYER\" ALTER COLUMN \"name\" SET DATA TYPE INTEGER;\n", ddl.replaceAll("(?m)^[ \t]*\r?\n", ""));
     }
 
+    @Test
+    public void alterMultipleColumns() throws IOException {
+        String ddl = generateDDL("alter_multiple_columns");
+        Assertions.assertEquals("ALTER TABLE \"PLAYER\" DROP COLUMN \"NICKNAME\", ALTER COLUMN \"name\" SET DATA TYPE INTEGER, ADD COLUMN \"AGE\" numeric;\n", ddl.replaceAll("(?m)^[ \t]*\r?\n", ""));
+    }
+
     @Test
     public void alterColumnToNullable() throws IOException {
         String ddl = generateDDL("alter_column_to_nullable");
@@ -120,6 +126,13 @@ public class PostgresDDLTest {
         Assertions.assertEquals("ALTER TABLE \"PLAYER\" ADD CONSTRAINT PLAYER_FK FOREIGN KEY (\"POSITION_ID\") REFERENCES \"Position\"(\"ID\") ON DELETE NO ACTION;\n", ddl.replaceAll("(?m)^[ \t]*\r?\n", ""));
     }
 
+    @Test
+    public void addForeignKeyOnline() throws IOException {
+        String ddl = generateDDL("add_foreign_key", true);
+        Assertions.assertEquals("ALTER TABLE \"PLAYER\" ADD CONSTRAINT PLAYER_FK FOREIGN KEY (\"POSITION_ID\") REFERENCES \"Position\"(\"ID\") ON DELETE NO ACTION NOT VALID;\n" +
+                "ALTER TABLE \"PLAYER\" VALIDATE CONSTRAINT PLAYER_FK;\n", ddl.replaceAll("(?m)^[ \t]*\r?\n", ""));
+    }
+
     @Test
     public void dropForeignKey() throws IOException {
         String ddl = generateDDL("drop_foreign_key");
@@ -143,8 +156,7 @@ public class PostgresDDLTest {
     public void alterPrimaryKey() throws IOException {
         String ddl = generateDDL("alter_primary_key");
         Assertions.assertEquals("ALTER TABLE \"PLAYER\" DROP CONSTRAINT \"PLAYER_pkey\";\n" +
-                "ALTER TABLE \"PLAYER\" ADD PRIMARY KEY (\"ID\", \"POSITION_ID\");\n" +
-                "\r", ddl.replaceAll("(?m)^[ \t]*\r?\n", ""));
+                "ALTER TABLE \"PLAYER\" ADD PRIMARY KEY (\"ID\", \"POSITION_ID\");\n", ddl.replaceAll("(?m)^[ \t]*\r?\n", ""));
     }
 
     @Test
@@ -298,11 +310,17 @@ public class PostgresDDLTest {
     }
 
     private String generateDDL(String testType) throws IOException {
+        return generateDDL(testType, false);
+    }
+
+    private String generateDDL(String testType, boolean online) throws IOException {
         Database actual = Utils.getDatabase(resourceDirectory.resolve(testType), "actual_model.yaml");
         Database expected = Utils.getDatabase(resourceDirectory.resolve(testType), "expected_model.yaml");
         ChangeFinder postgresChangeFinder = new PostgresChangeFinder();
         List<Change<?>> changes = postgresChangeFinder.findChanges(expected, actual);
-        ChangeHandler handler = new ChangeHandlerImplementation(new PostgresDDLGenerator(), new PostgresForeignKeyChangeComparator());
+        PostgresDDLGenerator ddl = new PostgresDDLGenerator();
+        ddl.setOnline(online);
+        ChangeHandler handler = new ChangeHandlerImplementation(ddl, new PostgresForeignKeyChangeComparator());
         return handler.createDDLForChanges(changes);
     }
 }
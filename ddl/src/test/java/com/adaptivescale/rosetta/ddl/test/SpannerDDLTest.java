@@ -4,6 +4,7 @@ import com.adaptivescale.rosetta.common.models.Database;
 import com.adaptivescale.rosetta.ddl.change.ChangeHandler;
 import com.adaptivescale.rosetta.ddl.change.ChangeHandlerImplementation;
 import com.adaptivescale.rosetta.ddl.change.DefaultChangeFinder;
+import com.adaptivescale.rosetta.ddl.change.SpannerChangeFinder;
 import com.adaptivescale.rosetta.ddl.change.model.Change;
 import com.adaptivescale.rosetta.ddl.targets.spanner.SpannerDDLGenerator;
 import org.junit.jupiter.api.Assertions;
@@ -102,6 +103,17 @@ public class SpannerDDLTest {
                               ";", ddl);
     }
 
+    @Test
+    public void tablesArePairedByNameAndViewsBySchemaAndName() throws IOException {
+        Database actual = Utils.getDatabase(resourceDirectory.resolve("view_schema"), "actual_model.yaml");
+        Database expected = Utils.getDatabase(resourceDirectory.resolve("view_schema"), "expected_model.yaml");
+        List<Change<?>> changes = new SpannerChangeFinder().findChanges(expected, actual);
+        Assertions.assertEquals(2, changes.size());
+        Assertions.assertTrue(changes.stream().allMatch(change -> change.getType() == Change.Type.VIEW));
+        Assertions.assertEquals(1, changes.stream().filter(change -> change.getStatus() == Change.Status.ADD).count());
+        Assertions.assertEquals(1, changes.stream().filter(change -> change.getStatus() == Change.Status.DROP).count());
+    }
+
     private String generateDDL(String testType) throws IOException {
         Database actual = Utils.getDatabase(resourceDirectory.resolve(testType), "actual_model.yaml");
         Database expected = Utils.getDatabase(resourceDirectory.resolve(testType), "expected_model.yaml");
@@ -0,0 +1,72 @@
+package com.adaptivescale.rosetta.ddl.test;
+
+import com.adaptivescale.rosetta.ddl.utils.SqlStatementSplitter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class SqlStatementSplitterTest {
+
+    private final SqlStatementSplitter splitter = new SqlStatementSplitter();
+
+    @Test
+    public void splitsOnSemicolons() {
+        Assertions.assertEquals(List.of("CREATE SCHEMA s", "CREATE TABLE s.t(id int)"),
+                splitter.split("CREATE SCHEMA s;\r\rCREATE TABLE s.t(id int);\r"));
+    }
+
+    @Test
+    public void keepsStatementWithoutTrailingSemicolon() {
+        Assertions.assertEquals(List.of("DROP TABLE a", "DROP TABLE b"), splitter.split("DROP TABLE a;\nDROP TABLE b"));
+    }
+
+    @Test
+    public void ignoresSemicolonsInQuotes() {
+        Assertions.assertEquals(List.of(
+                "ALTER TABLE t ALTER COLUMN c SET DEFAULT 'a;b'",
+                "COMMENT ON TABLE \"x;y\" IS 'it''s; fine'",
+                "CREATE TABLE `a;b` (id INT64)"),
+                splitter.split("ALTER TABLE t ALTER COLUMN c SET DEFAULT 'a;b';"
+                        + "COMMENT ON TABLE \"x;y\" IS 'it''s; fine';"
+                        + "CREATE TABLE `a;b` (id INT64);"));
+    }
+
+    @Test
+    public void ignoresSemicolonsInComments() {
+        Assertions.assertEquals(List.of("-- first; line\nCREATE TABLE a(id int)", "/* b; */ DROP TABLE b"),
+                splitter.split("-- first; line\nCREATE TABLE a(id int); /* b; */ DROP TABLE b;"));
+    }
+
+    @Test
+    public void dropsCommentOnlyStatements() {
+        Assertions.assertEquals(List.of("DROP TABLE a"), splitter.split("DROP TABLE a; -- done\n /* ; */ ;"));
+    }
+
+    @Test
+    public void ignoresSemicolonsInDollarQuotedBodies() {
+        String function = "CREATE FUNCTION f() RETURNS int AS $body$ BEGIN RETURN 1; END; $body$ LANGUAGE plpgsql";
+        Assertions.assertEquals(List.of(function, "SELECT $1"), splitter.split(function + ";\nSELECT $1;"));
+        Assertions.assertEquals(List.of("DO $$ BEGIN PERFORM 1; END $$"), splitter.split("DO $$ BEGIN PERFORM 1; END $$;"));
+    }
+
+    @Test
+    public void viewBodyIsOneStatement() {
+        String view = "CREATE VIEW v AS SELECT ';' AS s, \"semi;colon\" FROM t WHERE c <> ';'";
+        Assertions.assertEquals(List.of(view, "DROP VIEW w"), splitter.split(view + ";\rDROP VIEW w;"));
+    }
+
+    @Test
+    public void backslashEscapes() {
+        String sql = "INSERT INTO t VALUES ('it\\'s; here')";
+        Assertions.assertEquals(List.of(sql, "SELECT 1"), new SqlStatementSplitter(true).split(sql + ";SELECT 1;"));
+        Assertions.assertEquals(List.of("SELECT 'C:\\'", "SELECT 1"), splitter.split("SELECT 'C:\\';SELECT 1;"));
+    }
+
+    @Test
+    public void emptyScript() {
+        Assertions.assertTrue(splitter.split("").isEmpty());
+        Assertions.assertTrue(splitter.split(null).isEmpty());
+        Assertions.assertTrue(splitter.split(" ;\r\n; ").isEmpty());
+    }
+}
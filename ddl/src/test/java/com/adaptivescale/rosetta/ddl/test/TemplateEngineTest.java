@@ -0,0 +1,109 @@
+package com.adaptivescale.rosetta.ddl.test;
+
+import com.adaptivescale.rosetta.ddl.utils.TemplateEmitter;
+import com.adaptivescale.rosetta.ddl.utils.TemplateEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TemplateEngineTest {
+
+    private static final Path templateDirectory = Paths.get("src", "main", "resources", "templates");
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{(\\w+)}");
+
+    @Test
+    public void emittersMatchThymeleaf() throws IOException {
+        org.thymeleaf.TemplateEngine thymeleaf = thymeleaf();
+        int compared = 0;
+
+        for (Path file : templates()) {
+            String source = Files.readString(file);
+            try {
+                TemplateEmitter.compile(source);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            String templateName = templateName(file);
+            for (Map<String, Object> variables : variableSets(source)) {
+                Context context = new Context();
+                context.setVariables(variables);
+                Assertions.assertEquals(thymeleaf.process(templateName, context),
+                        TemplateEngine.process(templateName, variables), templateName + " " + variables);
+                compared++;
+            }
+        }
+
+        Assertions.assertTrue(compared > 0);
+    }
+
+    @Test
+    public void unsupportedSyntaxFallsBackToThymeleaf() throws IOException {
+        String source = Files.readString(templateDirectory.resolve("python/spark_code.sqlt"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TemplateEmitter.compile(source));
+    }
+
+    @Test
+    public void appendsToBuilder() {
+        StringBuilder out = new StringBuilder("-- ");
+        TemplateEngine.process("oracle/table/drop", Map.of("schemaName", "S", "tableName", "T"), out);
+        Assertions.assertEquals("-- ALTER SESSION SET CURRENT_SCHEMA = \"S\";\nDROP TABLE \"T\";", out.toString());
+    }
+
+    private static List<Map<String, Object>> variableSets(String source) {
+        Set<String> names = new TreeSet<>();
+        Matcher matcher = VARIABLE.matcher(source);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+
+        List<Map<String, Object>> variableSets = new ArrayList<>();
+        for (String value : Arrays.asList(null, "", "ROSETTA", "a<b>&\"c'")) {
+            Map<String, Object> variables = new HashMap<>();
+            for (String name : names) {
+                variables.put(name, value == null || value.isEmpty() ? value : name + "_" + value);
+            }
+            variableSets.add(variables);
+
+            Map<String, Object> onlySchemaChanged = new HashMap<>();
+            names.forEach(name -> onlySchemaChanged.put(name, name));
+            onlySchemaChanged.put("schemaName", value);
+            variableSets.add(onlySchemaChanged);
+        }
+        return variableSets;
+    }
+
+    private static List<Path> templates() throws IOException {
+        try (Stream<Path> files = Files.walk(templateDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".sqlt")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static String templateName(Path file) {
+        String relative = templateDirectory.relativize(file).toString().replace('\\', '/');
+        return relative.substring(0, relative.length() - ".sqlt".length());
+    }
+
+    private static org.thymeleaf.TemplateEngine thymeleaf() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setTemplateMode(TemplateMode.TEXT);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setPrefix("/templates/");
+        resolver.setSuffix(".sqlt");
+        org.thymeleaf.TemplateEngine engine = new org.thymeleaf.TemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+}
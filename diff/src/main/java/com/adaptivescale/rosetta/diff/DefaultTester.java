@@ -1,307 +1,180 @@
 package com.adaptivescale.rosetta.diff;
 
 import com.adaptivescale.rosetta.common.models.*;
+import com.adaptivescale.rosetta.diff.model.DiffRecord;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class DefaultTester implements Diff<List<String>, Database, Database> {
 
-    private static final String TABLE_COLUMNS_CHANGED_FORMAT = "Table Changed: Table '%s' columns changed in the target database.";
-    private static final String TABLE_REMOVED_FORMAT = "Table '%s' exists in the model, but it does not exist in the target database.";
-    private static final String TABLE_ADDED_FORMAT = "Table '%s' does not exist in the model, but it exists in the target database.";
-
-    private static final String COLUMN_CHANGED_FORMAT = "Column Changed: Column '%s' in table '%s' changed '%s'. New value: '%s', old value: '%s'";
-    private static final String COLUMN_REMOVED_FORMAT = "Column '%s' in table '%s' exists in the model, but it does not exist in the target database.";
-    private static final String COLUMN_ADDED_FORMAT = "Column '%s' in table '%s' does not exist in the model, but it exists in the target database.";
-
-    private static final String COLUMN_FOREIGN_KEY_CHANGED = "Foreign Key Changed: FK '%s' on Column '%s' in table '%s' changed '%s'. New value: '%s', old value: '%s'";
-    private static final String COLUMN_FOREIGN_KEY_REMOVED = "ForeignKey '%s' on Column '%s' in table '%s' exists in the model, but it does not exist in the target database.";
-    private static final String COLUMN_FOREIGN_KEY_ADDED = "ForeignKey '%s' on Column '%s' in table '%s' does not exist in the model, but it exists in the target database.";
-
-    private static final String INDEX_CHANGED_FORMAT = "Index Changed: Index '%s'";
-    private static final String INDEX_REMOVED_FORMAT = "Index '%s' exists in the model, but it does not exist in the target database.";
-    private static final String INDEX_ADDED_FORMAT = "Index '%s' does not exist in the model, but it exists in the target database.";
-
-    private static final String VIEW_COLUMNS_CHANGED_FORMAT = "View Changed: View '%s' columns changed";
-    private static final String VIEW_REMOVED_FORMAT = "View '%s' exists in the model, but it does not exist in the target database.";
-    private static final String VIEW_ADDED_FORMAT = "View '%s' does not exist in the model, but it exists in the target database.";
-
-    private static final String INTERLEAVED_CHANGED_FORMAT = "Interleaved Changed: Table '%s'";
-    private static final String INTERLEAVED_REMOVED_FORMAT = "Interleaved '%s' table exists in the model, but it does not exist in the target database.";
-    private static final String INTERLEAVED_ADDED_FORMAT = "Interleaved '%s' table does not exist in the model, but it exists in the target database.";
-
+    private static final List<Map.Entry<String, Function<Column, Object>>> COLUMN_PROPERTIES = List.of(
+            Map.entry("Description", Column::getDescription),
+            Map.entry("Display Size", Column::getColumnDisplaySize),
+            Map.entry("Label", Column::getLabel),
+            Map.entry("Ordinal Position", Column::getOrdinalPosition),
+            Map.entry("Precision", Column::getPrecision),
+            Map.entry("Type Name", Column::getTypeName),
+            Map.entry("Autoincrement", Column::isAutoincrement),
+            Map.entry("Primary key", Column::isPrimaryKey),
+            Map.entry("Nullable", Column::isNullable)
+    );
+
+    private static final List<Map.Entry<String, Function<ForeignKey, Object>>> FOREIGN_KEY_PROPERTIES = List.of(
+            Map.entry("Delete Rule", ForeignKey::getDeleteRule),
+            Map.entry("Primary Key Column Name", ForeignKey::getPrimaryColumnName),
+            Map.entry("Primary Key Table Name", ForeignKey::getPrimaryTableName),
+            Map.entry("Primary Key Schema Name", ForeignKey::getPrimaryTableSchema)
+    );
 
     @Override
     public List<String> find(Database localValue, Database targetValue) {
-
         List<String> changes = new ArrayList<>();
+        find(localValue, targetValue, record -> changes.add(TextDiffRenderer.render(record)));
+        return changes;
+    }
+
+    /**
+     * Streams the differences between the local model and the target database to {@code sink}, in the same order as
+     * the lines returned by {@link #find(Database, Database)}.
+     */
+    public void find(Database localValue, Database targetValue, Consumer<DiffRecord> sink) {
+        Map<String, Table> targetTables = indexByName(targetValue.getTables(), Table::getName);
 
         //do we need to check for root properties if are changed
         for (Table table : localValue.getTables()) {
-            List<String> columnsChangesLogs = new ArrayList<>();
-            Optional<Table> targetTable = getTable(table.getName(), targetValue);
-            if (targetTable.isEmpty()) {
+            Table targetTable = targetTables.get(table.getName());
+            if (targetTable == null) {
                 //this table is removed
-                changes.add(String.format(TABLE_REMOVED_FORMAT, table.getName()));
+                sink.accept(DiffRecord.table(DiffRecord.Element.TABLE, DiffRecord.Status.REMOVED, table.getName()));
                 continue;
             }
 
-            List<String> tableInterleaveChanges = checkForInterleaveChanges(table, targetTable.get());
-            changes.addAll(tableInterleaveChanges);
-
-            Collection<Column> columns = table.getColumns();
-            for (Column localColumn : columns) {
-                Optional<Column> targetColumn = getColumn(localColumn.getName(), targetTable.get());
-                if (targetColumn.isEmpty()) {
-                    //this column was removed
-                    columnsChangesLogs.add(String.format(COLUMN_REMOVED_FORMAT, localColumn.getName(), table.getName()));
-                    continue;
-                }
-
-                if (!Objects.equals(localColumn.getDescription(), targetColumn.get().getDescription())) {
-                    String description = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Description", localColumn.getDescription(),
-                            targetColumn.get().getDescription());
-                    columnsChangesLogs.add(description);
-                }
-
-                if (!Objects.equals(localColumn.getColumnDisplaySize(), targetColumn.get().getColumnDisplaySize())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Display Size", localColumn.getColumnDisplaySize(),
-                            targetColumn.get().getColumnDisplaySize());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.getLabel(), targetColumn.get().getLabel())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Label", localColumn.getLabel(),
-                            targetColumn.get().getLabel());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.getOrdinalPosition(), targetColumn.get().getOrdinalPosition())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Ordinal Position", localColumn.getOrdinalPosition(),
-                            targetColumn.get().getOrdinalPosition());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.getPrecision(), targetColumn.get().getPrecision())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Precision", localColumn.getPrecision(),
-                            targetColumn.get().getPrecision());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.getTypeName(), targetColumn.get().getTypeName())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Type Name", localColumn.getTypeName(),
-                            targetColumn.get().getTypeName());
-                    columnsChangesLogs.add(result);
-                }
+            checkForInterleaveChanges(table, targetTable, sink);
 
-                if (!Objects.equals(localColumn.isAutoincrement(), targetColumn.get().isAutoincrement())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Autoincrement", localColumn.isAutoincrement(),
-                            targetColumn.get().isAutoincrement());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.isPrimaryKey(), targetColumn.get().isPrimaryKey())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Primary key", localColumn.isPrimaryKey(),
-                            targetColumn.get().isPrimaryKey());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.isNullable(), targetColumn.get().isNullable())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Nullable", localColumn.isNullable(),
-                            targetColumn.get().isNullable());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.getColumnProperties(), targetColumn.get().getColumnProperties())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            table.getName(), "Column Properties", localColumn.columnPropertiesAsString(),
-                            targetColumn.get().columnPropertiesAsString());
-                    columnsChangesLogs.add(result);
-                }
-
-                columnsChangesLogs.addAll(sameForeignKeys(localColumn.getForeignKeys(), targetColumn.get().getForeignKeys()));
-            }
-
-            //check what columns are added, by filtering what is not in local model
-            Set<String> localColumnsName = columns.stream().map(Column::getName).collect(Collectors.toSet());
-            List<Column> addedColumns = targetTable
-                    .get()
-                    .getColumns()
-                    .stream()
-                    .filter(column -> !localColumnsName.contains(column.getName()))
-                    .collect(Collectors.toList());
-
-            addedColumns.forEach(column -> columnsChangesLogs.add(String.format(COLUMN_ADDED_FORMAT, column.getName(), table.getName())));
-            if (columnsChangesLogs.size() > 0) {
-                changes.add(String.format(TABLE_COLUMNS_CHANGED_FORMAT, table.getName()));
-                changes.addAll(columnsChangesLogs);
+            List<DiffRecord> columnChanges = findColumnChanges(table, targetTable, true);
+            if (columnChanges.size() > 0) {
+                sink.accept(DiffRecord.table(DiffRecord.Element.TABLE, DiffRecord.Status.CHANGED, table.getName()));
+                columnChanges.forEach(sink);
             }
 
-            changes.addAll(sameIndices(table.getIndices(), targetTable.get().getIndices()));
+            sameIndices(table.getName(), table.getIndices(), targetTable.getIndices(), sink);
         }
 
         Set<String> localTablesName = localValue.getTables().stream().map(Table::getName).collect(Collectors.toSet());
-        List<Table> tablesAdded = targetValue
-                .getTables()
+        targetValue.getTables()
                 .stream()
                 .filter(table -> !localTablesName.contains(table.getName()))
-                .collect(Collectors.toList());
-        tablesAdded.forEach(table -> changes.add(String.format(TABLE_ADDED_FORMAT, table.getName())));
+                .forEach(table -> sink.accept(DiffRecord.table(DiffRecord.Element.TABLE, DiffRecord.Status.ADDED, table.getName())));
 
         // Check views for changes
-        testViews(localValue, targetValue, changes);
-        return changes;
+        testViews(localValue, targetValue, sink);
     }
 
-    private List<String> checkForInterleaveChanges(Table localTable, Table targetTable) {
-        List<String> changes = new ArrayList<>();
+    /**
+     * Whether the column properties of a column are unchanged.
+     */
+    protected boolean sameColumnProperties(List<ColumnProperties> local, List<ColumnProperties> target) {
+        return Objects.equals(local, target);
+    }
+
+    protected boolean comparesForeignKeys() {
+        return true;
+    }
+
+    private void checkForInterleaveChanges(Table localTable, Table targetTable, Consumer<DiffRecord> sink) {
         if (localTable.getInterleave() != null && targetTable.getInterleave() == null) {
-            changes.add(String.format(INTERLEAVED_REMOVED_FORMAT, localTable.getName()));
+            sink.accept(DiffRecord.table(DiffRecord.Element.INTERLEAVE, DiffRecord.Status.REMOVED, localTable.getName()));
         }
         if (localTable.getInterleave() == null && targetTable.getInterleave() != null) {
-            changes.add(String.format(INTERLEAVED_ADDED_FORMAT, localTable.getName()));
+            sink.accept(DiffRecord.table(DiffRecord.Element.INTERLEAVE, DiffRecord.Status.ADDED, localTable.getName()));
         }
 
         if (localTable.getInterleave() != null &&
             targetTable.getInterleave() != null &&
             !localTable.getInterleave().equals(targetTable.getInterleave())) {
-            changes.add(String.format(INTERLEAVED_CHANGED_FORMAT, localTable.getName()));
+            sink.accept(DiffRecord.table(DiffRecord.Element.INTERLEAVE, DiffRecord.Status.CHANGED, localTable.getName()));
         }
-
-        return changes;
     }
 
-    private void testViews(Database localValue, Database targetValue, List<String> changes) {
+    private void testViews(Database localValue, Database targetValue, Consumer<DiffRecord> sink) {
         Collection<View> localViews = Optional.ofNullable(localValue.getViews())
             .orElse(Collections.emptyList());
+        Collection<View> targetViews = Optional.ofNullable(targetValue.getViews())
+            .orElse(Collections.emptyList());
+        Map<String, View> targetViewsByName = indexByName(targetViews, View::getName);
 
         //do we need to check for root properties if are changed
         for (View view : localViews) {
-            List<String> columnsChangesLogs = new ArrayList<>();
-            Optional<View> targetView = getView(view.getName(), targetValue);
-            if (targetView.isEmpty()) {
+            View targetView = targetViewsByName.get(view.getName());
+            if (targetView == null) {
                 //this view is removed
-                changes.add(String.format(VIEW_REMOVED_FORMAT, view.getName()));
+                sink.accept(DiffRecord.table(DiffRecord.Element.VIEW, DiffRecord.Status.REMOVED, view.getName()));
                 continue;
             }
 
-            Collection<Column> columns = view.getColumns();
-            for (Column localColumn : columns) {
-                Optional<Column> targetColumn = getColumn(localColumn.getName(), targetView.get());
-                if (targetColumn.isEmpty()) {
-                    //this column was removed
-                    columnsChangesLogs.add(String.format(COLUMN_REMOVED_FORMAT, localColumn.getName(), view.getName()));
-                    continue;
-                }
-
-                if (!Objects.equals(localColumn.getDescription(), targetColumn.get().getDescription())) {
-                    String description = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Description", localColumn.getDescription(),
-                            targetColumn.get().getDescription());
-                    columnsChangesLogs.add(description);
-                }
-
-                if (!Objects.equals(localColumn.getColumnDisplaySize(), targetColumn.get().getColumnDisplaySize())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Display Size", localColumn.getColumnDisplaySize(),
-                            targetColumn.get().getColumnDisplaySize());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.getLabel(), targetColumn.get().getLabel())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Label", localColumn.getLabel(),
-                            targetColumn.get().getLabel());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.getOrdinalPosition(), targetColumn.get().getOrdinalPosition())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Ordinal Position", localColumn.getOrdinalPosition(),
-                            targetColumn.get().getOrdinalPosition());
-                    columnsChangesLogs.add(result);
-                }
-
-                if (!Objects.equals(localColumn.getPrecision(), targetColumn.get().getPrecision())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Precision", localColumn.getPrecision(),
-                            targetColumn.get().getPrecision());
-                    columnsChangesLogs.add(result);
-                }
+            List<DiffRecord> columnChanges = findColumnChanges(view, targetView, false);
+            if (columnChanges.size() > 0) {
+                sink.accept(DiffRecord.table(DiffRecord.Element.VIEW, DiffRecord.Status.CHANGED, view.getName()));
+                columnChanges.forEach(sink);
+            }
 
-                if (!Objects.equals(localColumn.getTypeName(), targetColumn.get().getTypeName())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Type Name", localColumn.getTypeName(),
-                            targetColumn.get().getTypeName());
-                    columnsChangesLogs.add(result);
-                }
+            sameIndices(view.getName(), view.getIndices(), targetView.getIndices(), sink);
+        }
+        Set<String> localViewName = localViews.stream().map(View::getName).collect(Collectors.toSet());
+        targetViews
+                .stream()
+                .filter(view -> !localViewName.contains(view.getName()))
+                .forEach(view -> sink.accept(DiffRecord.table(DiffRecord.Element.VIEW, DiffRecord.Status.ADDED, view.getName())));
+    }
 
-                if (!Objects.equals(localColumn.isAutoincrement(), targetColumn.get().isAutoincrement())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Autoincrement", localColumn.isAutoincrement(),
-                            targetColumn.get().isAutoincrement());
-                    columnsChangesLogs.add(result);
-                }
+    private List<DiffRecord> findColumnChanges(Table table, Table targetTable, boolean compareColumnProperties) {
+        List<DiffRecord> changes = new ArrayList<>();
+        Map<String, Column> targetColumns = indexByName(targetTable.getColumns(), Column::getName);
 
-                if (!Objects.equals(localColumn.isPrimaryKey(), targetColumn.get().isPrimaryKey())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Primary key", localColumn.isPrimaryKey(),
-                            targetColumn.get().isPrimaryKey());
-                    columnsChangesLogs.add(result);
-                }
+        Collection<Column> columns = table.getColumns();
+        for (Column localColumn : columns) {
+            Column targetColumn = targetColumns.get(localColumn.getName());
+            if (targetColumn == null) {
+                //this column was removed
+                changes.add(DiffRecord.column(DiffRecord.Status.REMOVED, table.getName(), localColumn.getName()));
+                continue;
+            }
 
-                if (!Objects.equals(localColumn.isNullable(), targetColumn.get().isNullable())) {
-                    String result = String.format(COLUMN_CHANGED_FORMAT, localColumn.getName(),
-                            view.getName(), "Nullable", localColumn.isNullable(),
-                            targetColumn.get().isNullable());
-                    columnsChangesLogs.add(result);
+            for (Map.Entry<String, Function<Column, Object>> property : COLUMN_PROPERTIES) {
+                Object localProperty = property.getValue().apply(localColumn);
+                Object targetProperty = property.getValue().apply(targetColumn);
+                if (!Objects.equals(localProperty, targetProperty)) {
+                    changes.add(DiffRecord.columnProperty(table.getName(), localColumn.getName(), property.getKey(),
+                            localProperty, targetProperty));
                 }
-
-                columnsChangesLogs.addAll(sameForeignKeys(localColumn.getForeignKeys(), targetColumn.get().getForeignKeys()));
             }
 
-            //check what columns are added, by filtering what is not in local model
-            Set<String> localColumnsName = columns.stream().map(Column::getName).collect(Collectors.toSet());
-            List<Column> addedColumns = targetView
-                    .get()
-                    .getColumns()
-                    .stream()
-                    .filter(column -> !localColumnsName.contains(column.getName()))
-                    .collect(Collectors.toList());
-
-            addedColumns.forEach(column -> columnsChangesLogs.add(String.format(COLUMN_ADDED_FORMAT, column.getName(), view.getName())));
-            if (columnsChangesLogs.size() > 0) {
-                changes.add(String.format(VIEW_COLUMNS_CHANGED_FORMAT, view.getName()));
-                changes.addAll(columnsChangesLogs);
+            if (compareColumnProperties
+                    && !sameColumnProperties(localColumn.getColumnProperties(), targetColumn.getColumnProperties())) {
+                changes.add(DiffRecord.columnProperty(table.getName(), localColumn.getName(), "Column Properties",
+                        localColumn.columnPropertiesAsString(), targetColumn.columnPropertiesAsString()));
             }
 
-            changes.addAll(sameIndices(view.getIndices(), targetView.get().getIndices()));
+            if (comparesForeignKeys()) {
+                sameForeignKeys(localColumn.getForeignKeys(), targetColumn.getForeignKeys(), changes::add);
+            }
         }
-        Set<String> localViewName = localViews.stream().map(View::getName).collect(Collectors.toSet());
-        List<View> viewsAdded = targetValue
-                .getViews()
+
+        //check what columns are added, by filtering what is not in local model
+        Set<String> localColumnsName = columns.stream().map(Column::getName).collect(Collectors.toSet());
+        targetTable.getColumns()
                 .stream()
-                .filter(view -> !localViewName.contains(view.getName()))
-                .collect(Collectors.toList());
-        viewsAdded.forEach(view -> changes.add(String.format(VIEW_ADDED_FORMAT, view.getName())));
+                .filter(column -> !localColumnsName.contains(column.getName()))
+                .forEach(column -> changes.add(DiffRecord.column(DiffRecord.Status.ADDED, table.getName(), column.getName())));
+        return changes;
     }
 
-
-    private List<String> sameIndices(List<Index> localIndices, List<Index> targetIndices) {
-        List<String> changeLogs = new ArrayList<>();
-
+    private void sameIndices(String tableName, List<Index> localIndices, List<Index> targetIndices, Consumer<DiffRecord> sink) {
         if (localIndices == targetIndices) {
-            return changeLogs;
+            return;
         }
         if (localIndices == null) {
             localIndices = new ArrayList<>();
@@ -311,25 +184,17 @@ public class DefaultTester implements Diff<List<String>, Database, Database> {
             targetIndices = new ArrayList<>();
         }
 
+        Map<String, Index> targetIndicesByName = indexByName(targetIndices, Index::getName);
         for (Index localIndex : localIndices) {
-            Optional<Index> targetIndex = getIndexByName(targetIndices, localIndex);
-            if (targetIndex.isEmpty()) {
-                // foreign key is removed
-                String change = String.format(INDEX_REMOVED_FORMAT,
-                    localIndex.getName(),
-                    localIndex.getColumnNames(),
-                    localIndex.getTableName());
-                changeLogs.add(change);
+            Index targetIndex = targetIndicesByName.get(localIndex.getName());
+            if (targetIndex == null) {
+                // index is removed
+                sink.accept(indexRecord(DiffRecord.Status.REMOVED, tableName, localIndex));
                 continue;
             }
 
-            if (!Objects.equals(localIndex, targetIndex.get())) {
-                String change = String.format(INDEX_CHANGED_FORMAT,
-                        localIndex.getName(),
-                        localIndex.getColumnNames(),
-                        localIndex.getTableName());
-
-                changeLogs.add(change);
+            if (!Objects.equals(localIndex, targetIndex)) {
+                sink.accept(indexRecord(DiffRecord.Status.CHANGED, tableName, localIndex));
             }
         }
 
@@ -337,23 +202,12 @@ public class DefaultTester implements Diff<List<String>, Database, Database> {
         targetIndices
             .stream()
             .filter(index -> !localIndicesNames.contains(index.getName()))
-            .forEach(index -> {
-                String change = String.format(INDEX_ADDED_FORMAT,
-                        index.getName(),
-                        index.getColumnNames(),
-                        index.getTableName());
-                changeLogs.add(change);
-            });
-
-        return changeLogs;
+            .forEach(index -> sink.accept(indexRecord(DiffRecord.Status.ADDED, tableName, index)));
     }
 
-    private List<String> sameForeignKeys(List<ForeignKey> localForeignKeys, List<ForeignKey> targetForeignKeys) {
-
-        List<String> changeLogs = new ArrayList<>();
-
+    private void sameForeignKeys(List<ForeignKey> localForeignKeys, List<ForeignKey> targetForeignKeys, Consumer<DiffRecord> sink) {
         if (localForeignKeys == targetForeignKeys) {
-            return changeLogs;
+            return;
         }
         if (localForeignKeys == null) {
             localForeignKeys = new ArrayList<>();
@@ -363,63 +217,22 @@ public class DefaultTester implements Diff<List<String>, Database, Database> {
             targetForeignKeys = new ArrayList<>();
         }
 
+        Map<String, ForeignKey> targetForeignKeysByName = indexByName(targetForeignKeys, ForeignKey::getName);
         for (ForeignKey localForeignKey : localForeignKeys) {
-            Optional<ForeignKey> targetForeignKey = getForeignKeyByName(targetForeignKeys, localForeignKey);
-            if (targetForeignKey.isEmpty()) {
+            ForeignKey targetForeignKey = targetForeignKeysByName.get(localForeignKey.getName());
+            if (targetForeignKey == null) {
                 // foreign key is removed
-                String change = String.format(COLUMN_FOREIGN_KEY_REMOVED,
-                        localForeignKey.getName(),
-                        localForeignKey.getColumnName(),
-                        localForeignKey.getTableName());
-                changeLogs.add(change);
+                sink.accept(foreignKeyRecord(DiffRecord.Status.REMOVED, localForeignKey, null, null, null));
                 continue;
             }
 
-            if (!Objects.equals(localForeignKey.getDeleteRule(), targetForeignKey.get().getDeleteRule())) {
-                String change = String.format(COLUMN_FOREIGN_KEY_CHANGED,
-                        localForeignKey.getName(),
-                        localForeignKey.getColumnName(),
-                        localForeignKey.getTableName(),
-                        "Delete Rule",
-                        localForeignKey.getDeleteRule(),
-                        targetForeignKey.get().getDeleteRule());
-
-                changeLogs.add(change);
-            }
-
-            if (!Objects.equals(localForeignKey.getPrimaryColumnName(), targetForeignKey.get().getPrimaryColumnName())) {
-                String change = String.format(COLUMN_FOREIGN_KEY_CHANGED,
-                        localForeignKey.getName(),
-                        localForeignKey.getColumnName(),
-                        localForeignKey.getTableName(),
-                        "Primary Key Column Name",
-                        localForeignKey.getPrimaryColumnName(),
-                        targetForeignKey.get().getPrimaryColumnName());
-
-                changeLogs.add(change);
-            }
-
-            if (!Objects.equals(localForeignKey.getPrimaryTableName(), targetForeignKey.get().getPrimaryTableName())) {
-                String change = String.format(COLUMN_FOREIGN_KEY_CHANGED,
-                        localForeignKey.getName(),
-                        localForeignKey.getColumnName(),
-                        localForeignKey.getTableName(),
-                        "Primary Key Table Name", localForeignKey.getPrimaryTableName(),
-                        targetForeignKey.get().getPrimaryTableName());
-
-                changeLogs.add(change);
-            }
-
-            if (!Objects.equals(localForeignKey.getPrimaryTableSchema(), targetForeignKey.get().getPrimaryTableSchema())) {
-                String change = String.format(COLUMN_FOREIGN_KEY_CHANGED,
-                        localForeignKey.getName(),
-                        localForeignKey.getColumnName(),
-                        localForeignKey.getTableName(),
-                        "Primary Key Schema Name",
-                        localForeignKey.getPrimaryTableSchema(),
-                        targetForeignKey.get().getPrimaryTableSchema());
-
-                changeLogs.add(change);
+            for (Map.Entry<String, Function<ForeignKey, Object>> property : FOREIGN_KEY_PROPERTIES) {
+                Object localProperty = property.getValue().apply(localForeignKey);
+                Object targetProperty = property.getValue().apply(targetForeignKey);
+                if (!Objects.equals(localProperty, targetProperty)) {
+                    sink.accept(foreignKeyRecord(DiffRecord.Status.CHANGED, localForeignKey, property.getKey(),
+                            localProperty, targetProperty));
+                }
             }
         }
 
@@ -427,34 +240,27 @@ public class DefaultTester implements Diff<List<String>, Database, Database> {
         targetForeignKeys
                 .stream()
                 .filter(foreignKey -> !localFKNames.contains(foreignKey.getName()))
-                .forEach(foreignKey -> {
-                    String change = String.format(COLUMN_FOREIGN_KEY_ADDED,
-                            foreignKey.getName(),
-                            foreignKey.getColumnName(),
-                            foreignKey.getTableName());
-                    changeLogs.add(change);
-                });
-
-        return changeLogs;
+                .forEach(foreignKey -> sink.accept(foreignKeyRecord(DiffRecord.Status.ADDED, foreignKey, null, null, null)));
     }
 
-    private Optional<ForeignKey> getForeignKeyByName(List<ForeignKey> targetForeignKeys, ForeignKey localForeignKey) {
-        return targetForeignKeys.stream().filter(foreignKey -> Objects.equals(localForeignKey.getName(), foreignKey.getName())).findFirst();
+    private static DiffRecord indexRecord(DiffRecord.Status status, String tableName, Index index) {
+        return new DiffRecord(DiffRecord.Element.INDEX, status, tableName, null, index.getName(), null, null, null);
     }
 
-    private Optional<Index> getIndexByName(List<Index> targetIndices, Index localIndex) {
-        return targetIndices.stream().filter(index -> Objects.equals(localIndex.getName(), index.getName())).findFirst();
+    private static DiffRecord foreignKeyRecord(DiffRecord.Status status, ForeignKey foreignKey, String property,
+                                               Object localValue, Object targetValue) {
+        return new DiffRecord(DiffRecord.Element.FOREIGN_KEY, status, foreignKey.getTableName(),
+                foreignKey.getColumnName(), foreignKey.getName(), property, localValue, targetValue);
     }
 
-    private Optional<Column> getColumn(String columnName, Table targetTable) {
-        return targetTable.getColumns().stream().filter(targetColumn -> targetColumn.getName().equals(columnName)).findFirst();
-    }
-
-    private Optional<Table> getTable(String tableName, Database targetValue) {
-        return targetValue.getTables().stream().filter(targetTable -> targetTable.getName().equals(tableName)).findFirst();
-    }
-
-    private Optional<View> getView(String viewName, Database targetValue) {
-        return targetValue.getViews().stream().filter(targetView -> targetView.getName().equals(viewName)).findFirst();
+    /**
+     * Indexes elements by name, keeping the first one when a name repeats.
+     */
+    private static <T> Map<String, T> indexByName(Collection<? extends T> elements, Function<T, String> nameFunction) {
+        Map<String, T> byName = new HashMap<>();
+        for (T element : elements) {
+            byName.putIfAbsent(nameFunction.apply(element), element);
+        }
+        return byName;
     }
 }
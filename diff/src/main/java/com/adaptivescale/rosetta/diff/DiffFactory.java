@@ -11,6 +11,10 @@ import java.util.Optional;
 public class DiffFactory {
 
     public static Diff<List<String>,Database, Database> diff(String databaseType) {
+        return tester(databaseType);
+    }
+
+    public static DefaultTester tester(String databaseType) {
 
         Optional<Class<?>> diffTester = ModuleLoader.loadModuleByAnnotationClassValues(
                 DiffFactory.class.getPackageName(), RosettaModuleTypes.DIFF_TESTER, databaseType);
@@ -20,7 +24,7 @@ public class DiffFactory {
         }
 
         try {
-            return (Diff<List<String>, Database, Database>) diffTester.get().getDeclaredConstructor().newInstance();
+            return (DefaultTester) diffTester.get().getDeclaredConstructor().newInstance();
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
             throw new RuntimeException(e);
         }
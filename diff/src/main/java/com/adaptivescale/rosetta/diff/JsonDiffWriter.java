@@ -0,0 +1,41 @@
+package com.adaptivescale.rosetta.diff;
+
+import com.adaptivescale.rosetta.diff.model.DiffRecord;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Writes {@link DiffRecord}s as a JSON array while they are found, so the full diff never has to be held in memory.
+ */
+public class JsonDiffWriter implements Consumer<DiffRecord>, Closeable {
+
+    private final JsonGenerator generator;
+
+    public JsonDiffWriter(OutputStream outputStream) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.writeStartArray();
+    }
+
+    @Override
+    public void accept(DiffRecord record) {
+        try {
+            generator.writeObject(record);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Could not write diff record for '%s': %s", record.getTable(), e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
@@ -0,0 +1,116 @@
+package com.adaptivescale.rosetta.diff;
+
+import com.adaptivescale.rosetta.common.helpers.Digests;
+import com.adaptivescale.rosetta.common.models.*;
+import com.adaptivescale.rosetta.diff.model.HashNode;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * Merkle tree of a model. Indices and foreign keys are leaves, a column hashes its own properties and its foreign
+ * keys, a table or view its own properties, columns and indices, and the root all tables and views. Properties are
+ * hashed as JSON with sorted keys and without null or empty values, so a model hashes the same before it is written
+ * and after it is read back. Children are hashed in the order of their type, schema and name, which makes the tree
+ * independent of the order of tables, columns and indices in the file, the same way the tester matches them by name.
+ */
+public class ModelHasher {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+    public static HashNode hash(Database database) {
+        HashNode root = new HashNode(HashNode.Type.DATABASE, null, null);
+        for (Table table : Optional.ofNullable(database.getTables()).orElse(Collections.emptyList())) {
+            root.getChildren().add(table(HashNode.Type.TABLE, table));
+        }
+        for (View view : Optional.ofNullable(database.getViews()).orElse(Collections.emptyList())) {
+            root.getChildren().add(table(HashNode.Type.VIEW, view));
+        }
+        return seal(root, "");
+    }
+
+    /**
+     * Names of the tables and views whose hashes differ between two trees, including the ones found in only one of
+     * them. Trees with the same root hash have none.
+     */
+    public static Set<String> changedTables(HashNode local, HashNode target) {
+        Set<String> changed = new LinkedHashSet<>();
+        if (Objects.equals(local.getHash(), target.getHash())) {
+            return changed;
+        }
+        Map<String, String> targetHashes = new HashMap<>();
+        target.getChildren().forEach(child -> targetHashes.put(key(child), child.getHash()));
+        Set<String> localKeys = new HashSet<>();
+        for (HashNode child : local.getChildren()) {
+            localKeys.add(key(child));
+            if (!Objects.equals(child.getHash(), targetHashes.get(key(child)))) {
+                changed.add(child.getName());
+            }
+        }
+        target.getChildren().stream()
+                .filter(child -> !localKeys.contains(key(child)))
+                .forEach(child -> changed.add(child.getName()));
+        return changed;
+    }
+
+    private static HashNode table(HashNode.Type type, Table table) {
+        HashNode node = new HashNode(type, table.getSchema(), table.getName());
+        for (Column column : Optional.ofNullable(table.getColumns()).orElse(Collections.emptyList())) {
+            node.getChildren().add(column(column));
+        }
+        for (Index index : Optional.ofNullable(table.getIndices()).orElse(Collections.emptyList())) {
+            node.getChildren().add(seal(new HashNode(HashNode.Type.INDEX, null, index.getName()), properties(index)));
+        }
+        return seal(node, properties(table, "columns", "indices"));
+    }
+
+    private static HashNode column(Column column) {
+        HashNode node = new HashNode(HashNode.Type.COLUMN, null, column.getName());
+        for (ForeignKey foreignKey : Optional.ofNullable(column.getForeignKeys()).orElse(Collections.emptyList())) {
+            node.getChildren().add(seal(new HashNode(HashNode.Type.FOREIGN_KEY, null, foreignKey.getName()),
+                    properties(foreignKey)));
+        }
+        return seal(node, properties(column, "foreignKeys"));
+    }
+
+    private static HashNode seal(HashNode node, String properties) {
+        node.getChildren().sort(Comparator.comparing(ModelHasher::key));
+        MessageDigest digest = Digests.sha256();
+        update(digest, key(node));
+        update(digest, properties);
+        for (HashNode child : node.getChildren()) {
+            update(digest, child.getHash());
+        }
+        node.setHash(Digests.hex(digest.digest()));
+        return node;
+    }
+
+    private static String properties(Object value, String... children) {
+        ObjectNode properties = MAPPER.valueToTree(value);
+        properties.remove(Arrays.asList(children));
+        try {
+            return MAPPER.writeValueAsString(properties);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String key(HashNode node) {
+        return node.getType() + "\u0000" + node.getSchema() + "\u0000" + node.getName();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.adaptivescale.rosetta.diff;
+
+import com.adaptivescale.rosetta.diff.model.DiffRecord;
+
+/**
+ * Renders {@link DiffRecord}s as the human readable lines printed by {@code rosetta diff}.
+ */
+public class TextDiffRenderer {
+
+    private static final String TABLE_COLUMNS_CHANGED_FORMAT = "Table Changed: Table '%s' columns changed in the target database.";
+    private static final String TABLE_REMOVED_FORMAT = "Table '%s' exists in the model, but it does not exist in the target database.";
+    private static final String TABLE_ADDED_FORMAT = "Table '%s' does not exist in the model, but it exists in the target database.";
+
+    private static final String COLUMN_CHANGED_FORMAT = "Column Changed: Column '%s' in table '%s' changed '%s'. New value: '%s', old value: '%s'";
+    private static final String COLUMN_REMOVED_FORMAT = "Column '%s' in table '%s' exists in the model, but it does not exist in the target database.";
+    private static final String COLUMN_ADDED_FORMAT = "Column '%s' in table '%s' does not exist in the model, but it exists in the target database.";
+
+    private static final String COLUMN_FOREIGN_KEY_CHANGED = "Foreign Key Changed: FK '%s' on Column '%s' in table '%s' changed '%s'. New value: '%s', old value: '%s'";
+    private static final String COLUMN_FOREIGN_KEY_REMOVED = "ForeignKey '%s' on Column '%s' in table '%s' exists in the model, but it does not exist in the target database.";
+    private static final String COLUMN_FOREIGN_KEY_ADDED = "ForeignKey '%s' on Column '%s' in table '%s' does not exist in the model, but it exists in the target database.";
+
+    private static final String INDEX_CHANGED_FORMAT = "Index Changed: Index '%s'";
+    private static final String INDEX_REMOVED_FORMAT = "Index '%s' exists in the model, but it does not exist in the target database.";
+    private static final String INDEX_ADDED_FORMAT = "Index '%s' does not exist in the model, but it exists in the target database.";
+
+    private static final String VIEW_COLUMNS_CHANGED_FORMAT = "View Changed: View '%s' columns changed";
+    private static final String VIEW_REMOVED_FORMAT = "View '%s' exists in the model, but it does not exist in the target database.";
+    private static final String VIEW_ADDED_FORMAT = "View '%s' does not exist in the model, but it exists in the target database.";
+
+    private static final String INTERLEAVED_CHANGED_FORMAT = "Interleaved Changed: Table '%s'";
+    private static final String INTERLEAVED_REMOVED_FORMAT = "Interleaved '%s' table exists in the model, but it does not exist in the target database.";
+    private static final String INTERLEAVED_ADDED_FORMAT = "Interleaved '%s' table does not exist in the model, but it exists in the target database.";
+
+    public static String render(DiffRecord record) {
+        switch (record.getElement()) {
+            case TABLE:
+                return String.format(pick(record, TABLE_ADDED_FORMAT, TABLE_REMOVED_FORMAT, TABLE_COLUMNS_CHANGED_FORMAT),
+                        record.getTable());
+            case VIEW:
+                return String.format(pick(record, VIEW_ADDED_FORMAT, VIEW_REMOVED_FORMAT, VIEW_COLUMNS_CHANGED_FORMAT),
+                        record.getTable());
+            case INTERLEAVE:
+                return String.format(pick(record, INTERLEAVED_ADDED_FORMAT, INTERLEAVED_REMOVED_FORMAT, INTERLEAVED_CHANGED_FORMAT),
+                        record.getTable());
+            case INDEX:
+                return String.format(pick(record, INDEX_ADDED_FORMAT, INDEX_REMOVED_FORMAT, INDEX_CHANGED_FORMAT),
+                        record.getName());
+            case COLUMN:
+                if (record.getStatus() == DiffRecord.Status.CHANGED) {
+                    return String.format(COLUMN_CHANGED_FORMAT, record.getColumn(), record.getTable(),
+                            record.getProperty(), record.getLocalValue(), record.getTargetValue());
+                }
+                return String.format(pick(record, COLUMN_ADDED_FORMAT, COLUMN_REMOVED_FORMAT, null),
+                        record.getColumn(), record.getTable());
+            case FOREIGN_KEY:
+                if (record.getStatus() == DiffRecord.Status.CHANGED) {
+                    return String.format(COLUMN_FOREIGN_KEY_CHANGED, record.getName(), record.getColumn(),
+                            record.getTable(), record.getProperty(), record.getLocalValue(), record.getTargetValue());
+                }
+                return String.format(pick(record, COLUMN_FOREIGN_KEY_ADDED, COLUMN_FOREIGN_KEY_REMOVED, null),
+                        record.getName(), record.getColumn(), record.getTable());
+            default:
+                throw new RuntimeException("Unsupported diff element: " + record.getElement());
+        }
+    }
+
+    private static String pick(DiffRecord record, String added, String removed, String changed) {
+        switch (record.getStatus()) {
+            case ADDED:
+                return added;
+            case REMOVED:
+                return removed;
+            default:
+                return changed;
+        }
+    }
+}
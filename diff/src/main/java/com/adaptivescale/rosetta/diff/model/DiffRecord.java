@@ -0,0 +1,88 @@
+package com.adaptivescale.rosetta.diff.model;
+
+/**
+ * One difference between the local model and the target database. Local values come from the model file, target
+ * values from the database.
+ */
+public class DiffRecord {
+
+    public enum Element {
+        TABLE, VIEW, COLUMN, FOREIGN_KEY, INDEX, INTERLEAVE
+    }
+
+    public enum Status {
+        /** Exists in the target database but not in the model. */
+        ADDED,
+        /** Exists in the model but not in the target database. */
+        REMOVED,
+        CHANGED
+    }
+
+    private final Element element;
+    private final Status status;
+    private final String table;
+    private final String column;
+    private final String name;
+    private final String property;
+    private final Object localValue;
+    private final Object targetValue;
+
+    public DiffRecord(Element element, Status status, String table, String column, String name,
+                      String property, Object localValue, Object targetValue) {
+        this.element = element;
+        this.status = status;
+        this.table = table;
+        this.column = column;
+        this.name = name;
+        this.property = property;
+        this.localValue = localValue;
+        this.targetValue = targetValue;
+    }
+
+    public static DiffRecord table(Element element, Status status, String table) {
+        return new DiffRecord(element, status, table, null, null, null, null, null);
+    }
+
+    public static DiffRecord column(Status status, String table, String column) {
+        return new DiffRecord(Element.COLUMN, status, table, column, null, null, null, null);
+    }
+
+    public static DiffRecord columnProperty(String table, String column, String property, Object localValue, Object targetValue) {
+        return new DiffRecord(Element.COLUMN, Status.CHANGED, table, column, null, property, localValue, targetValue);
+    }
+
+    public Element getElement() {
+        return element;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Name of the foreign key or index, null for other elements.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object getLocalValue() {
+        return localValue;
+    }
+
+    public Object getTargetValue() {
+        return targetValue;
+    }
+}
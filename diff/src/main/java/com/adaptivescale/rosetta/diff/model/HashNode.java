@@ -0,0 +1,70 @@
+package com.adaptivescale.rosetta.diff.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Node of the hash tree of a model. The hash of a table, view or column covers its own properties and the hashes of
+ * its children, so two nodes with the same hash have the same content all the way down.
+ */
+public class HashNode {
+
+    public enum Type {
+        DATABASE, TABLE, VIEW, COLUMN, INDEX, FOREIGN_KEY
+    }
+
+    private Type type;
+    private String schema;
+    private String name;
+    private String hash;
+    private List<HashNode> children = new ArrayList<>();
+
+    public HashNode() {
+    }
+
+    public HashNode(Type type, String schema, String name) {
+        this.type = type;
+        this.schema = schema;
+        this.name = name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public List<HashNode> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<HashNode> children) {
+        this.children = children;
+    }
+}
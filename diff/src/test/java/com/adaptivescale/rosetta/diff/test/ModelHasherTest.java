@@ -0,0 +1,131 @@
+package com.adaptivescale.rosetta.diff.test;
+
+import com.adaptivescale.rosetta.common.models.*;
+import com.adaptivescale.rosetta.diff.ModelHasher;
+import com.adaptivescale.rosetta.diff.model.HashNode;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class ModelHasherTest {
+
+    @Test
+    public void identicalModelsHaveSameRootHash() {
+        Assertions.assertEquals(ModelHasher.hash(database()).getHash(), ModelHasher.hash(database()).getHash());
+    }
+
+    @Test
+    public void orderOfTablesAndColumnsDoesNotMatter() {
+        Database reordered = database();
+        List<Table> tables = new ArrayList<>(reordered.getTables());
+        Collections.reverse(tables);
+        for (Table table : tables) {
+            List<Column> columns = new ArrayList<>(table.getColumns());
+            Collections.reverse(columns);
+            table.setColumns(columns);
+        }
+        reordered.setTables(tables);
+
+        Assertions.assertEquals(ModelHasher.hash(database()).getHash(), ModelHasher.hash(reordered).getHash());
+    }
+
+    @Test
+    public void hashSurvivesYamlRoundTrip() throws Exception {
+        ObjectMapper mapper = new ObjectMapper(new YAMLFactory()).setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        Database database = database();
+        Database readBack = mapper.readValue(mapper.writeValueAsString(database), Database.class);
+
+        Assertions.assertEquals(ModelHasher.hash(database).getHash(), ModelHasher.hash(readBack).getHash());
+    }
+
+    @Test
+    public void changedColumnChangesOnlyItsTableAndRoot() {
+        Database changed = database();
+        Table orders = table(changed, "orders");
+        orders.getColumns().iterator().next().setTypeName("bigint");
+
+        HashNode before = ModelHasher.hash(database());
+        HashNode after = ModelHasher.hash(changed);
+
+        Assertions.assertNotEquals(before.getHash(), after.getHash());
+        Assertions.assertNotEquals(child(before, "orders").getHash(), child(after, "orders").getHash());
+        Assertions.assertEquals(child(before, "customers").getHash(), child(after, "customers").getHash());
+        Assertions.assertEquals(child(child(before, "orders"), "customer_id").getHash(),
+                child(child(after, "orders"), "customer_id").getHash());
+    }
+
+    @Test
+    public void changedTablesReportsAddedRemovedAndModifiedTables() {
+        Database local = database();
+        table(local, "orders").getColumns().iterator().next().setNullable(true);
+        List<Table> localTables = new ArrayList<>(local.getTables());
+        localTables.add(table("s", "invoices", column("id", "int")));
+        local.setTables(localTables);
+
+        Database target = database();
+        List<Table> targetTables = new ArrayList<>(target.getTables());
+        targetTables.add(table("s", "payments", column("id", "int")));
+        target.setTables(targetTables);
+
+        Assertions.assertEquals(Set.of("orders", "invoices", "payments"),
+                ModelHasher.changedTables(ModelHasher.hash(local), ModelHasher.hash(target)));
+        Assertions.assertEquals(Set.of(),
+                ModelHasher.changedTables(ModelHasher.hash(database()), ModelHasher.hash(database())));
+    }
+
+    private static Database database() {
+        Column customerId = column("customer_id", "int");
+        ForeignKey foreignKey = new ForeignKey();
+        foreignKey.setSchema("s");
+        foreignKey.setName("orders_customer_fk");
+        foreignKey.setTableName("orders");
+        foreignKey.setColumnName("customer_id");
+        foreignKey.setPrimaryTableSchema("s");
+        foreignKey.setPrimaryTableName("customers");
+        foreignKey.setPrimaryColumnName("id");
+        customerId.setForeignKeys(List.of(foreignKey));
+
+        Table orders = table("s", "orders", column("id", "int"), customerId);
+        Index index = new Index();
+        index.setSchema("s");
+        index.setName("orders_customer_idx");
+        index.setTableName("orders");
+        index.setColumnNames(List.of("customer_id"));
+        orders.setIndices(List.of(index));
+
+        Database database = new Database();
+        database.setDatabaseType("postgres");
+        database.setTables(List.of(table("s", "customers", column("id", "int"), column("name", "varchar")), orders));
+        return database;
+    }
+
+    private static Table table(String schema, String name, Column... columns) {
+        Table table = new Table();
+        table.setSchema(schema);
+        table.setName(name);
+        table.setColumns(new ArrayList<>(List.of(columns)));
+        return table;
+    }
+
+    private static Column column(String name, String typeName) {
+        Column column = new Column();
+        column.setName(name);
+        column.setTypeName(typeName);
+        return column;
+    }
+
+    private static Table table(Database database, String name) {
+        return database.getTables().stream().filter(table -> name.equals(table.getName())).findFirst().orElseThrow();
+    }
+
+    private static HashNode child(HashNode node, String name) {
+        return node.getChildren().stream().filter(child -> name.equals(child.getName())).findFirst().orElseThrow();
+    }
+}
@@ -3,7 +3,6 @@ package queryhelper.service;
 import com.adaptivescale.rosetta.common.DriverManagerDriverProvider;
 import com.adaptivescale.rosetta.common.JDBCUtils;
 import com.adaptivescale.rosetta.common.models.input.Connection;
-import com.adataptivescale.rosetta.source.common.QueryHelper;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import dev.langchain4j.model.openai.OpenAiChatModel;
@@ -16,11 +15,10 @@ import queryhelper.utils.ErrorUtils;
 import queryhelper.utils.FileUtils;
 import queryhelper.utils.PromptUtils;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.sql.Driver;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.SimpleDateFormat;
@@ -29,6 +27,10 @@ import java.util.*;
 
 public class AIService {
     private final static String AI_MODEL = "gpt-3.5-turbo";
+    private final static int FETCH_SIZE = 1000;
+    // data rows shown below the header of the table preview
+    private final static int TABLE_PREVIEW_ROWS = 14;
+    private final static Set<String> CURSOR_FETCH_DB_TYPES = Set.of("postgres", "redshift");
 
     public static GenericResponse generateQuery(String userQueryRequest, String apiKey, String aiModel, String databaseDDL, Connection source, Integer showRowLimit, Path dataDirectory, Path outputFileName) {
 
@@ -47,17 +49,13 @@ public class AIService {
             errorResponse.setStatusCode(200);
         }
 
-        List<Map<String, Object>> records = executeQueryAndGetRecords(query, source, showRowLimit);
-        data.setRecords(records);
+        Path csvFile = csvFilePath(queryRequest.getQuery(), dataDirectory, outputFileName);
+        List<String[]> preview = executeQueryToCSV(query, source, showRowLimit, csvFile, data);
 
         response.setData(data);
         response.setStatusCode(200);
 
-
-        QueryDataResponse queryDataResponse = (QueryDataResponse) response.getData();
-        String csvFile = createCSVFile(queryDataResponse, queryRequest.getQuery(), dataDirectory, outputFileName);
-
-        String table = generateTablePreview(csvFile, 15);
+        String table = generateTablePreview(preview);
 
         response.setMessage(
                 query + "\n" +
@@ -65,27 +63,48 @@ public class AIService {
                         "Table Output:" +"\n" +
                         table +
                         "..." + "\n" +
-                        "Total rows: " + data.getRecords().size()
+                        "Total rows: " + data.getRowCount()
         );
 
         return response;
     }
 
-    private static List<Map<String, Object>> executeQueryAndGetRecords(String query, Connection source, Integer showRowLimit) {
+    /**
+     * Streams the query result into {@code csvFile} with a bounded fetch size, only the preview rows are kept in
+     * memory.
+     */
+    private static List<String[]> executeQueryToCSV(String query, Connection source, Integer showRowLimit, Path csvFile,
+                                                    QueryDataResponse data) {
         try {
             DriverManagerDriverProvider driverManagerDriverProvider = new DriverManagerDriverProvider();
             Driver driver = driverManagerDriverProvider.getDriver(source);
             Properties properties = JDBCUtils.setJDBCAuth(source);
-            java.sql.Connection jdbcConnection = driver.connect(source.getUrl(), properties);
-            Statement statement = jdbcConnection.createStatement();
-            statement.setMaxRows(showRowLimit);
-            List<Map<String, Object>> select = QueryHelper.select(statement, query);
-            return select;
+            return executeQueryToCSV(driver.connect(source.getUrl(), properties), query, source, showRowLimit, csvFile, data);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private static List<String[]> executeQueryToCSV(java.sql.Connection connection, String query, Connection source,
+                                                    Integer showRowLimit, Path csvFile, QueryDataResponse data)
+            throws SQLException {
+        try (java.sql.Connection jdbcConnection = connection;
+             Statement statement = jdbcConnection.createStatement()) {
+            if (CURSOR_FETCH_DB_TYPES.contains(source.getDbType())) {
+                // the postgres driver ignores the fetch size and buffers the whole result in auto-commit mode
+                jdbcConnection.setAutoCommit(false);
+            }
+            statement.setMaxRows(showRowLimit);
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery(query)) {
+                return FileUtils.writeCSV(resultSet, csvFile, TABLE_PREVIEW_ROWS, data);
+            } catch (IOException e) {
+                GenericResponse genericResponse = ErrorUtils.csvFileError(e);
+                throw new RuntimeException(genericResponse.getMessage());
+            }
+        }
+    }
+
     public static boolean isSelectStatement(String query) {
         boolean isSelectStatement = true;
         try {
@@ -99,25 +118,13 @@ public class AIService {
         return isSelectStatement;
     }
 
-    private static String createCSVFile(QueryDataResponse queryDataResponse, String csvFileName, Path dataDirectory, Path outputFileName) {
-        try {
-            if (outputFileName == null) {
-                String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-                String fileName = csvFileName.replaceAll("\\s+", "_") + "_" + timestamp + ".csv";
-                Path csvFilePath = dataDirectory.resolve(fileName);
-                FileUtils.convertToCSV(csvFilePath.toString(), queryDataResponse.getRecords());
-
-                return csvFilePath.toString();
-            }
-
-            Path csvFilePath = dataDirectory.resolve(outputFileName.toString());
-            FileUtils.convertToCSV(csvFilePath.toString(), queryDataResponse.getRecords());
-            return csvFilePath.toString();
-
-        } catch (Exception e) {
-            GenericResponse genericResponse = ErrorUtils.csvFileError(e);
-            throw new RuntimeException(genericResponse.getMessage());
+    private static Path csvFilePath(String csvFileName, Path dataDirectory, Path outputFileName) {
+        if (outputFileName == null) {
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+            String fileName = csvFileName.replaceAll("\\s+", "_") + "_" + timestamp + ".csv";
+            return dataDirectory.resolve(fileName);
         }
+        return dataDirectory.resolve(outputFileName.toString());
     }
 
     public static String generateAIOutput(String apiKey, String aiModel, QueryRequest queryRequest, Connection source, String databaseDDL) {
@@ -151,20 +158,7 @@ public class AIService {
 
         return query;
     }
-    private static String generateTablePreview(String csvFile, int rowLimit) {
-        List<String[]> rows = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile))) {
-            String line;
-            int rowCount = 0;
-            while ((line = reader.readLine()) != null && rowCount < rowLimit) {
-                String[] columns = line.split(",");
-                rows.add(columns);
-                rowCount++;
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Error reading CSV file", e);
-        }
-
+    private static String generateTablePreview(List<String[]> rows) {
         if (rows.isEmpty()) {
             return "No data available to display.";
         }
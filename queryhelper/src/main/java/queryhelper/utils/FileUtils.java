@@ -1,11 +1,17 @@
 package queryhelper.utils;
 
+import com.adataptivescale.rosetta.source.common.QueryHelper;
+import queryhelper.pojo.QueryDataResponse;
+
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.io.FileWriter;
-import java.io.IOException;
 
 public class FileUtils {
 
@@ -20,25 +26,49 @@ public class FileUtils {
         }
     }
 
-    public static void convertToCSV(String fileName, List<Map<String, Object>> list) {
-        try (FileWriter csvWriter = new FileWriter(fileName)) {
-            if (!list.isEmpty()) {
-                Set<String> headers = list.get(0).keySet();
-                StringBuilder csvContent = new StringBuilder();
-                csvContent.append(String.join(",", headers)).append("\n");
-
-                for (Map<String, Object> map : list) {
-                    for (String header : headers) {
-                        csvContent.append(map.getOrDefault(header, "")).append(",");
-                    }
-                    csvContent.setLength(csvContent.length() - 1);
-                    csvContent.append("\n");
+    /**
+     * Writes the rows of {@code resultSet} to {@code csvFile} while reading them, so the file size is not bounded by
+     * memory. The header and the first {@code previewRows} rows are kept in {@code data} and returned as cells for
+     * the preview table, {@link QueryDataResponse#getRowCount()} holds the number of rows written.
+     */
+    public static List<String[]> writeCSV(ResultSet resultSet, Path csvFile, int previewRows, QueryDataResponse data)
+            throws SQLException, IOException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        List<String> headers = QueryHelper.getColumnNames(metaData);
+        List<String[]> preview = new ArrayList<>();
+        List<Map<String, Object>> previewRecords = new ArrayList<>();
+        long rowCount = 0;
+
+        try (BufferedWriter csvWriter = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+            while (resultSet.next()) {
+                Map<String, Object> record = QueryHelper.mapRecord(resultSet, metaData);
+                if (rowCount == 0) {
+                    writeCSVLine(csvWriter, headers.toArray(new String[0]));
+                    preview.add(headers.toArray(new String[0]));
+                }
+
+                String[] cells = new String[headers.size()];
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = String.valueOf(record.getOrDefault(headers.get(i), ""));
+                }
+                writeCSVLine(csvWriter, cells);
+
+                if (rowCount < previewRows) {
+                    preview.add(cells);
+                    previewRecords.add(record);
                 }
-                csvWriter.write(csvContent.toString());
+                rowCount++;
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
+
+        data.setRecords(previewRecords);
+        data.setRowCount(rowCount);
+        return preview;
+    }
+
+    private static void writeCSVLine(Writer writer, String[] cells) throws IOException {
+        writer.write(String.join(",", cells));
+        writer.write("\n");
     }
 
 }
@@ -11,8 +11,10 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class QueryHelper {
     static DateFormat DATE_FORMAT = new SimpleDateFormat("YYYY-MM-dd");
@@ -97,6 +99,17 @@ public class QueryHelper {
     }
 
 
+    /**
+     * Record keys produced by {@link #mapRecord(ResultSet, ResultSetMetaData)}, in result set column order.
+     */
+    public static List<String> getColumnNames(ResultSetMetaData metaData) throws SQLException {
+        Set<String> columnNames = new LinkedHashSet<>();
+        for (int c = 1; c <= metaData.getColumnCount(); c++) {
+            columnNames.add(formatPropertyName(metaData.getColumnName(c)));
+        }
+        return new ArrayList<>(columnNames);
+    }
+
     private static String formatPropertyName(String property) {
         return new PropertyNamingStrategies.LowerCaseStrategy().translate(property);
     }
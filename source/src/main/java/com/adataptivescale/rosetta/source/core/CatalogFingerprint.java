@@ -0,0 +1,137 @@
+package com.adataptivescale.rosetta.source.core;
+
+import com.adaptivescale.rosetta.common.helpers.Digests;
+import com.adaptivescale.rosetta.common.models.Table;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adataptivescale.rosetta.source.core.interfaces.TableFingerprintExtractor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SHA-256 over the tables, views, columns, keys and indices of the configured catalog. Tables, views and columns are
+ * read with one {@code getTables} and one {@code getColumns} call. Primary keys, foreign keys and indices come from the
+ * table fingerprint query of the database type when it has one, otherwise from {@code getPrimaryKeys},
+ * {@code getImportedKeys} and {@code getIndexInfo} per table. View text is read from {@code information_schema.views}
+ * on databases that have it. Two fingerprints are equal when none of these was added, dropped, renamed or changed in
+ * between.
+ */
+@Slf4j
+public class CatalogFingerprint {
+
+    private static final String[] TABLE_TYPES = {"TABLE", "VIEW"};
+
+    private static final String VIEWS_QUERY = "SELECT table_schema, table_name, view_definition " +
+            "FROM information_schema.views";
+
+    public static String compute(Connection target, java.sql.Connection connection,
+                                 TableFingerprintExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection, Table> fingerprintExtractor) throws Exception {
+        DatabaseMetaData metaData = connection.getMetaData();
+        List<String> rows = new ArrayList<>();
+        List<String[]> tables = new ArrayList<>();
+
+        try (ResultSet resultSet = metaData.getTables(target.getDatabaseName(), target.getSchemaName(), null, TABLE_TYPES)) {
+            while (resultSet.next()) {
+                String tableName = resultSet.getString("TABLE_NAME");
+                if (included(target, tableName)) {
+                    rows.add(String.join("\u0000", "T", resultSet.getString("TABLE_SCHEM"), tableName,
+                            resultSet.getString("TABLE_TYPE")));
+                    if ("TABLE".equals(resultSet.getString("TABLE_TYPE"))) {
+                        tables.add(new String[]{resultSet.getString("TABLE_CAT"), resultSet.getString("TABLE_SCHEM"), tableName});
+                    }
+                }
+            }
+        }
+
+        try (ResultSet resultSet = metaData.getColumns(target.getDatabaseName(), target.getSchemaName(), null, null)) {
+            while (resultSet.next()) {
+                String tableName = resultSet.getString("TABLE_NAME");
+                if (included(target, tableName)) {
+                    rows.add(String.join("\u0000", "C", resultSet.getString("TABLE_SCHEM"), tableName,
+                            resultSet.getString("COLUMN_NAME"), resultSet.getString("TYPE_NAME"),
+                            resultSet.getString("COLUMN_SIZE"), resultSet.getString("DECIMAL_DIGITS"),
+                            resultSet.getString("NULLABLE"), resultSet.getString("ORDINAL_POSITION")));
+                }
+            }
+        }
+
+        if (fingerprintExtractor != null) {
+            fingerprintExtractor.extract(target, connection).forEach((schema, fingerprints) ->
+                    fingerprints.forEach((tableName, fingerprint) ->
+                            rows.add(String.join("\u0000", "F", schema, tableName, fingerprint))));
+        } else {
+            for (String[] table : tables) {
+                addKeysAndIndices(rows, metaData, table[0], table[1], table[2]);
+            }
+        }
+
+        addViewDefinitions(rows, target, connection);
+
+        // drivers do not agree on the order of metadata rows
+        rows.sort(null);
+        MessageDigest digest = Digests.sha256();
+        for (String row : rows) {
+            digest.update(String.valueOf(row).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return Digests.hex(digest.digest());
+    }
+
+    private static void addKeysAndIndices(List<String> rows, DatabaseMetaData metaData, String catalog, String schema,
+                                          String tableName) throws SQLException {
+        try (ResultSet resultSet = metaData.getPrimaryKeys(catalog, schema, tableName)) {
+            while (resultSet.next()) {
+                rows.add(String.join("\u0000", "P", schema, tableName, resultSet.getString("PK_NAME"),
+                        resultSet.getString("COLUMN_NAME"), resultSet.getString("KEY_SEQ")));
+            }
+        }
+        try (ResultSet resultSet = metaData.getImportedKeys(catalog, schema, tableName)) {
+            while (resultSet.next()) {
+                rows.add(String.join("\u0000", "K", schema, tableName, resultSet.getString("FK_NAME"),
+                        resultSet.getString("FKCOLUMN_NAME"), resultSet.getString("KEY_SEQ"),
+                        resultSet.getString("PKTABLE_SCHEM"), resultSet.getString("PKTABLE_NAME"),
+                        resultSet.getString("PKCOLUMN_NAME"), resultSet.getString("UPDATE_RULE"),
+                        resultSet.getString("DELETE_RULE")));
+            }
+        }
+        try (ResultSet resultSet = metaData.getIndexInfo(catalog, schema, tableName, false, true)) {
+            while (resultSet.next()) {
+                rows.add(String.join("\u0000", "I", schema, tableName, resultSet.getString("INDEX_NAME"),
+                        resultSet.getString("COLUMN_NAME"), resultSet.getString("ORDINAL_POSITION"),
+                        resultSet.getString("NON_UNIQUE")));
+            }
+        }
+    }
+
+    private static void addViewDefinitions(List<String> rows, Connection target, java.sql.Connection connection) {
+        String query = target.getSchemaName() == null ? VIEWS_QUERY : VIEWS_QUERY + " WHERE table_schema = ?";
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            if (target.getSchemaName() != null) {
+                statement.setString(1, target.getSchemaName());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String tableName = resultSet.getString("table_name");
+                    if (included(target, tableName)) {
+                        rows.add(String.join("\u0000", "V", resultSet.getString("table_schema"), tableName,
+                                resultSet.getString("view_definition")));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Can not read view definitions, they are not part of the fingerprint.", e);
+        }
+    }
+
+    private static boolean included(Connection target, String tableName) {
+        return target.getTables().isEmpty() || target.getTables().contains(tableName);
+    }
+}
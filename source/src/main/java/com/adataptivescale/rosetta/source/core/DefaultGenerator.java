@@ -1,54 +1,278 @@
 package com.adataptivescale.rosetta.source.core;
 
+import com.adaptivescale.rosetta.common.JDBCConnectionPool;
 import com.adaptivescale.rosetta.common.JDBCDriverProvider;
 import com.adaptivescale.rosetta.common.JDBCUtils;
 import com.adaptivescale.rosetta.common.models.Database;
 import com.adaptivescale.rosetta.common.models.Table;
 import com.adaptivescale.rosetta.common.models.View;
 import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adataptivescale.rosetta.source.core.interfaces.ChangeMarkerExtractor;
 import com.adataptivescale.rosetta.source.core.interfaces.ColumnExtractor;
 import com.adataptivescale.rosetta.source.core.interfaces.Generator;
 import com.adataptivescale.rosetta.source.core.interfaces.TableExtractor;
+import com.adataptivescale.rosetta.source.core.interfaces.TableFingerprintExtractor;
 import com.adataptivescale.rosetta.source.core.interfaces.ViewExtractor;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 public class DefaultGenerator implements Generator<Database, Connection> {
+    private static final int BATCHES_PER_CONNECTION = 4;
+
     private final TableExtractor tableExtractor;
     private final ViewExtractor viewExtractor;
     private final ColumnExtractor columnsExtractor;
+    private final TableFingerprintExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection, Table> fingerprintExtractor;
+    private final ChangeMarkerExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection> changeMarkerExtractor;
     private final JDBCDriverProvider driverProvider;
 
-    DefaultGenerator(TableExtractor tableExtractor, ViewExtractor viewExtractor,
-                     ColumnExtractor columnsExtractor, JDBCDriverProvider driverProvider) {
+    DefaultGenerator(TableExtractor tableExtractor, ViewExtractor viewExtractor, ColumnExtractor columnsExtractor,
+                     TableFingerprintExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection, Table> fingerprintExtractor,
+                     ChangeMarkerExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection> changeMarkerExtractor,
+                     JDBCDriverProvider driverProvider) {
         this.tableExtractor = tableExtractor;
         this.viewExtractor = viewExtractor;
         this.columnsExtractor = columnsExtractor;
+        this.fingerprintExtractor = fingerprintExtractor;
+        this.changeMarkerExtractor = changeMarkerExtractor;
         this.driverProvider = driverProvider;
     }
 
     @Override
     public Database generate(Connection connection) throws Exception {
+        return generate(connection, null);
+    }
+
+    /**
+     * Tables and views are listed once per schema with the schema set on the connection, so extractors pass it on to
+     * the database, and columns are only read for the tables found there. Tables outside the schemas are filtered out
+     * afterwards as well, for drivers that ignore the schema pattern.
+     */
+    @Override
+    public Database generate(Connection connection, Collection<String> schemas) throws Exception {
+        return generate(connection, schemas, null, Collections.emptyMap());
+    }
+
+    /**
+     * Tables and views are listed as usual, the columns and indices of unchanged tables found in the previous model
+     * are copied from there and only the remaining tables are read. Views are always read.
+     */
+    @Override
+    public Database generate(Connection connection, Database previous, Map<String, Set<String>> unchangedTables) throws Exception {
+        return generate(connection, null, previous, unchangedTables);
+    }
+
+    /**
+     * The connection that lists tables and views is closed before columns are read in parallel, so a run holds at most
+     * {@link Connection#getParallelism()} connections.
+     */
+    private Database generate(Connection connection, Collection<String> schemas, Database previous,
+                              Map<String, Set<String>> unchangedTables) throws Exception {
         Driver driver = driverProvider.getDriver(connection);
         Properties properties = JDBCUtils.setJDBCAuth(connection);
-        java.sql.Connection connect = driver.connect(connection.getUrl(), properties);
 
-        Collection<Table> tables = (Collection<Table>) tableExtractor.extract(connection, connect);
-        columnsExtractor.extract(connect, tables);
+        Database database = new Database();
+        Collection<Table> tables = new ArrayList<>();
+        Collection<View> views = new ArrayList<>();
+        Collection<Table> tablesToRead;
+        try (java.sql.Connection connect = driver.connect(connection.getUrl(), properties)) {
+            for (Connection scoped : scopedConnections(connection, schemas)) {
+                Set<String> scopedSchemas = scoped == connection ? toSet(schemas) : Collections.singleton(scoped.getSchemaName());
+                tables.addAll(inSchemas((Collection<Table>) tableExtractor.extract(scoped, connect), scopedSchemas));
+                views.addAll(inSchemas((Collection<View>) viewExtractor.extract(scoped, connect), scopedSchemas));
+            }
+            database.setName(connect.getMetaData().getDatabaseProductName());
 
-        Collection<View> views = (Collection<View>) viewExtractor.extract(connection, connect);
-        columnsExtractor.extract(connect, views);
+            tablesToRead = reuseUnchanged(tables, previous, unchangedTables);
+            if (connection.getParallelism() <= 1) {
+                columnsExtractor.extract(connect, tablesToRead);
+                columnsExtractor.extract(connect, views);
+            }
+        }
+        if (connection.getParallelism() > 1) {
+            extractColumnsInParallel(connection, tablesToRead, views);
+        }
 
-        Database database = new Database();
-        database.setName(connect.getMetaData().getDatabaseProductName());
         database.setTables(tables);
         database.setViews(views);
         database.setDatabaseType(connection.getDbType());
-        connect.close();
         return database;
     }
 
+    /**
+     * Copies columns and indices of unchanged tables from the previous model and returns the tables left to read.
+     */
+    private static Collection<Table> reuseUnchanged(Collection<Table> tables, Database previous,
+                                                    Map<String, Set<String>> unchangedTables) {
+        if (previous == null || previous.getTables() == null) {
+            return tables;
+        }
+        Map<String, Map<String, Table>> previousTables = new HashMap<>();
+        previous.getTables().forEach(table -> previousTables
+                .computeIfAbsent(table.getSchema(), key -> new HashMap<>()).put(table.getName(), table));
+
+        Collection<Table> tablesToRead = new ArrayList<>();
+        for (Table table : tables) {
+            Table previousTable = previousTables.getOrDefault(table.getSchema(), Collections.emptyMap()).get(table.getName());
+            if (previousTable == null
+                    || !unchangedTables.getOrDefault(table.getSchema(), Collections.emptySet()).contains(table.getName())) {
+                tablesToRead.add(table);
+                continue;
+            }
+            table.setColumns(previousTable.getColumns());
+            table.setIndices(previousTable.getIndices());
+        }
+        return tablesToRead;
+    }
+
+    /**
+     * One connection per schema, unless no schemas are given, the connection is already limited to a schema or one
+     * of the schemas is null and can not be passed as a schema pattern.
+     */
+    private static List<Connection> scopedConnections(Connection connection, Collection<String> schemas) {
+        if (schemas == null || connection.getSchemaName() != null || schemas.contains(null)) {
+            return Collections.singletonList(connection);
+        }
+        return schemas.stream().distinct().map(connection::withSchemaName).collect(Collectors.toList());
+    }
+
+    private static Set<String> toSet(Collection<String> schemas) {
+        return schemas == null ? null : new HashSet<>(schemas);
+    }
+
+    private static <T extends Table> Collection<T> inSchemas(Collection<T> tables, Set<String> schemas) {
+        if (schemas == null) {
+            return tables;
+        }
+        return tables.stream().filter(table -> schemas.contains(table.getSchema())).collect(Collectors.toList());
+    }
+
+    /**
+     * Splits tables and views into batches and extracts their columns over a bounded pool of
+     * {@link Connection#getParallelism()} connections. Columns are attached to the already ordered table and view
+     * instances, so the resulting model keeps the order in which they were listed.
+     */
+    private void extractColumnsInParallel(Connection connection, Collection<Table> tables, Collection<View> views) throws Exception {
+        int parallelism = connection.getParallelism();
+        List<List<? extends Table>> batches = new ArrayList<>();
+        batches.addAll(batches(connection, tables, parallelism));
+        batches.addAll(batches(connection, views, parallelism));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try (JDBCConnectionPool pool = new JDBCConnectionPool(connection, driverProvider, parallelism)) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (List<? extends Table> batch : batches) {
+                futures.add(executorService.submit(() -> {
+                    java.sql.Connection pooled = pool.acquire();
+                    try {
+                        columnsExtractor.extract(pooled, batch);
+                    } finally {
+                        pool.release(pooled);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    futures.forEach(it -> it.cancel(true));
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Bulk extraction reads a whole schema per call, so batches follow schemas. Otherwise tables are chunked so that
+     * every connection gets a few batches to balance uneven table sizes.
+     */
+    private <T extends Table> List<List<T>> batches(Connection connection, Collection<T> tables, int parallelism) {
+        if (tables.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (connection.isBulkExtraction()) {
+            return new ArrayList<>(tables.stream()
+                    .collect(Collectors.groupingBy(table -> String.valueOf(table.getSchema()), LinkedHashMap::new, Collectors.toList()))
+                    .values());
+        }
+
+        List<T> ordered = new ArrayList<>(tables);
+        int batchSize = Math.max(1, (int) Math.ceil((double) ordered.size() / (parallelism * BATCHES_PER_CONNECTION)));
+        List<List<T>> result = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i += batchSize) {
+            result.add(ordered.subList(i, Math.min(i + batchSize, ordered.size())));
+        }
+        return result;
+    }
+
+    @Override
+    public String fingerprint(Connection connection) throws Exception {
+        Driver driver = driverProvider.getDriver(connection);
+        Properties properties = JDBCUtils.setJDBCAuth(connection);
+        try (java.sql.Connection connect = driver.connect(connection.getUrl(), properties)) {
+            return CatalogFingerprint.compute(connection, connect, fingerprintExtractor);
+        }
+    }
+
+    /**
+     * Views are always reported as changed, their code is not part of the fingerprint.
+     */
+    @Override
+    public Set<String> changedTables(Connection connection, Database model, Collection<String> schemas) throws Exception {
+        if (fingerprintExtractor == null) {
+            return null;
+        }
+        Map<String, Map<String, String>> actual = new HashMap<>();
+        Driver driver = driverProvider.getDriver(connection);
+        Properties properties = JDBCUtils.setJDBCAuth(connection);
+        try (java.sql.Connection connect = driver.connect(connection.getUrl(), properties)) {
+            for (Connection scoped : scopedConnections(connection, schemas)) {
+                fingerprintExtractor.extract(scoped, connect).forEach((schema, fingerprints) ->
+                        actual.computeIfAbsent(schema, key -> new HashMap<>()).putAll(fingerprints));
+            }
+        }
+
+        Set<String> changed = new LinkedHashSet<>();
+        Map<String, Set<String>> modelTables = new HashMap<>();
+        List<Table> tables = new ArrayList<>(Optional.ofNullable(model.getTables()).orElse(Collections.emptyList()));
+        tables.addAll(Optional.ofNullable(model.getViews()).orElse(Collections.emptyList()));
+        for (Table table : tables) {
+            modelTables.computeIfAbsent(table.getSchema(), key -> new HashSet<>()).add(table.getName());
+            String fingerprint = actual.getOrDefault(table.getSchema(), Collections.emptyMap()).get(table.getName());
+            if (table instanceof View || !fingerprintExtractor.fingerprint(table).equals(fingerprint)) {
+                changed.add(table.getName());
+            }
+        }
+        actual.forEach((schema, fingerprints) -> fingerprints.keySet().stream()
+                .filter(name -> !modelTables.getOrDefault(schema, Collections.emptySet()).contains(name))
+                .forEach(changed::add));
+        return changed;
+    }
+
+    @Override
+    public Map<String, Map<String, String>> changeMarkers(Connection connection) throws Exception {
+        if (changeMarkerExtractor == null) {
+            return null;
+        }
+        Driver driver = driverProvider.getDriver(connection);
+        Properties properties = JDBCUtils.setJDBCAuth(connection);
+        try (java.sql.Connection connect = driver.connect(connection.getUrl(), properties)) {
+            return changeMarkerExtractor.extract(connection, connect);
+        }
+    }
+
     @Override
     public Database validate(Connection connection) throws Exception {
         Driver driver = driverProvider.getDriver(connection);
@@ -3,18 +3,24 @@ package com.adataptivescale.rosetta.source.core;
 import com.adaptivescale.rosetta.common.JDBCDriverProvider;
 import com.adaptivescale.rosetta.common.helpers.ModuleLoader;
 import com.adaptivescale.rosetta.common.models.Database;
+import com.adaptivescale.rosetta.common.models.Table;
 import com.adaptivescale.rosetta.common.DriverManagerDriverProvider;
 import com.adaptivescale.rosetta.common.models.input.Connection;
 import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
 import com.adataptivescale.rosetta.source.core.extractors.column.*;
+import com.adataptivescale.rosetta.source.core.extractors.fingerprint.TableFingerprintsExtractor;
+import com.adataptivescale.rosetta.source.core.extractors.marker.ChangeMarkersExtractor;
 import com.adataptivescale.rosetta.source.core.extractors.table.DefaultTablesExtractor;
 import com.adataptivescale.rosetta.source.core.extractors.view.DefaultViewExtractor;
+import com.adataptivescale.rosetta.source.core.interfaces.ChangeMarkerExtractor;
 import com.adataptivescale.rosetta.source.core.interfaces.Generator;
 import com.adataptivescale.rosetta.source.core.interfaces.TableExtractor;
+import com.adataptivescale.rosetta.source.core.interfaces.TableFingerprintExtractor;
 import com.adataptivescale.rosetta.source.core.interfaces.ViewExtractor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -66,10 +72,47 @@ public class SourceGeneratorFactory {
         }
     }
 
+    /**
+     * Null when the database type has no table fingerprint query, there is no generic one.
+     */
+    private static TableFingerprintExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection, Table> loadTableFingerprintExtractor(Connection connection) {
+        Optional<Class<?>> fingerprintExtractorModule = ModuleLoader.loadModuleByAnnotationClassValues(
+                TableFingerprintsExtractor.class.getPackageName(), RosettaModuleTypes.TABLE_FINGERPRINT_EXTRACTOR, connection.getDbType());
+        if(fingerprintExtractorModule.isEmpty()) {
+            return null;
+        }
+        try {
+            return (TableFingerprintsExtractor) fingerprintExtractorModule.get().getDeclaredConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Null when the database type has no change markers.
+     */
+    private static ChangeMarkerExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection> loadChangeMarkerExtractor(Connection connection) {
+        Optional<Class<?>> changeMarkerExtractorModule = ModuleLoader.loadModuleByAnnotationClassValues(
+                ChangeMarkersExtractor.class.getPackageName(), RosettaModuleTypes.CHANGE_MARKER_EXTRACTOR, connection.getDbType());
+        if(changeMarkerExtractorModule.isEmpty()) {
+            return null;
+        }
+        try {
+            return (ChangeMarkersExtractor) changeMarkerExtractorModule.get().getDeclaredConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static Generator<Database, Connection> sourceGenerator(Connection connection, JDBCDriverProvider driverProvider) {
         TableExtractor tablesExtractor = loadTableExtractor(connection);
         ViewExtractor viewExtractor = loadViewExtractor(connection);
         ColumnsExtractor columnsExtractor = loadColumnExtractor(connection);
-        return new DefaultGenerator(tablesExtractor, viewExtractor, columnsExtractor, driverProvider);
+        TableFingerprintExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection, Table> fingerprintExtractor =
+                loadTableFingerprintExtractor(connection);
+        ChangeMarkerExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection> changeMarkerExtractor =
+                loadChangeMarkerExtractor(connection);
+        return new DefaultGenerator(tablesExtractor, viewExtractor, columnsExtractor, fingerprintExtractor,
+                changeMarkerExtractor, driverProvider);
     }
 }
@@ -22,12 +22,14 @@ import com.adaptivescale.rosetta.common.models.Index;
 import com.adaptivescale.rosetta.common.models.Table;
 import com.adaptivescale.rosetta.common.models.input.Connection;
 import com.adataptivescale.rosetta.source.core.interfaces.ColumnExtractor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
 
+@Slf4j
 public class ColumnsExtractor implements ColumnExtractor<java.sql.Connection, Collection<Table>> {
 
     private final Connection connection;
@@ -38,35 +40,121 @@ public class ColumnsExtractor implements ColumnExtractor<java.sql.Connection, Co
 
     @Override
     public void extract(java.sql.Connection connection, Collection<Table> tables) throws Exception {
+        if (this.connection.isBulkExtraction()) {
+            extractBulk(connection, tables);
+            return;
+        }
+
         for (Table table : tables) {
-            Collection<Column> columns = new ArrayList<>();
             Map<String, Integer> primaryKeysData = extractPrimaryKeys(connection, table);
             Map<String, List<ForeignKey>> foreignKeys = extractForeignKeys(connection, table);
             Map<String, List<Index>> indices = extractIndices(connection, table);
-            ResultSet resultSet = connection.getMetaData().getColumns(this.connection.getDatabaseName(), table.getSchema(), table.getName(), null);
+            setColumns(table, extractColumns(connection, table), primaryKeysData, foreignKeys);
+
+            if (indices.containsKey(table.getName())) {
+                table.setIndices(indices.get(table.getName()));
+            }
+        }
+    }
+
+    /**
+     * Reads columns, primary keys, foreign keys and indices once per schema instead of once per table and
+     * distributes the rows to the given tables in memory. Rows for tables that are not part of the given
+     * collection are skipped. A schema wide lookup the driver rejects, with an exception of any kind, or that returns
+     * rows without a table name is done per table instead, as are the columns, keys and indices of tables the schema
+     * wide lookup returned no rows for, such as when the driver reports the table under another schema or catalog.
+     */
+    protected void extractBulk(java.sql.Connection connection, Collection<Table> tables) throws SQLException {
+        Map<String, List<Table>> tablesBySchema = tables.stream()
+                .collect(Collectors.groupingBy(table -> String.valueOf(table.getSchema()), LinkedHashMap::new, Collectors.toList()));
 
+        for (List<Table> schemaTables : tablesBySchema.values()) {
+            String schema = schemaTables.get(0).getSchema();
+            Map<String, Table> tablesByKey = new HashMap<>();
+            schemaTables.forEach(table -> tablesByKey.put(tableKey(table.getSchema(), table.getName()), table));
+
+            Map<String, Map<String, Integer>> primaryKeys = extractSchemaPrimaryKeys(connection, schema, schemaTables);
+            Map<String, Map<String, List<ForeignKey>>> foreignKeys = extractSchemaForeignKeys(connection, schema, schemaTables);
+            Map<String, List<Index>> indices = extractSchemaIndices(connection, schema, schemaTables);
+            Map<String, List<Column>> columns = extractSchemaColumns(connection, schema, tablesByKey.keySet());
+
+            for (Table table : schemaTables) {
+                String key = tableKey(table.getSchema(), table.getName());
+                List<Column> tableColumns = columns.get(key);
+                if (tableColumns == null) {
+                    log.debug("Schema wide column lookup returned no columns for table: {}. Falling back to per table lookup.", key);
+                    tableColumns = extractColumns(connection, table);
+                }
+                Map<String, Integer> tablePrimaryKeys = primaryKeys.get(key);
+                if (tablePrimaryKeys == null) {
+                    log.debug("Schema wide primary key lookup returned no rows for table: {}. Falling back to per table lookup.", key);
+                    tablePrimaryKeys = extractPrimaryKeys(connection, table);
+                }
+                Map<String, List<ForeignKey>> tableForeignKeys = foreignKeys.get(key);
+                if (tableForeignKeys == null) {
+                    log.debug("Schema wide foreign key lookup returned no rows for table: {}. Falling back to per table lookup.", key);
+                    tableForeignKeys = extractForeignKeys(connection, table);
+                }
+                List<Index> tableIndices = indices.get(key);
+                if (tableIndices == null) {
+                    log.debug("Schema wide index lookup returned no rows for table: {}. Falling back to per table lookup.", key);
+                    tableIndices = extractIndices(connection, table).get(table.getName());
+                }
+                setColumns(table, tableColumns, tablePrimaryKeys, tableForeignKeys);
+                table.setIndices(tableIndices);
+            }
+        }
+    }
+
+    private List<Column> extractColumns(java.sql.Connection connection, Table table) throws SQLException {
+        List<Column> columns = new ArrayList<>();
+        try (ResultSet resultSet = connection.getMetaData().getColumns(this.connection.getDatabaseName(), table.getSchema(), table.getName(), null)) {
             while (resultSet.next()) {
                 Column column = new Column();
                 extract(resultSet, column);
-                if (primaryKeysData.containsKey(column.getName())) {
-                    column.setPrimaryKey(true);
-                    column.setPrimaryKeySequenceId(primaryKeysData.get(column.getName()));
-                }
-                if (foreignKeys.containsKey(column.getName())) {
-                    column.setForeignKeys(foreignKeys.get(column.getName()));
-                }
                 columns.add(column);
-                table.setColumns(columns);
             }
+        }
+        return columns;
+    }
 
-            if (indices.containsKey(table.getName())) {
-                table.setIndices(indices.get(table.getName()));
+    /**
+     * Columns by table key of the given tables, tables the lookup fails for or returns no rows for are missing.
+     */
+    private Map<String, List<Column>> extractSchemaColumns(java.sql.Connection connection, String schema,
+                                                           Set<String> tableKeys) {
+        Map<String, List<Column>> result = new HashMap<>();
+        try (ResultSet resultSet = connection.getMetaData().getColumns(this.connection.getDatabaseName(), schema, null, null)) {
+            while (resultSet.next()) {
+                String key = tableKey(schemaOf(resultSet, "TABLE_SCHEM", "TABLE_CAT"), requireTableName(resultSet));
+                if (!tableKeys.contains(key)) {
+                    continue;
+                }
+                Column column = new Column();
+                extract(resultSet, column);
+                result.computeIfAbsent(key, k -> new ArrayList<>()).add(column);
             }
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Schema wide column lookup not supported for schema: {}. Falling back to per table lookup.", schema, e);
+        }
+        return Collections.emptyMap();
+    }
 
-            if (!resultSet.isClosed()) {
-                resultSet.close();
+    private static void setColumns(Table table, List<Column> columns, Map<String, Integer> primaryKeysData,
+                                   Map<String, List<ForeignKey>> foreignKeys) {
+        for (Column column : columns) {
+            if (primaryKeysData.containsKey(column.getName())) {
+                column.setPrimaryKey(true);
+                column.setPrimaryKeySequenceId(primaryKeysData.get(column.getName()));
+            }
+            if (foreignKeys.containsKey(column.getName())) {
+                column.setForeignKeys(foreignKeys.get(column.getName()));
             }
         }
+        if (!columns.isEmpty()) {
+            table.setColumns(columns);
+        }
     }
 
     protected void extract(ResultSet resultSet, Column column) throws SQLException {
@@ -83,35 +171,12 @@ public class ColumnsExtractor implements ColumnExtractor<java.sql.Connection, Co
         Map<String, Set<ForeignKey>> result = new HashMap<>();
 
         while (exportedKeys.next()) {
-            ForeignKey foreignKey = new ForeignKey();
-            foreignKey.setName(exportedKeys.getString("FK_NAME"));
-            String fkTableSchema = exportedKeys.getString("FKTABLE_SCHEM");
-            if (fkTableSchema == null) {
-                fkTableSchema = exportedKeys.getString("FKTABLE_CAT");
-            }
-            foreignKey.setSchema(fkTableSchema);
-            foreignKey.setTableName(exportedKeys.getString("FKTABLE_NAME"));
-            foreignKey.setColumnName(exportedKeys.getString("FKCOLUMN_NAME"));
-            foreignKey.setDeleteRule(exportedKeys.getString("DELETE_RULE"));
-
-            String pkTableScehma = exportedKeys.getString("PKTABLE_SCHEM");
-            if (pkTableScehma == null) {
-                pkTableScehma = exportedKeys.getString("PKTABLE_CAT");
-            }
-            foreignKey.setPrimaryTableSchema(pkTableScehma);
-            foreignKey.setPrimaryTableName(exportedKeys.getString("PKTABLE_NAME"));
-            foreignKey.setPrimaryColumnName(exportedKeys.getString("PKCOLUMN_NAME"));
-
+            ForeignKey foreignKey = mapForeignKey(exportedKeys);
             Set<ForeignKey> foreignKeys = result.computeIfAbsent(foreignKey.getColumnName(), k -> new HashSet<>());
             foreignKeys.add(foreignKey);
         }
 
-        return result.entrySet()
-            .stream()
-            .collect(Collectors.toMap(
-                    Map.Entry::getKey,
-                    entry -> new ArrayList<>(entry.getValue())
-            ));
+        return toForeignKeyLists(result);
     }
 
     private Map<String, Integer> extractPrimaryKeys(java.sql.Connection connection, Table table) throws SQLException {
@@ -132,22 +197,143 @@ public class ColumnsExtractor implements ColumnExtractor<java.sql.Connection, Co
         while (exportedKeys.next()) {
             String indexName = exportedKeys.getString("INDEX_NAME");
             Index index = indicesMappedByName.getOrDefault(indexName, new Index());
-
-            index.setName(exportedKeys.getString("INDEX_NAME"));
-            index.setSchema(exportedKeys.getString("TABLE_SCHEM"));
-            index.setTableName(exportedKeys.getString("TABLE_NAME"));
-            index.addColumn(exportedKeys.getString("COLUMN_NAME"));
-            index.setIndexQualifier(exportedKeys.getString("INDEX_QUALIFIER"));
-            index.setType(exportedKeys.getShort("TYPE"));
-            index.setCardinality(exportedKeys.getInt("CARDINALITY"));
-            index.setFilterCondition(exportedKeys.getString("FILTER_CONDITION"));
-            index.setNonUnique(exportedKeys.getBoolean("NON_UNIQUE"));
-            index.setAscOrDesc(exportedKeys.getString("ASC_OR_DESC"));
-
+            mapIndex(exportedKeys, index);
             indicesMappedByName.put(indexName, index);
         }
 
         result.put(table.getName(), new ArrayList<Index>(indicesMappedByName.values()));
         return result;
     }
+
+    /**
+     * Not every driver accepts a null table name for {@link java.sql.DatabaseMetaData#getPrimaryKeys}, in that case
+     * the schema tables are read one by one.
+     */
+    private Map<String, Map<String, Integer>> extractSchemaPrimaryKeys(java.sql.Connection connection, String schema,
+                                                                       List<Table> tables) throws SQLException {
+        Map<String, Map<String, Integer>> result = new HashMap<>();
+        try (ResultSet primaryKeys = connection.getMetaData().getPrimaryKeys(this.connection.getDatabaseName(), schema, null)) {
+            while (primaryKeys.next()) {
+                String key = tableKey(schemaOf(primaryKeys, "TABLE_SCHEM", "TABLE_CAT"), requireTableName(primaryKeys));
+                result.computeIfAbsent(key, k -> new HashMap<>())
+                        .put(primaryKeys.getString("COLUMN_NAME"), primaryKeys.getInt("KEY_SEQ"));
+            }
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Schema wide primary key lookup not supported for schema: {}. Falling back to per table lookup.", schema, e);
+        }
+
+        result.clear();
+        for (Table table : tables) {
+            result.put(tableKey(table.getSchema(), table.getName()), extractPrimaryKeys(connection, table));
+        }
+        return result;
+    }
+
+    private Map<String, Map<String, List<ForeignKey>>> extractSchemaForeignKeys(java.sql.Connection connection, String schema,
+                                                                                List<Table> tables) throws SQLException {
+        Map<String, Map<String, Set<ForeignKey>>> foreignKeysByTable = new HashMap<>();
+        try (ResultSet importedKeys = connection.getMetaData().getImportedKeys(this.connection.getDatabaseName(), schema, null)) {
+            while (importedKeys.next()) {
+                ForeignKey foreignKey = mapForeignKey(importedKeys);
+                if (foreignKey.getTableName() == null) {
+                    throw new IllegalStateException("Foreign key row without a table name.");
+                }
+                foreignKeysByTable.computeIfAbsent(tableKey(foreignKey.getSchema(), foreignKey.getTableName()), k -> new HashMap<>())
+                        .computeIfAbsent(foreignKey.getColumnName(), k -> new HashSet<>())
+                        .add(foreignKey);
+            }
+            Map<String, Map<String, List<ForeignKey>>> result = new HashMap<>();
+            foreignKeysByTable.forEach((key, foreignKeys) -> result.put(key, toForeignKeyLists(foreignKeys)));
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Schema wide foreign key lookup not supported for schema: {}. Falling back to per table lookup.", schema, e);
+        }
+
+        Map<String, Map<String, List<ForeignKey>>> result = new HashMap<>();
+        for (Table table : tables) {
+            result.put(tableKey(table.getSchema(), table.getName()), extractForeignKeys(connection, table));
+        }
+        return result;
+    }
+
+    private Map<String, List<Index>> extractSchemaIndices(java.sql.Connection connection, String schema,
+                                                          List<Table> tables) throws SQLException {
+        Map<String, Map<String, Index>> indicesByTable = new HashMap<>();
+        try (ResultSet indexInfo = connection.getMetaData().getIndexInfo(this.connection.getDatabaseName(), schema, null, false, false)) {
+            while (indexInfo.next()) {
+                String key = tableKey(schemaOf(indexInfo, "TABLE_SCHEM", "TABLE_CAT"), requireTableName(indexInfo));
+                Index index = indicesByTable.computeIfAbsent(key, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(indexInfo.getString("INDEX_NAME"), k -> new Index());
+                mapIndex(indexInfo, index);
+            }
+            Map<String, List<Index>> result = new HashMap<>();
+            indicesByTable.forEach((key, indices) -> result.put(key, new ArrayList<>(indices.values())));
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Schema wide index lookup not supported for schema: {}. Falling back to per table lookup.", schema, e);
+        }
+
+        Map<String, List<Index>> result = new HashMap<>();
+        for (Table table : tables) {
+            result.put(tableKey(table.getSchema(), table.getName()), extractIndices(connection, table).get(table.getName()));
+        }
+        return result;
+    }
+
+    private ForeignKey mapForeignKey(ResultSet exportedKeys) throws SQLException {
+        ForeignKey foreignKey = new ForeignKey();
+        foreignKey.setName(exportedKeys.getString("FK_NAME"));
+        foreignKey.setSchema(schemaOf(exportedKeys, "FKTABLE_SCHEM", "FKTABLE_CAT"));
+        foreignKey.setTableName(exportedKeys.getString("FKTABLE_NAME"));
+        foreignKey.setColumnName(exportedKeys.getString("FKCOLUMN_NAME"));
+        foreignKey.setDeleteRule(exportedKeys.getString("DELETE_RULE"));
+
+        foreignKey.setPrimaryTableSchema(schemaOf(exportedKeys, "PKTABLE_SCHEM", "PKTABLE_CAT"));
+        foreignKey.setPrimaryTableName(exportedKeys.getString("PKTABLE_NAME"));
+        foreignKey.setPrimaryColumnName(exportedKeys.getString("PKCOLUMN_NAME"));
+        return foreignKey;
+    }
+
+    private void mapIndex(ResultSet exportedKeys, Index index) throws SQLException {
+        index.setName(exportedKeys.getString("INDEX_NAME"));
+        index.setSchema(exportedKeys.getString("TABLE_SCHEM"));
+        index.setTableName(exportedKeys.getString("TABLE_NAME"));
+        index.addColumn(exportedKeys.getString("COLUMN_NAME"));
+        index.setIndexQualifier(exportedKeys.getString("INDEX_QUALIFIER"));
+        index.setType(exportedKeys.getShort("TYPE"));
+        index.setCardinality(exportedKeys.getInt("CARDINALITY"));
+        index.setFilterCondition(exportedKeys.getString("FILTER_CONDITION"));
+        index.setNonUnique(exportedKeys.getBoolean("NON_UNIQUE"));
+        index.setAscOrDesc(exportedKeys.getString("ASC_OR_DESC"));
+    }
+
+    private Map<String, List<ForeignKey>> toForeignKeyLists(Map<String, Set<ForeignKey>> foreignKeys) {
+        return foreignKeys.entrySet()
+            .stream()
+            .collect(Collectors.toMap(
+                    Map.Entry::getKey,
+                    entry -> new ArrayList<>(entry.getValue())
+            ));
+    }
+
+    private static String schemaOf(ResultSet resultSet, String schemaColumn, String catalogColumn) throws SQLException {
+        String schema = resultSet.getString(schemaColumn);
+        if (schema == null) {
+            schema = resultSet.getString(catalogColumn);
+        }
+        return schema;
+    }
+
+    private static String requireTableName(ResultSet resultSet) throws SQLException {
+        String tableName = resultSet.getString("TABLE_NAME");
+        if (tableName == null) {
+            throw new IllegalStateException("Metadata row without a table name.");
+        }
+        return tableName;
+    }
+
+    private static String tableKey(String schema, String tableName) {
+        return schema + "." + tableName;
+    }
 }
@@ -0,0 +1,80 @@
+package com.adataptivescale.rosetta.source.core.extractors.fingerprint;
+
+import com.adaptivescale.rosetta.common.annotations.RosettaModule;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Columns, foreign keys and indices come from {@code information_schema}, with {@code unsigned} appended to the type
+ * the way the driver reports it. Schemas are databases, so the connection's database is read when it names no schema.
+ */
+@RosettaModule(
+        name = "mysql",
+        type = RosettaModuleTypes.TABLE_FINGERPRINT_EXTRACTOR
+)
+public class MySQLTableFingerprintsExtractor extends TableFingerprintsExtractor {
+
+    // GROUP_CONCAT truncates at 1024 bytes by default
+    private static final int GROUP_CONCAT_MAX_LEN = 16 * 1024 * 1024;
+
+    private static final String QUERY = "SELECT c.table_schema, c.table_name, " +
+            "MD5(CONCAT(c.columns, '#', COALESCE(f.foreign_keys, ''), '#', COALESCE(i.indices, ''))) AS fingerprint " +
+            "FROM (SELECT c.TABLE_SCHEMA AS table_schema, c.TABLE_NAME AS table_name, " +
+            "GROUP_CONCAT(CONCAT(c.COLUMN_NAME, '|', " +
+            "LOWER(c.DATA_TYPE), IF(c.COLUMN_TYPE LIKE '%unsigned%', ' unsigned', ''), '|', " +
+            "CASE WHEN c.DATA_TYPE IN ('varchar', 'char') THEN CONCAT('L', COALESCE(c.CHARACTER_MAXIMUM_LENGTH, '')) " +
+            "WHEN c.DATA_TYPE = 'decimal' THEN CONCAT('N', COALESCE(c.NUMERIC_PRECISION, ''), ',', " +
+            "COALESCE(c.NUMERIC_SCALE, '')) " +
+            "ELSE '' END, '|', " +
+            "IF(c.IS_NULLABLE = 'YES', 'Y', 'N'), '|', " +
+            "COALESCE(k.ORDINAL_POSITION, 0)) ORDER BY BINARY c.COLUMN_NAME SEPARATOR ';') AS columns " +
+            "FROM information_schema.COLUMNS c " +
+            "LEFT JOIN information_schema.KEY_COLUMN_USAGE k ON k.TABLE_SCHEMA = c.TABLE_SCHEMA " +
+            "AND k.TABLE_NAME = c.TABLE_NAME AND k.COLUMN_NAME = c.COLUMN_NAME AND k.CONSTRAINT_NAME = 'PRIMARY' " +
+            "WHERE c.TABLE_SCHEMA = ? " +
+            "GROUP BY c.TABLE_SCHEMA, c.TABLE_NAME) c " +
+            "LEFT JOIN (SELECT CONSTRAINT_SCHEMA AS table_schema, TABLE_NAME AS table_name, " +
+            "GROUP_CONCAT(CONCAT(CONSTRAINT_NAME, '>', REFERENCED_TABLE_NAME) " +
+            "ORDER BY BINARY CONCAT(CONSTRAINT_NAME, '>', REFERENCED_TABLE_NAME) SEPARATOR ',') AS foreign_keys " +
+            "FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+            "WHERE CONSTRAINT_SCHEMA = ? " +
+            "GROUP BY CONSTRAINT_SCHEMA, TABLE_NAME) f ON f.table_schema = c.table_schema AND f.table_name = c.table_name " +
+            "LEFT JOIN (SELECT TABLE_SCHEMA AS table_schema, TABLE_NAME AS table_name, " +
+            "GROUP_CONCAT(DISTINCT INDEX_NAME ORDER BY BINARY INDEX_NAME SEPARATOR ',') AS indices " +
+            "FROM information_schema.STATISTICS " +
+            "WHERE TABLE_SCHEMA = ? " +
+            "GROUP BY TABLE_SCHEMA, TABLE_NAME) i ON i.table_schema = c.table_schema AND i.table_name = c.table_name";
+
+    public MySQLTableFingerprintsExtractor() {
+        super(Set.of("varchar", "char"), Set.of("decimal"));
+    }
+
+    @Override
+    protected String query() {
+        return QUERY;
+    }
+
+    @Override
+    protected Collection<String> schemas(Connection target, java.sql.Connection connection) throws SQLException {
+        if (target.getSchemaName() != null) {
+            return Collections.singletonList(target.getSchemaName());
+        }
+        if (target.getDatabaseName() != null) {
+            return Collections.singletonList(target.getDatabaseName());
+        }
+        return Collections.singletonList(connection.getCatalog());
+    }
+
+    @Override
+    protected void prepare(java.sql.Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION group_concat_max_len = " + GROUP_CONCAT_MAX_LEN);
+        }
+    }
+}
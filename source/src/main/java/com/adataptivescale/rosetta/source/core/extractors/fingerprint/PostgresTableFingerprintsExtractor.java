@@ -0,0 +1,89 @@
+package com.adataptivescale.rosetta.source.core.extractors.fingerprint;
+
+import com.adaptivescale.rosetta.common.annotations.RosettaModule;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Columns come from {@code information_schema}, with the serial types the driver reports for integer columns that
+ * default to a sequence, foreign keys from {@code pg_constraint} and indices from {@code pg_indexes}.
+ */
+@RosettaModule(
+        name = "postgres",
+        type = RosettaModuleTypes.TABLE_FINGERPRINT_EXTRACTOR
+)
+public class PostgresTableFingerprintsExtractor extends TableFingerprintsExtractor {
+
+    private static final String QUERY = "SELECT c.table_schema, c.table_name, " +
+            "md5(c.columns || '#' || coalesce(f.foreign_keys, '') || '#' || coalesce(i.indices, '')) AS fingerprint " +
+            "FROM (SELECT c.table_schema::text AS table_schema, c.table_name::text AS table_name, " +
+            "string_agg(c.column_name || '|' || " +
+            "CASE WHEN c.column_default LIKE 'nextval(%' AND c.udt_name = 'int4' THEN 'serial' " +
+            "WHEN c.column_default LIKE 'nextval(%' AND c.udt_name = 'int8' THEN 'bigserial' " +
+            "WHEN c.column_default LIKE 'nextval(%' AND c.udt_name = 'int2' THEN 'smallserial' " +
+            "ELSE c.udt_name::text END || '|' || " +
+            "CASE WHEN c.udt_name IN ('varchar', 'bpchar') THEN 'L' || coalesce(c.character_maximum_length::text, '') " +
+            "WHEN c.udt_name = 'numeric' THEN 'N' || coalesce(c.numeric_precision::text, '') || ',' || " +
+            "coalesce(c.numeric_scale::text, '') " +
+            "ELSE '' END || '|' || " +
+            "CASE WHEN c.is_nullable = 'YES' THEN 'Y' ELSE 'N' END || '|' || " +
+            "coalesce(k.ordinal_position::text, '0'), ';' ORDER BY c.column_name::text COLLATE \"C\") AS columns " +
+            "FROM information_schema.columns c " +
+            "LEFT JOIN information_schema.table_constraints tc ON tc.table_schema = c.table_schema " +
+            "AND tc.table_name = c.table_name AND tc.constraint_type = 'PRIMARY KEY' " +
+            "LEFT JOIN information_schema.key_column_usage k ON k.constraint_schema = tc.constraint_schema " +
+            "AND k.constraint_name = tc.constraint_name AND k.table_name = c.table_name " +
+            "AND k.column_name = c.column_name " +
+            "WHERE c.table_schema = ? " +
+            "GROUP BY c.table_schema, c.table_name) c " +
+            "LEFT JOIN (SELECT n.nspname::text AS table_schema, t.relname::text AS table_name, " +
+            "string_agg(con.conname || '>' || p.relname, ',' " +
+            "ORDER BY (con.conname || '>' || p.relname) COLLATE \"C\") AS foreign_keys " +
+            "FROM pg_constraint con " +
+            "JOIN pg_class t ON t.oid = con.conrelid " +
+            "JOIN pg_namespace n ON n.oid = t.relnamespace " +
+            "JOIN pg_class p ON p.oid = con.confrelid " +
+            "WHERE con.contype = 'f' AND n.nspname = ? " +
+            "GROUP BY n.nspname, t.relname) f ON f.table_schema = c.table_schema AND f.table_name = c.table_name " +
+            "LEFT JOIN (SELECT schemaname::text AS table_schema, tablename::text AS table_name, " +
+            "string_agg(indexname, ',' ORDER BY indexname::text COLLATE \"C\") AS indices " +
+            "FROM pg_indexes " +
+            "WHERE schemaname = ? " +
+            "GROUP BY schemaname, tablename) i ON i.table_schema = c.table_schema AND i.table_name = c.table_name";
+
+    private static final String SCHEMAS_QUERY = "SELECT nspname FROM pg_namespace " +
+            "WHERE nspname <> 'information_schema' AND nspname NOT LIKE 'pg\\_%'";
+
+    public PostgresTableFingerprintsExtractor() {
+        super(Set.of("varchar", "bpchar"), Set.of("numeric"));
+    }
+
+    @Override
+    protected String query() {
+        return QUERY;
+    }
+
+    @Override
+    protected Collection<String> schemas(Connection target, java.sql.Connection connection) throws SQLException {
+        if (target.getSchemaName() != null) {
+            return Collections.singletonList(target.getSchemaName());
+        }
+        List<String> schemas = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SCHEMAS_QUERY)) {
+            while (resultSet.next()) {
+                schemas.add(resultSet.getString("nspname"));
+            }
+        }
+        return schemas;
+    }
+}
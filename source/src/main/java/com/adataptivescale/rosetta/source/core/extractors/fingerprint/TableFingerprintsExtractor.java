@@ -0,0 +1,129 @@
+package com.adataptivescale.rosetta.source.core.extractors.fingerprint;
+
+import com.adaptivescale.rosetta.common.helpers.Digests;
+import com.adaptivescale.rosetta.common.models.Column;
+import com.adaptivescale.rosetta.common.models.ForeignKey;
+import com.adaptivescale.rosetta.common.models.Index;
+import com.adaptivescale.rosetta.common.models.Table;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adataptivescale.rosetta.source.core.interfaces.TableFingerprintExtractor;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Lets the database compute one MD5 per table and view with a single query per schema, so drift against a model is
+ * found without reading the metadata of every table. The query hashes the text
+ * <pre>
+ * column|type|size|nullable|key sequence;...#foreign key&gt;primary table,...#index,...
+ * </pre>
+ * and {@link #fingerprint(Table)} hashes the same text built from a model. Columns are ordered by name, foreign keys
+ * and indices by their text, all by code point. The size is {@code L<length>} for character types,
+ * {@code N<precision>,<scale>} for numeric types and empty otherwise, the nullable flag is {@code Y} or {@code N} and
+ * the key sequence is 0 for columns outside the primary key.
+ * <p>
+ * Descriptions, labels, display sizes, delete rules and index columns are not part of the text. Types renamed by the
+ * translation matrix during extraction hash differently on both sides, so such tables always count as changed.
+ */
+public abstract class TableFingerprintsExtractor
+        implements TableFingerprintExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection, Table> {
+
+    private final Set<String> characterTypes;
+    private final Set<String> numericTypes;
+
+    protected TableFingerprintsExtractor(Set<String> characterTypes, Set<String> numericTypes) {
+        this.characterTypes = characterTypes;
+        this.numericTypes = numericTypes;
+    }
+
+    /**
+     * Fingerprints by schema and table name.
+     */
+    @Override
+    public Map<String, Map<String, String>> extract(Connection target, java.sql.Connection connection) throws SQLException {
+        prepare(connection);
+        String query = query();
+        long parameters = query.chars().filter(c -> c == '?').count();
+
+        Map<String, Map<String, String>> result = new HashMap<>();
+        for (String schema : schemas(target, connection)) {
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setString(i, schema);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        String tableName = resultSet.getString("table_name");
+                        if (!target.getTables().isEmpty() && !target.getTables().contains(tableName)) continue;
+                        result.computeIfAbsent(resultSet.getString("table_schema"), key -> new HashMap<>())
+                                .put(tableName, resultSet.getString("fingerprint"));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String fingerprint(Table table) {
+        List<Column> columns = new ArrayList<>(Optional.ofNullable(table.getColumns()).orElse(Collections.emptyList()));
+        columns.sort(Comparator.comparing(Column::getName));
+
+        StringJoiner columnsText = new StringJoiner(";");
+        Set<String> foreignKeys = new TreeSet<>();
+        for (Column column : columns) {
+            columnsText.add(String.join("|", column.getName(), typeName(column), size(column),
+                    column.isNullable() ? "Y" : "N",
+                    String.valueOf(column.isPrimaryKey() ? column.getPrimaryKeySequenceId() : 0)));
+            for (ForeignKey foreignKey : Optional.ofNullable(column.getForeignKeys()).orElse(Collections.emptyList())) {
+                foreignKeys.add(foreignKey.getName() + ">" + foreignKey.getPrimaryTableName());
+            }
+        }
+        Set<String> indices = new TreeSet<>();
+        for (Index index : Optional.ofNullable(table.getIndices()).orElse(Collections.emptyList())) {
+            indices.add(index.getName());
+        }
+
+        return md5(columnsText + "#" + String.join(",", foreignKeys) + "#" + String.join(",", indices));
+    }
+
+    /**
+     * Query for the fingerprints of one schema, with {@code table_schema}, {@code table_name} and
+     * {@code fingerprint} columns. Every parameter is set to the schema.
+     */
+    protected abstract String query();
+
+    /**
+     * Schemas to read, the one of the connection or the user schemas of the database when it names none.
+     */
+    protected abstract Collection<String> schemas(Connection target, java.sql.Connection connection) throws SQLException;
+
+    /**
+     * Session settings the query needs.
+     */
+    protected void prepare(java.sql.Connection connection) throws SQLException {
+        // No op
+    }
+
+    private String typeName(Column column) {
+        return String.valueOf(column.getTypeName()).toLowerCase(Locale.ROOT);
+    }
+
+    private String size(Column column) {
+        String typeName = typeName(column);
+        if (characterTypes.contains(typeName)) {
+            return "L" + column.getPrecision();
+        }
+        if (numericTypes.contains(typeName)) {
+            return "N" + column.getPrecision() + "," + column.getScale();
+        }
+        return "";
+    }
+
+    private static String md5(String text) {
+        return Digests.hex(Digests.md5().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.adataptivescale.rosetta.source.core.extractors.marker;
+
+import com.adaptivescale.rosetta.common.annotations.RosettaModule;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * {@code INFORMATION_SCHEMA.TABLES} of BigQuery has no modification time, the {@code __TABLES__} meta table of every
+ * dataset has {@code last_modified_time}, which moves with schema and data changes.
+ */
+@RosettaModule(
+        name = "bigquery",
+        type = RosettaModuleTypes.CHANGE_MARKER_EXTRACTOR
+)
+public class BigQueryChangeMarkersExtractor extends ChangeMarkersExtractor {
+
+    private static final String QUERY = "SELECT dataset_id AS table_schema, table_id AS table_name, " +
+            "CAST(last_modified_time AS STRING) AS marker " +
+            "FROM `%s`";
+
+    @Override
+    protected PreparedStatement statement(Connection target, java.sql.Connection connection, String schema) throws SQLException {
+        String dataset = target.getDatabaseName() == null ? schema : target.getDatabaseName() + "." + schema;
+        return connection.prepareStatement(String.format(QUERY, dataset + ".__TABLES__"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.adataptivescale.rosetta.source.core.extractors.marker;
+
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adataptivescale.rosetta.source.core.interfaces.ChangeMarkerExtractor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Reads a change marker for every table with one query per schema, a value the database changes whenever the
+ * definition of the table may have changed, such as the time it was last altered. Markers are compared with the ones
+ * of the previous extraction to only read the columns of changed tables again, so a marker may change more often than
+ * the definition, when data changes as well, but never less often.
+ */
+public abstract class ChangeMarkersExtractor implements ChangeMarkerExtractor<Map<String, Map<String, String>>, Connection, java.sql.Connection> {
+
+    /**
+     * Markers by schema and table name.
+     */
+    @Override
+    public Map<String, Map<String, String>> extract(Connection target, java.sql.Connection connection) throws SQLException {
+        prepare(connection);
+        Map<String, Map<String, String>> result = new HashMap<>();
+        for (String schema : schemas(target, connection)) {
+            try (PreparedStatement statement = statement(target, connection, schema);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String tableName = resultSet.getString("table_name");
+                    if (!target.getTables().isEmpty() && !target.getTables().contains(tableName)) continue;
+                    result.computeIfAbsent(resultSet.getString("table_schema"), key -> new HashMap<>())
+                            .put(tableName, resultSet.getString("marker"));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Query for the markers of one schema, with {@code table_schema}, {@code table_name} and {@code marker} columns.
+     */
+    protected abstract PreparedStatement statement(Connection target, java.sql.Connection connection, String schema) throws SQLException;
+
+    /**
+     * Schemas to read, the one of the connection or every schema but the information schema when it names none.
+     */
+    protected Collection<String> schemas(Connection target, java.sql.Connection connection) throws SQLException {
+        if (target.getSchemaName() != null) {
+            return Collections.singletonList(target.getSchemaName());
+        }
+        List<String> schemas = new ArrayList<>();
+        try (ResultSet resultSet = connection.getMetaData().getSchemas(target.getDatabaseName(), null)) {
+            while (resultSet.next()) {
+                String schema = resultSet.getString("TABLE_SCHEM");
+                if (!isSystemSchema(schema)) {
+                    schemas.add(schema);
+                }
+            }
+        }
+        return schemas;
+    }
+
+    protected boolean isSystemSchema(String schema) {
+        return "information_schema".equalsIgnoreCase(schema);
+    }
+
+    /**
+     * Session settings the query needs.
+     */
+    protected void prepare(java.sql.Connection connection) throws SQLException {
+        // No op
+    }
+}
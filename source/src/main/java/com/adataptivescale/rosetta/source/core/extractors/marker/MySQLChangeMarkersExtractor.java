@@ -0,0 +1,92 @@
+package com.adataptivescale.rosetta.source.core.extractors.marker;
+
+import com.adaptivescale.rosetta.common.annotations.RosettaModule;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Hashes {@code CREATE_TIME} and {@code UPDATE_TIME} of the table together with its columns, indices and foreign keys,
+ * since DDL that InnoDB applies in place, such as {@code CREATE INDEX}, leaves the creation time as it was. Statistics
+ * caching is turned off for the session where the server supports it, otherwise MySQL 8 reports times up to a day old.
+ */
+@Slf4j
+@RosettaModule(
+        name = "mysql",
+        type = RosettaModuleTypes.CHANGE_MARKER_EXTRACTOR
+)
+public class MySQLChangeMarkersExtractor extends ChangeMarkersExtractor {
+
+    private static final String QUERY = "SELECT t.TABLE_SCHEMA AS table_schema, t.TABLE_NAME AS table_name, " +
+            "MD5(CONCAT_WS('|', COALESCE(t.CREATE_TIME, ''), COALESCE(t.UPDATE_TIME, ''), t.TABLE_COMMENT, " +
+            "COALESCE(c.columns, ''), COALESCE(i.indices, ''), COALESCE(f.foreign_keys, ''))) AS marker " +
+            "FROM information_schema.TABLES t " +
+            "LEFT JOIN (SELECT TABLE_SCHEMA, TABLE_NAME, " +
+            "MD5(GROUP_CONCAT(CONCAT_WS('|', COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE, COLUMN_KEY, EXTRA, " +
+            "COALESCE(COLUMN_DEFAULT, ''), COLUMN_COMMENT) ORDER BY ORDINAL_POSITION SEPARATOR ';')) AS columns " +
+            "FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = ? " +
+            "GROUP BY TABLE_SCHEMA, TABLE_NAME) c ON c.TABLE_SCHEMA = t.TABLE_SCHEMA AND c.TABLE_NAME = t.TABLE_NAME " +
+            "LEFT JOIN (SELECT TABLE_SCHEMA, TABLE_NAME, " +
+            "MD5(GROUP_CONCAT(CONCAT_WS('|', INDEX_NAME, COALESCE(COLUMN_NAME, ''), SEQ_IN_INDEX, NON_UNIQUE) " +
+            "ORDER BY INDEX_NAME, SEQ_IN_INDEX SEPARATOR ';')) AS indices " +
+            "FROM information_schema.STATISTICS " +
+            "WHERE TABLE_SCHEMA = ? " +
+            "GROUP BY TABLE_SCHEMA, TABLE_NAME) i ON i.TABLE_SCHEMA = t.TABLE_SCHEMA AND i.TABLE_NAME = t.TABLE_NAME " +
+            "LEFT JOIN (SELECT k.TABLE_SCHEMA, k.TABLE_NAME, " +
+            "MD5(GROUP_CONCAT(CONCAT_WS('|', k.CONSTRAINT_NAME, k.COLUMN_NAME, k.ORDINAL_POSITION, " +
+            "k.REFERENCED_TABLE_SCHEMA, k.REFERENCED_TABLE_NAME, k.REFERENCED_COLUMN_NAME, r.UPDATE_RULE, r.DELETE_RULE) " +
+            "ORDER BY k.CONSTRAINT_NAME, k.ORDINAL_POSITION SEPARATOR ';')) AS foreign_keys " +
+            "FROM information_schema.KEY_COLUMN_USAGE k " +
+            "JOIN information_schema.REFERENTIAL_CONSTRAINTS r ON r.CONSTRAINT_SCHEMA = k.CONSTRAINT_SCHEMA " +
+            "AND r.TABLE_NAME = k.TABLE_NAME AND r.CONSTRAINT_NAME = k.CONSTRAINT_NAME " +
+            "WHERE k.TABLE_SCHEMA = ? " +
+            "GROUP BY k.TABLE_SCHEMA, k.TABLE_NAME) f ON f.TABLE_SCHEMA = t.TABLE_SCHEMA AND f.TABLE_NAME = t.TABLE_NAME " +
+            "WHERE t.TABLE_SCHEMA = ?";
+
+    private static final int SCHEMA_PARAMETERS = 4;
+
+    // GROUP_CONCAT truncates at 1024 bytes by default
+    private static final int GROUP_CONCAT_MAX_LEN = 16 * 1024 * 1024;
+
+    @Override
+    protected PreparedStatement statement(Connection target, java.sql.Connection connection, String schema) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(QUERY);
+        for (int parameter = 1; parameter <= SCHEMA_PARAMETERS; parameter++) {
+            statement.setString(parameter, schema);
+        }
+        return statement;
+    }
+
+    /**
+     * Schemas are databases, so the connection's database is read when it names no schema.
+     */
+    @Override
+    protected Collection<String> schemas(Connection target, java.sql.Connection connection) throws SQLException {
+        if (target.getSchemaName() != null) {
+            return Collections.singletonList(target.getSchemaName());
+        }
+        if (target.getDatabaseName() != null) {
+            return Collections.singletonList(target.getDatabaseName());
+        }
+        return Collections.singletonList(connection.getCatalog());
+    }
+
+    @Override
+    protected void prepare(java.sql.Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION group_concat_max_len = " + GROUP_CONCAT_MAX_LEN);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION information_schema_stats_expiry = 0");
+        } catch (SQLException e) {
+            log.debug("Can not turn off information schema statistics caching.", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.adataptivescale.rosetta.source.core.extractors.marker;
+
+import com.adaptivescale.rosetta.common.annotations.RosettaModule;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Postgres keeps no time of the last DDL and its relation statistics follow the data, not the definition. Every DDL
+ * statement writes new versions of the catalog rows it changes though, so the marker hashes the oid of the table and
+ * the transaction ids ({@code xmin}) of its row in {@code pg_class} and of its columns, constraints, indices and
+ * comments.
+ */
+@RosettaModule(
+        name = "postgres",
+        type = RosettaModuleTypes.CHANGE_MARKER_EXTRACTOR
+)
+public class PostgresChangeMarkersExtractor extends ChangeMarkersExtractor {
+
+    private static final String QUERY = "SELECT n.nspname AS table_schema, c.relname AS table_name, " +
+            "md5(c.oid::text || '|' || c.xmin::text || '|' || " +
+            "coalesce((SELECT string_agg(a.xmin::text, ',' ORDER BY a.attnum) " +
+            "FROM pg_attribute a WHERE a.attrelid = c.oid), '') || '|' || " +
+            "coalesce((SELECT string_agg(con.oid::text || ':' || con.xmin::text, ',' ORDER BY con.oid) " +
+            "FROM pg_constraint con WHERE con.conrelid = c.oid), '') || '|' || " +
+            "coalesce((SELECT string_agg(i.indexrelid::text || ':' || i.xmin::text || ':' || ic.xmin::text, ',' " +
+            "ORDER BY i.indexrelid) " +
+            "FROM pg_index i JOIN pg_class ic ON ic.oid = i.indexrelid WHERE i.indrelid = c.oid), '') || '|' || " +
+            "coalesce((SELECT string_agg(d.objsubid::text || ':' || d.xmin::text, ',' ORDER BY d.objsubid) " +
+            "FROM pg_description d WHERE d.objoid = c.oid AND d.classoid = 'pg_class'::regclass), '')) AS marker " +
+            "FROM pg_class c " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE c.relkind IN ('r', 'p', 'v', 'm', 'f') AND n.nspname = ?";
+
+    @Override
+    protected PreparedStatement statement(Connection target, java.sql.Connection connection, String schema) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(QUERY);
+        statement.setString(1, schema);
+        return statement;
+    }
+
+    @Override
+    protected boolean isSystemSchema(String schema) {
+        return super.isSystemSchema(schema) || schema.startsWith("pg_");
+    }
+}
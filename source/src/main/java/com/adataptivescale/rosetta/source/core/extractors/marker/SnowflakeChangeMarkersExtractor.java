@@ -0,0 +1,31 @@
+package com.adataptivescale.rosetta.source.core.extractors.marker;
+
+import com.adaptivescale.rosetta.common.annotations.RosettaModule;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.common.types.RosettaModuleTypes;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * {@code LAST_ALTERED} of {@code INFORMATION_SCHEMA.TABLES}, which moves with DDL as well as with DML.
+ */
+@RosettaModule(
+        name = "snowflake",
+        type = RosettaModuleTypes.CHANGE_MARKER_EXTRACTOR
+)
+public class SnowflakeChangeMarkersExtractor extends ChangeMarkersExtractor {
+
+    private static final String QUERY = "SELECT TABLE_SCHEMA AS table_schema, TABLE_NAME AS table_name, " +
+            "TO_VARCHAR(LAST_ALTERED) AS marker " +
+            "FROM %sINFORMATION_SCHEMA.TABLES " +
+            "WHERE TABLE_SCHEMA = ?";
+
+    @Override
+    protected PreparedStatement statement(Connection target, java.sql.Connection connection, String schema) throws SQLException {
+        String database = target.getDatabaseName() == null ? "" : "\"" + target.getDatabaseName() + "\".";
+        PreparedStatement statement = connection.prepareStatement(String.format(QUERY, database));
+        statement.setString(1, schema);
+        return statement;
+    }
+}
@@ -0,0 +1,5 @@
+package com.adataptivescale.rosetta.source.core.interfaces;
+
+public interface ChangeMarkerExtractor<V,E,U> {
+    V extract(E param1, U param2) throws Exception;
+}
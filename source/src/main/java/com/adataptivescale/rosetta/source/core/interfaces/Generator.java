@@ -1,7 +1,41 @@
 package com.adataptivescale.rosetta.source.core.interfaces;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
 public interface Generator<V, E> {
 
     V generate(E inputSource) throws Exception;
+
+    /**
+     * Like {@link #generate(Object)}, reading only the given schemas, or everything when {@code schemas} is null.
+     */
+    V generate(E inputSource, Collection<String> schemas) throws Exception;
+
+    /**
+     * Like {@link #generate(Object)}, taking the tables named in {@code unchangedTables}, by schema and table name,
+     * from {@code previous} instead of reading their columns again.
+     */
+    V generate(E inputSource, V previous, Map<String, Set<String>> unchangedTables) throws Exception;
+
     V validate(E inputSource) throws Exception;
+
+    /**
+     * Cheap fingerprint of the current state of the source, equal between two calls when the source did not change.
+     */
+    String fingerprint(E inputSource) throws Exception;
+
+    /**
+     * Names of the tables and views whose fingerprint computed by the source differs from the one of {@code model},
+     * including the ones missing on either side, reading only the given schemas or everything when {@code schemas}
+     * is null. Null when the source can not compute table fingerprints.
+     */
+    Set<String> changedTables(E inputSource, V model, Collection<String> schemas) throws Exception;
+
+    /**
+     * Markers by schema and table name that change whenever the definition of a table may have changed. Null when
+     * the source has no change markers.
+     */
+    Map<String, Map<String, String>> changeMarkers(E inputSource) throws Exception;
 }
@@ -0,0 +1,14 @@
+package com.adataptivescale.rosetta.source.core.interfaces;
+
+public interface TableFingerprintExtractor<V,E,U,T> {
+
+    /**
+     * Fingerprints computed by the database, one per table.
+     */
+    V extract(E param1, U param2) throws Exception;
+
+    /**
+     * Fingerprint of a table of a model, equal to the one computed by the database for the same table.
+     */
+    String fingerprint(T table);
+}
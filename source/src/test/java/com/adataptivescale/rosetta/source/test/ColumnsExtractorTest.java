@@ -0,0 +1,258 @@
+package com.adataptivescale.rosetta.source.test;
+
+import com.adaptivescale.rosetta.common.models.Column;
+import com.adaptivescale.rosetta.common.models.ForeignKey;
+import com.adaptivescale.rosetta.common.models.Index;
+import com.adaptivescale.rosetta.common.models.Table;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adataptivescale.rosetta.source.core.extractors.column.ColumnsExtractor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+public class ColumnsExtractorTest {
+
+    private static final String SCHEMA = "s";
+
+    @Test
+    public void bulkExtractionMatchesPerTableExtraction() throws Exception {
+        Assertions.assertEquals(extract(false, Catalog.Mode.COMPLETE), extract(true, Catalog.Mode.COMPLETE));
+    }
+
+    @Test
+    public void bulkExtractionFallsBackWhenDriverRejectsNullTablePattern() throws Exception {
+        Catalog catalog = new Catalog(Catalog.Mode.REJECT_NULL_TABLE);
+        Assertions.assertEquals(extract(false, Catalog.Mode.COMPLETE), extract(true, catalog));
+        Assertions.assertTrue(catalog.perTableLookups() > 0);
+    }
+
+    @Test
+    public void bulkExtractionFallsBackOnRowsWithoutTableName() throws Exception {
+        Catalog catalog = new Catalog(Catalog.Mode.MISSING_TABLE_NAME);
+        Assertions.assertEquals(extract(false, Catalog.Mode.COMPLETE), extract(true, catalog));
+        Assertions.assertTrue(catalog.perTableLookups() > 0);
+    }
+
+    @Test
+    public void bulkExtractionReadsTablesMissingFromSchemaWideColumnsPerTable() throws Exception {
+        Catalog catalog = new Catalog(Catalog.Mode.MISSING_ORDERS_COLUMNS);
+        Assertions.assertEquals(extract(false, Catalog.Mode.COMPLETE), extract(true, catalog));
+        Assertions.assertEquals(1, catalog.perTableLookups("getColumns"));
+    }
+
+    @Test
+    public void bulkExtractionReadsKeysAndIndicesOfTablesReportedUnderAnotherSchemaPerTable() throws Exception {
+        Catalog catalog = new Catalog(Catalog.Mode.OTHER_SCHEMA);
+        Assertions.assertEquals(extract(false, Catalog.Mode.COMPLETE), extract(true, catalog));
+        Assertions.assertEquals(2, catalog.perTableLookups("getPrimaryKeys"));
+        Assertions.assertEquals(2, catalog.perTableLookups("getImportedKeys"));
+        Assertions.assertEquals(2, catalog.perTableLookups("getIndexInfo"));
+    }
+
+    private static List<String> extract(boolean bulk, Catalog.Mode mode) throws Exception {
+        return extract(bulk, new Catalog(mode));
+    }
+
+    private static List<String> extract(boolean bulk, Catalog catalog) throws Exception {
+        Connection connection = new Connection();
+        connection.setBulkExtraction(bulk);
+        List<Table> tables = List.of(table("customers"), table("orders"));
+        new ColumnsExtractor(connection).extract(catalog.connection(), tables);
+        return tables.stream().map(ColumnsExtractorTest::describe).collect(Collectors.toList());
+    }
+
+    private static Table table(String name) {
+        Table table = new Table();
+        table.setSchema(SCHEMA);
+        table.setName(name);
+        return table;
+    }
+
+    /**
+     * Text of a table independent of the order of its columns, foreign keys and indices.
+     */
+    private static String describe(Table table) {
+        Set<String> lines = new TreeSet<>();
+        for (Column column : Optional.ofNullable(table.getColumns()).orElse(Collections.emptyList())) {
+            Set<String> foreignKeys = new TreeSet<>();
+            for (ForeignKey foreignKey : Optional.ofNullable(column.getForeignKeys()).orElse(Collections.emptyList())) {
+                foreignKeys.add(foreignKey.getName() + ">" + foreignKey.getPrimaryTableName() + "." + foreignKey.getPrimaryColumnName());
+            }
+            lines.add(String.join("|", "column", column.getName(), column.getTypeName(),
+                    String.valueOf(column.isNullable()), String.valueOf(column.getPrecision()),
+                    String.valueOf(column.isPrimaryKey()), String.valueOf(column.getPrimaryKeySequenceId()),
+                    String.valueOf(foreignKeys)));
+        }
+        for (Index index : Optional.ofNullable(table.getIndices()).orElse(Collections.emptyList())) {
+            lines.add(String.join("|", "index", index.getName(), String.valueOf(index.getColumnNames()),
+                    String.valueOf(index.getNonUnique())));
+        }
+        return table.getName() + lines;
+    }
+
+    /**
+     * Metadata of a schema with customers, orders and a table that is not extracted, answering lookups by table name
+     * or, with a null table name, for the whole schema.
+     */
+    private static class Catalog {
+
+        enum Mode { COMPLETE, REJECT_NULL_TABLE, MISSING_TABLE_NAME, MISSING_ORDERS_COLUMNS, OTHER_SCHEMA }
+
+        private final Mode mode;
+        private final Map<String, Integer> perTableLookups = new HashMap<>();
+
+        private final List<Map<String, Object>> columns = List.of(
+                column("customers", "id", "int4", false),
+                column("customers", "name", "varchar", true),
+                column("orders", "id", "int4", false),
+                column("orders", "customer_id", "int4", true),
+                column("other", "id", "int4", false));
+        private final List<Map<String, Object>> primaryKeys = List.of(
+                row("customers", "COLUMN_NAME", "id", "KEY_SEQ", 1),
+                row("orders", "COLUMN_NAME", "id", "KEY_SEQ", 1),
+                row("other", "COLUMN_NAME", "id", "KEY_SEQ", 1));
+        private final List<Map<String, Object>> importedKeys = List.of(
+                foreignKey("orders", "customer_id", "customers", "id"),
+                foreignKey("other", "id", "customers", "id"));
+        private final List<Map<String, Object>> indices = List.of(
+                row("customers", "INDEX_NAME", "customers_pkey", "COLUMN_NAME", "id", "NON_UNIQUE", false, "TYPE", (short) 3),
+                row("orders", "INDEX_NAME", "orders_pkey", "COLUMN_NAME", "id", "NON_UNIQUE", false, "TYPE", (short) 3),
+                row("orders", "INDEX_NAME", "orders_customer_idx", "COLUMN_NAME", "customer_id", "NON_UNIQUE", true, "TYPE", (short) 3));
+
+        private Catalog(Mode mode) {
+            this.mode = mode;
+        }
+
+        private java.sql.Connection connection() {
+            DatabaseMetaData metaData = proxy(DatabaseMetaData.class, (method, args) -> {
+                switch (method) {
+                    case "getColumns":
+                        return lookup(columns, (String) args[2], "TABLE_NAME", "getColumns");
+                    case "getPrimaryKeys":
+                        return lookup(primaryKeys, (String) args[2], "TABLE_NAME", method);
+                    case "getImportedKeys":
+                        return lookup(importedKeys, (String) args[2], "FKTABLE_NAME", method);
+                    case "getIndexInfo":
+                        return lookup(indices, (String) args[2], "TABLE_NAME", method);
+                    default:
+                        throw new UnsupportedOperationException(method);
+                }
+            });
+            return proxy(java.sql.Connection.class, (method, args) -> {
+                if ("getMetaData".equals(method)) {
+                    return metaData;
+                }
+                throw new UnsupportedOperationException(method);
+            });
+        }
+
+        private int perTableLookups() {
+            return perTableLookups.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        private int perTableLookups(String method) {
+            return perTableLookups.getOrDefault(method, 0);
+        }
+
+        private ResultSet lookup(List<Map<String, Object>> rows, String tableName, String tableNameColumn, String method) {
+            if (tableName != null) {
+                perTableLookups.merge(method, 1, Integer::sum);
+                return resultSet(rows.stream().filter(row -> tableName.equals(row.get(tableNameColumn))).collect(Collectors.toList()));
+            }
+            if (mode == Mode.REJECT_NULL_TABLE) {
+                throw new IllegalArgumentException("Table name pattern is required.");
+            }
+            if (mode == Mode.MISSING_TABLE_NAME) {
+                return resultSet(rows.stream().map(row -> {
+                    Map<String, Object> copy = new HashMap<>(row);
+                    copy.remove(tableNameColumn);
+                    return copy;
+                }).collect(Collectors.toList()));
+            }
+            if (mode == Mode.MISSING_ORDERS_COLUMNS && "getColumns".equals(method)) {
+                return resultSet(rows.stream().filter(row -> !"orders".equals(row.get(tableNameColumn))).collect(Collectors.toList()));
+            }
+            if (mode == Mode.OTHER_SCHEMA && !"getColumns".equals(method)) {
+                // keys and indices reported under the catalog, as some drivers do for schema wide lookups
+                String schemaColumn = "getImportedKeys".equals(method) ? "FKTABLE_SCHEM" : "TABLE_SCHEM";
+                String catalogColumn = "getImportedKeys".equals(method) ? "FKTABLE_CAT" : "TABLE_CAT";
+                return resultSet(rows.stream().map(row -> {
+                    Map<String, Object> copy = new HashMap<>(row);
+                    copy.remove(schemaColumn);
+                    copy.put(catalogColumn, "catalog");
+                    return copy;
+                }).collect(Collectors.toList()));
+            }
+            return resultSet(rows);
+        }
+
+        private static Map<String, Object> column(String tableName, String name, String typeName, boolean nullable) {
+            return row(tableName, "COLUMN_NAME", name, "TYPE_NAME", typeName, "IS_NULLABLE", nullable, "COLUMN_SIZE", 10);
+        }
+
+        private static Map<String, Object> foreignKey(String tableName, String columnName, String primaryTableName,
+                                                      String primaryColumnName) {
+            Map<String, Object> row = row(null, "FK_NAME", tableName + "_" + columnName + "_fkey",
+                    "FKTABLE_SCHEM", SCHEMA, "FKTABLE_NAME", tableName, "FKCOLUMN_NAME", columnName,
+                    "PKTABLE_SCHEM", SCHEMA, "PKTABLE_NAME", primaryTableName, "PKCOLUMN_NAME", primaryColumnName);
+            row.remove("TABLE_NAME");
+            return row;
+        }
+
+        private static Map<String, Object> row(String tableName, Object... values) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("TABLE_SCHEM", SCHEMA);
+            row.put("TABLE_NAME", tableName);
+            for (int i = 0; i < values.length; i += 2) {
+                row.put((String) values[i], values[i + 1]);
+            }
+            return row;
+        }
+
+        private static ResultSet resultSet(List<Map<String, Object>> rows) {
+            Iterator<Map<String, Object>> iterator = rows.iterator();
+            AtomicReference<Map<String, Object>> current = new AtomicReference<>();
+            AtomicBoolean closed = new AtomicBoolean();
+            return proxy(ResultSet.class, (method, args) -> {
+                switch (method) {
+                    case "next":
+                        current.set(iterator.hasNext() ? iterator.next() : null);
+                        return current.get() != null;
+                    case "getString":
+                        Object value = current.get().get((String) args[0]);
+                        return value == null ? null : String.valueOf(value);
+                    case "getInt":
+                        return ((Number) current.get().getOrDefault((String) args[0], 0)).intValue();
+                    case "getShort":
+                        return ((Number) current.get().getOrDefault((String) args[0], (short) 0)).shortValue();
+                    case "getBoolean":
+                        return Boolean.TRUE.equals(current.get().get((String) args[0]));
+                    case "close":
+                        closed.set(true);
+                        return null;
+                    case "isClosed":
+                        return closed.get();
+                    default:
+                        throw new UnsupportedOperationException(method);
+                }
+            });
+        }
+
+        private interface Handler {
+            Object handle(String method, Object[] args) throws Exception;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+                    (proxy, method, args) -> handler.handle(method.getName(), args));
+        }
+    }
+}
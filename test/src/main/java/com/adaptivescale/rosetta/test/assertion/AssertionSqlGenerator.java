@@ -5,6 +5,14 @@ import com.adaptivescale.rosetta.common.models.Column;
 import com.adaptivescale.rosetta.common.models.Table;
 import com.adaptivescale.rosetta.common.models.input.Connection;
 
+import java.util.List;
+
 public interface AssertionSqlGenerator {
      String generateSql(Connection connection, Table table, Column column, AssertTest assertion);
+
+     /**
+      * Generates one query that scans {@code table} once and returns a single row with one count per assertion, in
+      * the order of {@code assertions}, which must not be empty.
+      */
+     String generateBatchSql(Connection connection, Table table, List<ColumnAssertion> assertions);
 }
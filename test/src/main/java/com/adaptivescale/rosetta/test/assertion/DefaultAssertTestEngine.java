@@ -12,11 +12,18 @@ import com.adaptivescale.rosetta.test.assertion.output.Output;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class DefaultAssertTestEngine implements AssertTestEngine {
 
+    /**
+     * Upper bound for the count columns of one query, large tables with many assertions are scanned a few times
+     * instead of hitting column or statement length limits.
+     */
+    private static final int MAX_ASSERTIONS_PER_QUERY = 100;
+
     private final AssertionSqlGenerator sqlGenerator;
     private final SqlExecution sqlExecution;
     private final Output output;
@@ -28,6 +35,11 @@ public class DefaultAssertTestEngine implements AssertTestEngine {
         output = new ConsoleOutput();
     }
 
+    /**
+     * Runs the assertion queries on {@link Connection#getParallelism()} workers with at most
+     * {@link Connection#getParallelismPerTable()} queries per table at once. Results are reported in model order, each
+     * batch as soon as it and the batches before it are done, and the first failing batch cancels the others.
+     */
     @Override
     public void run(Connection connection, Database database) {
         List<AssertTest> collect = database
@@ -39,7 +51,10 @@ public class DefaultAssertTestEngine implements AssertTestEngine {
 
         output.startTestForDatabase(connection.getName(), collect.size());
 
+        List<Batch> batches = new ArrayList<>();
+        Map<Table, Semaphore> tableLimits = new IdentityHashMap<>();
         for (Table table : database.getTables()) {
+            List<ColumnAssertion> tableAssertions = new ArrayList<>();
             Collection<Column> columns = table.getColumns();
             for (Column column : columns) {
                 Tests tests = column.getTests();
@@ -51,25 +66,113 @@ public class DefaultAssertTestEngine implements AssertTestEngine {
                     continue;
                 }
                 for (AssertTest assertion : assertions) {
-                    AssertionResult assertionResult = new AssertionResult();
-                    assertionResult.setAssertTest(assertion);
-                    long startTime = output.printStartTest(assertion, column);
-                    assertionResult.setStartTime(startTime);
-                    String sql = sqlGenerator.generateSql(connection, table, column, assertion);
-                    assertionResult.setSqlExecuted(sql);
-                    String result = sqlExecution.execute(sql);
-                    boolean pass = Objects.equals(assertion.getExpected(), result);
-                    assertionResult.setPass(pass);
-                    results.add(assertionResult);
-                    output.printEndTest(assertion, column, startTime, pass, result);
+                    tableAssertions.add(new ColumnAssertion(column, assertion));
+                }
+            }
+
+            for (int from = 0; from < tableAssertions.size(); from += MAX_ASSERTIONS_PER_QUERY) {
+                batches.add(new Batch(table, tableAssertions.subList(from,
+                        Math.min(from + MAX_ASSERTIONS_PER_QUERY, tableAssertions.size()))));
+            }
+            tableLimits.put(table, new Semaphore(Math.max(1, connection.getParallelismPerTable())));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, connection.getParallelism()));
+        try {
+            CompletionService<Integer> completionService = new ExecutorCompletionService<>(executorService);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < batches.size(); i++) {
+                int index = i;
+                Batch batch = batches.get(index);
+                futures.add(completionService.submit(() -> {
+                    execute(connection, batch, tableLimits.get(batch.table));
+                    return index;
+                }));
+            }
+            // batches are reported as soon as every batch before them is done
+            boolean[] done = new boolean[batches.size()];
+            int next = 0;
+            for (int i = 0; i < batches.size(); i++) {
+                done[await(completionService, futures)] = true;
+                while (next < batches.size() && done[next]) {
+                    report(batches.get(next++));
                 }
             }
+        } finally {
+            executorService.shutdownNow();
         }
 
         output.endTestForDatabase();
     }
 
+    /**
+     * Runs all assertions of one batch with a single scan of its table.
+     */
+    private void execute(Connection connection, Batch batch, Semaphore tableLimit) throws InterruptedException {
+        tableLimit.acquire();
+        try {
+            batch.startTime = System.currentTimeMillis();
+            batch.sql = sqlGenerator.generateBatchSql(connection, batch.table, batch.assertions);
+            batch.counts = sqlExecution.executeForRow(batch.sql);
+            batch.endTime = System.currentTimeMillis();
+        } finally {
+            tableLimit.release();
+        }
+        if (batch.counts.size() != batch.assertions.size()) {
+            throw new RuntimeException(String.format("Query: '%s' returned %d values for %d assertions on table '%s'",
+                    batch.sql, batch.counts.size(), batch.assertions.size(), batch.table.getName()));
+        }
+    }
+
+    private int await(CompletionService<Integer> completionService, List<Future<Integer>> futures) {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running tests", e);
+        } catch (ExecutionException e) {
+            futures.forEach(it -> it.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void report(Batch batch) {
+        for (int i = 0; i < batch.assertions.size(); i++) {
+            AssertTest assertion = batch.assertions.get(i).getAssertion();
+            Column column = batch.assertions.get(i).getColumn();
+            String result = batch.counts.get(i);
+
+            AssertionResult assertionResult = new AssertionResult();
+            assertionResult.setAssertTest(assertion);
+            output.printStartTest(assertion, column);
+            assertionResult.setStartTime(batch.startTime);
+            assertionResult.setSqlExecuted(batch.sql);
+            assertionResult.setResult(result);
+            boolean pass = Objects.equals(assertion.getExpected(), result);
+            assertionResult.setPass(pass);
+            results.add(assertionResult);
+            output.printEndTest(assertion, column, batch.startTime, batch.endTime, pass, result);
+        }
+    }
+
     public List<AssertionResult> getResults() {
         return results;
     }
+
+    private static class Batch {
+        private final Table table;
+        private final List<ColumnAssertion> assertions;
+        private String sql;
+        private List<String> counts;
+        private long startTime;
+        private long endTime;
+
+        private Batch(Table table, List<ColumnAssertion> assertions) {
+            this.table = table;
+            this.assertions = assertions;
+        }
+    }
 }
@@ -1,47 +1,88 @@
 package com.adaptivescale.rosetta.test.assertion;
 
+import com.adaptivescale.rosetta.common.JDBCConnectionPool;
 import com.adaptivescale.rosetta.common.JDBCDriverProvider;
-import com.adaptivescale.rosetta.common.JDBCUtils;
 import com.adaptivescale.rosetta.common.models.input.Connection;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.*;
-import java.util.Properties;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Executes assertion queries over a pool of {@link Connection#getParallelism()} connections which are opened on first
+ * use and kept until {@link #close()}.
+ */
 @Slf4j
-public class DefaultSqlExecution implements SqlExecution {
-    private final Connection connection;
-    private final JDBCDriverProvider driverProvider;
+public class DefaultSqlExecution implements SqlExecution, AutoCloseable {
+    private final JDBCConnectionPool connectionPool;
 
     public DefaultSqlExecution(Connection connection, JDBCDriverProvider driverProvider) {
-        this.connection = connection;
-        this.driverProvider = driverProvider;
+        this.connectionPool = new JDBCConnectionPool(connection, driverProvider, Math.max(1, connection.getParallelism()));
     }
 
     @Override
     public String execute(String sql) {
-        java.sql.Connection sqlConnection = null;
-        try {
-            Driver driver = driverProvider.getDriver(connection);
-            Properties properties = JDBCUtils.setJDBCAuth(connection);
-            sqlConnection = driver.connect(connection.getUrl(), properties);
-            ResultSet execute = sqlConnection.createStatement().executeQuery(sql);
-            if (execute.next()) {
-                int result = execute.getInt(1);
-                return String.valueOf(result);
+        return query(sql, resultSet -> String.valueOf(resultSet.getInt(1)));
+    }
+
+    @Override
+    public List<String> executeForRow(String sql) {
+        return query(sql, resultSet -> {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            List<String> row = new ArrayList<>(columnCount);
+            for (int i = 1; i <= columnCount; i++) {
+                row.add(String.valueOf(resultSet.getLong(i)));
+            }
+            return row;
+        });
+    }
+
+    private <T> T query(String sql, RowMapper<T> rowMapper) {
+        java.sql.Connection sqlConnection = acquire();
+        boolean failed = false;
+        try (Statement statement = sqlConnection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            if (resultSet.next()) {
+                return rowMapper.map(resultSet);
             }
         } catch (SQLException e) {
+            failed = true;
             log.error("Can not execute query.", e);
             throw new RuntimeException(e);
         } finally {
-            if (sqlConnection != null) {
-                try {
-                    sqlConnection.close();
-                } catch (SQLException e) {
-                    log.error("Can not close the connection!", e);
-                }
+            // the failure may have broken the connection or left it in an aborted transaction
+            if (failed) {
+                connectionPool.discard(sqlConnection);
+            } else {
+                connectionPool.release(sqlConnection);
             }
         }
         throw new RuntimeException(String.format("Execution of query: '%s' returns no data", sql));
     }
+
+    private java.sql.Connection acquire() {
+        try {
+            return connectionPool.acquire();
+        } catch (SQLException e) {
+            log.error("Can not open a connection.", e);
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            connectionPool.close();
+        } catch (SQLException e) {
+            log.error("Can not close the connection!", e);
+        }
+    }
+
+    private interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
 }
@@ -1,5 +1,12 @@
 package com.adaptivescale.rosetta.test.assertion;
 
+import java.util.List;
+
 public interface SqlExecution {
     String execute(String sql);
+
+    /**
+     * Executes a query that returns a single row and returns all of its columns.
+     */
+    List<String> executeForRow(String sql);
 }
@@ -6,6 +6,7 @@ import com.adaptivescale.rosetta.common.models.Table;
 import com.adaptivescale.rosetta.common.models.enums.OperatorEnum;
 import com.adaptivescale.rosetta.common.models.input.Connection;
 import com.adaptivescale.rosetta.test.assertion.AssertionSqlGenerator;
+import com.adaptivescale.rosetta.test.assertion.ColumnAssertion;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,6 +19,40 @@ public abstract class BaseAssertionSqlGenerator implements AssertionSqlGenerator
         return prepareSql(connection, table, column, whereClauseCondition);
     }
 
+    @Override
+    public String generateBatchSql(Connection connection, Table table, List<ColumnAssertion> assertions) {
+        if (assertions.isEmpty()) {
+            throw new RuntimeException(String.format("No assertions to run on table '%s'", table.getName()));
+        }
+        String counts = assertions.stream()
+                .map(columnAssertion -> countIf(String.format("%s %s",
+                        columnReference(columnAssertion.getColumn()),
+                        prepareWhereCondition(columnAssertion.getColumn(), columnAssertion.getAssertion()))))
+                .collect(Collectors.joining(", "));
+        return String.format("Select %s from %s", counts, tableReference(connection, table));
+    }
+
+    String prepareSql(Connection connection, Table table, Column column, String whereClauseCondition) {
+        return String.format("Select Count(*) from %s where %s %s",
+                tableReference(connection, table),
+                columnReference(column),
+                whereClauseCondition);
+    }
+
+    /**
+     * Counts the rows matching {@code condition}. COUNT ignores the nulls of the CASE, so an empty table gives 0
+     * like {@code Count(*)} does, where SUM would give null.
+     */
+    String countIf(String condition) {
+        return String.format("Count(CASE WHEN %s THEN 1 END)", condition);
+    }
+
+    abstract String tableReference(Connection connection, Table table);
+
+    String columnReference(Column column) {
+        return column.getName();
+    }
+
     String prepareWhereCondition(Column column, AssertTest assertion) {
         if (assertion.getOperator().equalsIgnoreCase(OperatorEnum.IS_NULL.getName()) || assertion.getOperator().equalsIgnoreCase(OperatorEnum.IS_NOT_NULL.getName())) {
             return assertion.getOperator();
@@ -34,8 +69,6 @@ public abstract class BaseAssertionSqlGenerator implements AssertionSqlGenerator
         return String.format("%s %s", assertion.getOperator(), handleOperator(assertion, column));
     }
 
-    abstract String prepareSql(Connection connection, Table table, Column column, String whereClauseCondition);
-
     private String handleOperator(AssertTest assertion, Column column) {
         if (OperatorEnum.IN.getName().equalsIgnoreCase(assertion.getOperator())) {
             return handleInOperator(assertion, column);
@@ -7,14 +7,21 @@ import com.adaptivescale.rosetta.common.models.input.Connection;
 public class BigQueryAssertionSqlGenerator extends BaseAssertionSqlGenerator {
 
     @Override
-    String prepareSql(Connection connection, Table table, Column column, String whereClauseCondition) {
-        String columnName = isArray(column) ? String.format("ARRAY_TO_STRING(%s,',')", column.getName()) : column.getName();
-        return String.format("Select Count(*) from %s.%s.%s where %s %s",
+    String tableReference(Connection connection, Table table) {
+        return String.format("%s.%s.%s",
                 connection.getDatabaseName(),
                 connection.getSchemaName(),
-                table.getName(),
-                columnName,
-                whereClauseCondition);
+                table.getName());
+    }
+
+    @Override
+    String columnReference(Column column) {
+        return isArray(column) ? String.format("ARRAY_TO_STRING(%s,',')", column.getName()) : column.getName();
+    }
+
+    @Override
+    String countIf(String condition) {
+        return String.format("COUNTIF(%s)", condition);
     }
 
     private boolean isArray(Column column) {
@@ -7,10 +7,8 @@ import com.adaptivescale.rosetta.common.models.input.Connection;
 public class DefaultAssertionSqlGenerator extends BaseAssertionSqlGenerator {
 
     @Override
-    String prepareSql(Connection connection, Table table, Column column, String whereClauseCondition) {
-        return String.format("Select Count(*) from %s where %s %s",
-                table.getName(),
-                column.getName(), whereClauseCondition);
+    String tableReference(Connection connection, Table table) {
+        return table.getName();
     }
 
     String castValue(Object value, Column column) {
@@ -6,13 +6,8 @@ import com.adaptivescale.rosetta.common.models.input.Connection;
 
 public class RedshiftAssertionSqlGenerator extends BaseAssertionSqlGenerator {
     @Override
-    String prepareSql(Connection connection, Table table, Column column, String whereClauseCondition) {
-
-        return String.format("Select Count(*) from \"%s\".\"%s\" where %s %s",
-                table.getSchema(),
-                table.getName(),
-                column.getName(),
-                whereClauseCondition);
+    String tableReference(Connection connection, Table table) {
+        return String.format("\"%s\".\"%s\"", table.getSchema(), table.getName());
     }
 
     String castValue(Object value, Column column) {
@@ -7,12 +7,21 @@ import com.adaptivescale.rosetta.common.models.input.Connection;
 public class SnowflakeAssertionSqlGenerator extends BaseAssertionSqlGenerator {
 
     @Override
-    String prepareSql(Connection connection, Table table, Column column, String whereClauseCondition) {
-        return String.format("Select Count(*) from \"%s\".\"%s\".\"%s\" where \"%s\" %s",
+    String tableReference(Connection connection, Table table) {
+        return String.format("\"%s\".\"%s\".\"%s\"",
                 connection.getDatabaseName(),
                 connection.getSchemaName(),
-                table.getName(),
-                column.getName(), whereClauseCondition);
+                table.getName());
+    }
+
+    @Override
+    String columnReference(Column column) {
+        return String.format("\"%s\"", column.getName());
+    }
+
+    @Override
+    String countIf(String condition) {
+        return String.format("COUNT_IF(%s)", condition);
     }
 
     /**
@@ -6,13 +6,17 @@ import com.adaptivescale.rosetta.common.models.Column;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+/**
+ * Prints test progress to the console. Methods are synchronized so lines and the running index stay consistent when
+ * tests are reported from more than one thread.
+ */
 public class ConsoleOutput implements Output {
     private static final SimpleDateFormat SIMPLE_DATE_FORMAT = new SimpleDateFormat("hh:mm:ss");
     private int runningTestIndex;
     private int totalTestCount;
 
     @Override
-    public void startTestForDatabase(String name, int testSize) {
+    public synchronized void startTestForDatabase(String name, int testSize) {
         print("");
         print(String.format("Running tests for %s. Found: %d", name, testSize));
         print("");
@@ -21,7 +25,7 @@ public class ConsoleOutput implements Output {
     }
 
     @Override
-    public long printStartTest(AssertTest assertion, Column column) {
+    public synchronized long printStartTest(AssertTest assertion, Column column) {
         Object value = assertion.getValue() == null ? "null" : assertion.getValue();
         String format = String.format("%s of %s, RUNNING test ('%s') on column: '%s' with value %s", runningTestIndex,
                 totalTestCount, assertion.getOperator(), column.getName(), value);
@@ -30,8 +34,8 @@ public class ConsoleOutput implements Output {
     }
 
     @Override
-    public void printEndTest(AssertTest assertion, Column column, long startTime, boolean pass, String result) {
-        long diff = System.currentTimeMillis() - startTime;
+    public synchronized void printEndTest(AssertTest assertion, Column column, long startTime, long endTime, boolean pass, String result) {
+        long diff = endTime - startTime;
         String format1 = String.format("%s of %s, FINISHED test on column: '%s' (expected: '%s' - actual: '%s')  ",
                 runningTestIndex, totalTestCount, column.getName(), assertion.getExpected(), result);
         String format2 = String.format("[%s in %ss]", pass ?
@@ -41,11 +45,11 @@ public class ConsoleOutput implements Output {
     }
 
     @Override
-    public void endTestForDatabase() {
+    public synchronized void endTestForDatabase() {
         print("");
     }
 
-    public void print(String msg) {
+    public synchronized void print(String msg) {
         System.out.printf("%s  %s%n", SIMPLE_DATE_FORMAT.format(new Date()), msg);
     }
 
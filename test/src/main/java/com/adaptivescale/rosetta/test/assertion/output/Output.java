@@ -9,7 +9,7 @@ public interface Output {
 
     long printStartTest(AssertTest assertion, Column column);
 
-    void printEndTest(AssertTest assertion, Column column, long startTime, boolean pass, String result);
+    void printEndTest(AssertTest assertion, Column column, long startTime, long endTime, boolean pass, String result);
 
     void endTestForDatabase();
 
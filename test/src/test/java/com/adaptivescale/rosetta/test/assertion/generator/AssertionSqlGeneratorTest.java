@@ -0,0 +1,186 @@
+package com.adaptivescale.rosetta.test.assertion.generator;
+
+import com.adaptivescale.rosetta.common.models.AssertTest;
+import com.adaptivescale.rosetta.common.models.Column;
+import com.adaptivescale.rosetta.common.models.Database;
+import com.adaptivescale.rosetta.common.models.Table;
+import com.adaptivescale.rosetta.common.models.input.Connection;
+import com.adaptivescale.rosetta.common.models.test.Tests;
+import com.adaptivescale.rosetta.test.assertion.AssertionSqlGenerator;
+import com.adaptivescale.rosetta.test.assertion.ColumnAssertion;
+import com.adaptivescale.rosetta.test.assertion.DefaultAssertTestEngine;
+import com.adaptivescale.rosetta.test.assertion.SqlExecution;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class AssertionSqlGeneratorTest {
+
+    /**
+     * Assertions the engine puts into one query, {@code MAX_ASSERTIONS_PER_QUERY} of {@link DefaultAssertTestEngine}.
+     */
+    private static final int MAX_ASSERTIONS_PER_QUERY = 100;
+
+    @Test
+    public void defaultBatch() {
+        Assertions.assertEquals("Select Count(CASE WHEN first_name = 'Nick' THEN 1 END), " +
+                        "Count(CASE WHEN last_name is not null THEN 1 END) from actor",
+                batchSql(new DefaultAssertionSqlGenerator(), "VARCHAR"));
+    }
+
+    @Test
+    public void defaultSplitBatch() {
+        Assertions.assertEquals(List.of(
+                        "Select " + counts(0, MAX_ASSERTIONS_PER_QUERY, i -> "Count(CASE WHEN first_name = 'n" + i + "' THEN 1 END)") + " from actor",
+                        "Select Count(CASE WHEN first_name = 'n100' THEN 1 END) from actor"),
+                splitBatchSql(new DefaultAssertionSqlGenerator(), "VARCHAR"));
+    }
+
+    @Test
+    public void defaultEmptyBatch() {
+        assertEmptyBatchRejected(new DefaultAssertionSqlGenerator());
+    }
+
+    @Test
+    public void bigQueryBatch() {
+        Assertions.assertEquals("Select COUNTIF(first_name =  CAST(\"Nick\" as STRING)), " +
+                        "COUNTIF(last_name is not null) from sakila.public.actor",
+                batchSql(new BigQueryAssertionSqlGenerator(), "STRING"));
+    }
+
+    @Test
+    public void bigQuerySplitBatch() {
+        Assertions.assertEquals(List.of(
+                        "Select " + counts(0, MAX_ASSERTIONS_PER_QUERY, i -> "COUNTIF(first_name =  CAST(\"n" + i + "\" as STRING))") + " from sakila.public.actor",
+                        "Select COUNTIF(first_name =  CAST(\"n100\" as STRING)) from sakila.public.actor"),
+                splitBatchSql(new BigQueryAssertionSqlGenerator(), "STRING"));
+    }
+
+    @Test
+    public void bigQueryEmptyBatch() {
+        assertEmptyBatchRejected(new BigQueryAssertionSqlGenerator());
+    }
+
+    @Test
+    public void redshiftBatch() {
+        Assertions.assertEquals("Select Count(CASE WHEN first_name = 'Nick' THEN 1 END), " +
+                        "Count(CASE WHEN last_name is not null THEN 1 END) from \"public\".\"actor\"",
+                batchSql(new RedshiftAssertionSqlGenerator(), "varchar"));
+    }
+
+    @Test
+    public void redshiftSplitBatch() {
+        Assertions.assertEquals(List.of(
+                        "Select " + counts(0, MAX_ASSERTIONS_PER_QUERY, i -> "Count(CASE WHEN first_name = 'n" + i + "' THEN 1 END)") + " from \"public\".\"actor\"",
+                        "Select Count(CASE WHEN first_name = 'n100' THEN 1 END) from \"public\".\"actor\""),
+                splitBatchSql(new RedshiftAssertionSqlGenerator(), "varchar"));
+    }
+
+    @Test
+    public void redshiftEmptyBatch() {
+        assertEmptyBatchRejected(new RedshiftAssertionSqlGenerator());
+    }
+
+    @Test
+    public void snowflakeBatch() {
+        Assertions.assertEquals("Select COUNT_IF(\"first_name\" = 'Nick'), " +
+                        "COUNT_IF(\"last_name\" is not null) from \"sakila\".\"public\".\"actor\"",
+                batchSql(new SnowflakeAssertionSqlGenerator(), "VARCHAR"));
+    }
+
+    @Test
+    public void snowflakeSplitBatch() {
+        Assertions.assertEquals(List.of(
+                        "Select " + counts(0, MAX_ASSERTIONS_PER_QUERY, i -> "COUNT_IF(\"first_name\" = 'n" + i + "')") + " from \"sakila\".\"public\".\"actor\"",
+                        "Select COUNT_IF(\"first_name\" = 'n100') from \"sakila\".\"public\".\"actor\""),
+                splitBatchSql(new SnowflakeAssertionSqlGenerator(), "VARCHAR"));
+    }
+
+    @Test
+    public void snowflakeEmptyBatch() {
+        assertEmptyBatchRejected(new SnowflakeAssertionSqlGenerator());
+    }
+
+    private static String batchSql(AssertionSqlGenerator generator, String typeName) {
+        Column firstName = column("first_name", typeName);
+        Column lastName = column("last_name", typeName);
+        return generator.generateBatchSql(connection(), table(firstName, lastName), List.of(
+                new ColumnAssertion(firstName, assertion("=", "Nick")),
+                new ColumnAssertion(lastName, assertion("is not null", null))));
+    }
+
+    /**
+     * Queries the engine runs for one more assertion than fit into a query.
+     */
+    private static List<String> splitBatchSql(AssertionSqlGenerator generator, String typeName) {
+        Column firstName = column("first_name", typeName);
+        Tests tests = new Tests();
+        tests.setAssertions(IntStream.rangeClosed(0, MAX_ASSERTIONS_PER_QUERY)
+                .mapToObj(i -> assertion("=", "n" + i))
+                .collect(Collectors.toList()));
+        firstName.setTests(tests);
+        Database database = new Database();
+        database.setTables(List.of(table(firstName)));
+
+        List<String> queries = new ArrayList<>();
+        SqlExecution sqlExecution = new SqlExecution() {
+            @Override
+            public String execute(String sql) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<String> executeForRow(String sql) {
+                queries.add(sql);
+                int counts = sql.split(" from ")[0].split("\\), ").length;
+                return Collections.nCopies(counts, "0");
+            }
+        };
+        new DefaultAssertTestEngine(generator, sqlExecution).run(connection(), database);
+        return queries;
+    }
+
+    private static void assertEmptyBatchRejected(AssertionSqlGenerator generator) {
+        Assertions.assertThrows(RuntimeException.class,
+                () -> generator.generateBatchSql(connection(), table(), Collections.emptyList()));
+    }
+
+    private static String counts(int from, int to, Function<Integer, String> count) {
+        return IntStream.range(from, to).boxed().map(count).collect(Collectors.joining(", "));
+    }
+
+    private static Connection connection() {
+        Connection connection = new Connection();
+        connection.setName("source");
+        connection.setDatabaseName("sakila");
+        connection.setSchemaName("public");
+        return connection;
+    }
+
+    private static Table table(Column... columns) {
+        Table table = new Table();
+        table.setName("actor");
+        table.setSchema("public");
+        table.setColumns(List.of(columns));
+        return table;
+    }
+
+    private static Column column(String name, String typeName) {
+        Column column = new Column();
+        column.setName(name);
+        column.setTypeName(typeName);
+        return column;
+    }
+
+    private static AssertTest assertion(String operator, Object value) {
+        AssertTest assertion = new AssertTest();
+        assertion.setOperator(operator);
+        assertion.setValue(value);
+        assertion.setExpected("0");
+        return assertion;
+    }
+}
@@ -0,0 +1,74 @@
+package com.adaptivescale.rosetta.translator.benchmark;
+
+import com.adaptivescale.rosetta.common.models.AssertTest;
+import com.adaptivescale.rosetta.common.models.Column;
+import com.adaptivescale.rosetta.common.models.ColumnProperties;
+import com.adaptivescale.rosetta.common.models.ForeignKey;
+import com.adaptivescale.rosetta.common.models.test.Tests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the copy constructor of {@link Column} against the JSON round trip previously used by the translator.
+ * Run with: ./gradlew :translator:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColumnCopyBenchmark {
+
+    private Column column;
+
+    @Setup
+    public void setup() {
+        ForeignKey foreignKey = new ForeignKey();
+        foreignKey.setName("fk_orders_customer");
+        foreignKey.setSchema("public");
+        foreignKey.setTableName("orders");
+        foreignKey.setColumnName("customer_id");
+        foreignKey.setDeleteRule("1");
+        foreignKey.setPrimaryTableSchema("public");
+        foreignKey.setPrimaryTableName("customer");
+        foreignKey.setPrimaryColumnName("id");
+
+        AssertTest assertTest = new AssertTest();
+        assertTest.setOperator(">");
+        assertTest.setValue(0);
+        assertTest.setExpected("0");
+
+        Tests tests = new Tests();
+        tests.setAssertions(List.of(assertTest));
+
+        column = new Column();
+        column.setName("customer_id");
+        column.setDescription("Reference to the customer placing the order");
+        column.setTypeName("int4");
+        column.setOrdinalPosition(2);
+        column.setNullable(false);
+        column.setColumnDisplaySize(10);
+        column.setPrecision(10);
+        column.setColumnProperties(List.of(new ColumnProperties("SHARD_KEY", 1)));
+        column.setForeignKeys(List.of(foreignKey));
+        column.setTests(tests);
+    }
+
+    @Benchmark
+    public Column jsonRoundTrip() throws Exception {
+        String s = new ObjectMapper().writeValueAsString(column);
+        return new ObjectMapper().readValue(s, Column.class);
+    }
+
+    @Benchmark
+    public Column copyConstructor() {
+        return new Column(column);
+    }
+}
@@ -2,28 +2,39 @@ package com.adaptivescale.rosetta.translator;
 
 import com.adaptivescale.rosetta.common.TranslationMatrix;
 import com.adaptivescale.rosetta.common.models.*;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class DefaultTranslator implements Translator<Database, Database> {
 
     private final String sourceDatabaseName;
     private final String targetDatabaseName;
+    private final ForkJoinPool pool;
 
     public DefaultTranslator(String sourceDatabaseName, String targetDatabaseName) {
+        this(sourceDatabaseName, targetDatabaseName, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool the tables are translated on, the order of the translated tables follows the input
+     */
+    public DefaultTranslator(String sourceDatabaseName, String targetDatabaseName, ForkJoinPool pool) {
         this.sourceDatabaseName = sourceDatabaseName;
         this.targetDatabaseName = targetDatabaseName;
+        this.pool = pool;
     }
 
     @Override
     public Database translate(Database input) {
         Database result = new Database();
         result.setName(input.getDatabaseProductName());
-        result.setTables(input.getTables().stream().map(this::translateTable).collect(Collectors.toList()));
+        List<Table> tables = pool.submit(() -> input.getTables().parallelStream()
+                .map(this::translateTable)
+                .collect(Collectors.toList())).join();
+        result.setTables(tables);
         result.setDatabaseType(targetDatabaseName);
         return result;
     }
@@ -51,47 +62,39 @@ public class DefaultTranslator implements Translator<Database, Database> {
                 .orElseThrow(() -> new RuntimeException("There is no match for column name: " + column.getName() + " and type: " + column.getTypeName() + "."));
         }
 
-        List<TranslationAttributeModel> translationAttributes = TranslationMatrix.getInstance().findByTranslationAttributesByTranslationIds(translationModel.getId());
-        translationModel.setAttributes(translationAttributes);
-
-        try {
-            String s = new ObjectMapper().writeValueAsString(column);
-            Column result = new ObjectMapper().readValue(s, Column.class);
-            result.setTypeName(translationModel.getTargetColumnType());
+        Column result = new Column(column);
+        result.setTypeName(translationModel.getTargetColumnType());
 
-            for (TranslationAttributeModel attribute : translationModel.getAttributes()) {
-                String value = attribute.getAttributeValue();
-                switch(attribute.getAttributeName()) {
-                    case "ordinalPosition":
-                        result.setOrdinalPosition(Integer.valueOf(value));
-                        break;
-                    case "autoincrement":
-                        result.setAutoincrement(Boolean.valueOf(value));
-                        break;
-                    case "nullable":
-                        result.setNullable(Boolean.valueOf(value));
-                        break;
-                    case "primaryKey":
-                        result.setPrimaryKey(Boolean.valueOf(value));
-                        break;
-                    case "primaryKeySequenceId":
-                        result.setPrimaryKeySequenceId(Integer.valueOf(value));
-                        break;
-                    case "columnDisplaySize":
-                        result.setColumnDisplaySize(Integer.valueOf(value));
-                        break;
-                    case "scale":
-                        result.setScale(Integer.valueOf(value));
-                        break;
-                    case "precision":
-                        result.setPrecision(Integer.valueOf(value));
-                        break;
-                }
+        for (TranslationAttributeModel attribute : translationModel.getAttributes()) {
+            String value = attribute.getAttributeValue();
+            switch(attribute.getAttributeName()) {
+                case "ordinalPosition":
+                    result.setOrdinalPosition(Integer.valueOf(value));
+                    break;
+                case "autoincrement":
+                    result.setAutoincrement(Boolean.valueOf(value));
+                    break;
+                case "nullable":
+                    result.setNullable(Boolean.valueOf(value));
+                    break;
+                case "primaryKey":
+                    result.setPrimaryKey(Boolean.valueOf(value));
+                    break;
+                case "primaryKeySequenceId":
+                    result.setPrimaryKeySequenceId(Integer.valueOf(value));
+                    break;
+                case "columnDisplaySize":
+                    result.setColumnDisplaySize(Integer.valueOf(value));
+                    break;
+                case "scale":
+                    result.setScale(Integer.valueOf(value));
+                    break;
+                case "precision":
+                    result.setPrecision(Integer.valueOf(value));
+                    break;
             }
-
-            return result;
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
         }
+
+        return result;
     }
 }
@@ -3,10 +3,15 @@ package com.adaptivescale.rosetta.translator;
 import com.adaptivescale.rosetta.common.models.Database;
 
 import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 
 public class TranslatorFactory {
 
    public static Translator<Database, Database> translator(String sourceDBName, String targetDBName) throws IOException {
        return new DefaultTranslator(sourceDBName, targetDBName);
     }
+
+   public static Translator<Database, Database> translator(String sourceDBName, String targetDBName, ForkJoinPool pool) throws IOException {
+       return new DefaultTranslator(sourceDBName, targetDBName, pool);
+   }
 }